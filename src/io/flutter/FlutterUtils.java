@@ -16,7 +16,6 @@ import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
 import com.intellij.openapi.roots.*;
-import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -29,6 +28,8 @@ import io.flutter.jxbrowser.EmbeddedJxBrowser;
 import io.flutter.jxbrowser.JxBrowserStatus;
 import io.flutter.pub.PubRoot;
 import io.flutter.pub.PubRootCache;
+import io.flutter.pub.PubspecSummary;
+import io.flutter.pub.PubspecSummaryCache;
 import io.flutter.settings.FlutterSettings;
 import io.flutter.utils.AndroidUtils;
 import io.flutter.utils.FlutterModuleUtils;
@@ -38,20 +39,12 @@ import io.flutter.view.EmbeddedJcefBrowser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.SystemIndependent;
-import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.SafeConstructor;
-import org.yaml.snakeyaml.nodes.Tag;
-import org.yaml.snakeyaml.representer.Representer;
-import org.yaml.snakeyaml.resolver.Resolver;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Paths;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.regex.Pattern;
@@ -359,45 +352,11 @@ public class FlutterUtils {
    */
   @NotNull
   public static FlutterPubspecInfo getFlutterPubspecInfo(@NotNull final VirtualFile pubspec) {
-    // It uses Flutter if it contains 'dependencies: flutter'.
-    // It's a plugin if it contains 'flutter: plugin'.
-
     final FlutterPubspecInfo info = new FlutterPubspecInfo(pubspec.getModificationStamp());
-
-    try {
-      final Map<String, Object> yamlMap = readPubspecFileToMap(pubspec);
-      if (yamlMap != null) {
-        // Special case the 'flutter' package itself - this allows us to run their unit tests from IntelliJ.
-        final Object packageName = yamlMap.get("name");
-        if ("flutter".equals(packageName)) {
-          info.flutter = true;
-        }
-
-        // Check the dependencies.
-        final Object dependencies = yamlMap.get("dependencies");
-        if (dependencies instanceof Map) {
-          // We use `|=` for assigning to 'flutter' below as it might have been assigned to true above.
-          info.flutter |= ((Map<?, ?>)dependencies).containsKey("flutter");
-        }
-
-        // Check for a Flutter plugin.
-        final Object flutterEntry = yamlMap.get("flutter");
-        if (flutterEntry instanceof Map) {
-          info.plugin = ((Map<?, ?>)flutterEntry).containsKey("plugin");
-        }
-
-        // Check for resolution configuration.
-        //  https://dart.dev/tools/pub/workspaces
-        final Object resolutionEntry = yamlMap.get("resolution");
-        if (resolutionEntry instanceof String) {
-          info.resolutionWorkspace = StringUtil.equals((String)resolutionEntry, "workspace");
-        }
-      }
-    }
-    catch (IOException e) {
-      // ignore
-    }
-
+    final PubspecSummary summary = PubspecSummaryCache.getInstance().getSummary(pubspec);
+    info.flutter = summary.declaresFlutter();
+    info.plugin = summary.isFlutterPlugin();
+    info.resolutionWorkspace = summary.isResolutionWorkspace();
     return info;
   }
 
@@ -434,34 +393,6 @@ public class FlutterUtils {
     return null;
   }
 
-  @Nullable
-  private static Map<String, Object> readPubspecFileToMap(@NotNull final VirtualFile pubspec) throws IOException {
-    final String contents = new String(pubspec.contentsToByteArray(true /* cache contents */));
-    return loadPubspecInfo(contents);
-  }
-
-  @Nullable
-  private static Map<String, Object> loadPubspecInfo(@NotNull String yamlContents) {
-    final Yaml yaml =
-      new Yaml(new SafeConstructor(new LoaderOptions()), new Representer(new DumperOptions()), new DumperOptions(), new Resolver() {
-        @Override
-        protected void addImplicitResolvers() {
-          this.addImplicitResolver(Tag.BOOL, BOOL, "yYnNtTfFoO");
-          this.addImplicitResolver(Tag.NULL, NULL, "~nN\u0000");
-          this.addImplicitResolver(Tag.NULL, EMPTY, null);
-          this.addImplicitResolver(new Tag("tag:yaml.org,2002:value"), VALUE, "=");
-          this.addImplicitResolver(Tag.MERGE, MERGE, "<");
-        }
-      });
-
-    try {
-      return yaml.load(yamlContents);
-    }
-    catch (Exception e) {
-      return null;
-    }
-  }
-
   @Nullable
   private static VirtualFile getFlutterManagedAndroidDir(VirtualFile dir) {
     final VirtualFile meta = dir.findChild(".metadata");
@@ -1,8 +1,13 @@
 package io.flutter;
 
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Provides connection settings to an observatory-based debugger, plus a couple of callbacks.
  */
@@ -14,6 +19,25 @@ public interface ObservatoryConnector {
   @Nullable
   String getWebSocketUrl();
 
+  /**
+   * Returns a future that completes with the WebSocket URL once the app has connected.
+   * <p>
+   * Cancelling the future stops waiting. By default this checks {@link #getWebSocketUrl()} periodically on a shared
+   * scheduler; connectors that are told when the URL is known should override it.
+   */
+  @NotNull
+  default CompletableFuture<String> getWebSocketUrlFuture() {
+    final CompletableFuture<String> future = new CompletableFuture<>();
+    final ScheduledFuture<?> check = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(() -> {
+      final String url = getWebSocketUrl();
+      if (url != null) {
+        future.complete(url);
+      }
+    }, 0, 100, TimeUnit.MILLISECONDS);
+    future.whenComplete((url, error) -> check.cancel(false));
+    return future;
+  }
+
   /**
    * Returns the http URL to open a browser session, if available.
    */
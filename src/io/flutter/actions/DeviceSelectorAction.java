@@ -19,23 +19,44 @@ import com.intellij.openapi.util.Condition;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.SystemInfo;
 import com.intellij.util.ModalityUiUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import icons.FlutterIcons;
 import io.flutter.FlutterBundle;
+import io.flutter.android.AndroidEmulator;
 import io.flutter.run.FlutterDevice;
 import io.flutter.run.daemon.DeviceService;
 import io.flutter.sdk.AndroidEmulatorManager;
 import io.flutter.utils.FlutterModuleUtils;
+import io.flutter.utils.OpenApiUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class DeviceSelectorAction extends ComboBoxAction implements DumbAware {
-  private final List<AnAction> actions = new ArrayList<>();
+  /**
+   * How long to wait for more device or emulator events before rebuilding the menu.
+   */
+  private static final long UPDATE_DELAY_MS = 100;
+
+  /**
+   * The menu contents. This list is never modified; a new one is swapped in when the devices change.
+   */
+  private volatile @NotNull List<AnAction> actions = Collections.emptyList();
   private final List<Project> knownProjects = Collections.synchronizedList(new ArrayList<>());
+  private final Set<Project> pendingUpdates = ConcurrentHashMap.newKeySet();
 
-  private @Nullable SelectDeviceAction selectedDeviceAction;
+  private volatile @Nullable SelectDeviceAction selectedDeviceAction;
+
+  // The state below is guarded by this.
+  private @Nullable DeviceListSnapshot lastSnapshot;
+  private @NotNull Map<FlutterDevice, SelectDeviceAction> deviceActions = new HashMap<>();
+  private @NotNull Map<AndroidEmulator, OpenEmulatorAction> emulatorActions = new HashMap<>();
+  private @Nullable OpenSimulatorAction openSimulatorAction;
+  private @Nullable RestartFlutterDaemonAction restartDaemonAction;
 
   DeviceSelectorAction() {
     setSmallVariant(true);
@@ -115,7 +136,11 @@ public class DeviceSelectorAction extends ComboBoxAction implements DumbAware {
     else if (selectedDevice == null) {
       presentation.setText("<no device selected>");
     }
-    else if (selectedDeviceAction != null) {
+    else {
+      final SelectDeviceAction selectedDeviceAction = this.selectedDeviceAction;
+      if (selectedDeviceAction == null) {
+        return;
+      }
       final Presentation template = selectedDeviceAction.getTemplatePresentation();
       presentation.setIcon(template.getIcon());
       presentation.setText(selectedDevice.presentationName());
@@ -123,18 +148,38 @@ public class DeviceSelectorAction extends ComboBoxAction implements DumbAware {
     }
   }
 
+  /**
+   * Coalesces bursts of device and emulator events into a single refresh, run on a pooled thread.
+   */
   private void queueUpdate(@NotNull Project project, @NotNull Presentation presentation) {
-    ModalityUiUtil.invokeLaterIfNeeded(
-      ModalityState.defaultModalityState(),
-      () -> update(project, presentation));
+    if (!pendingUpdates.add(project)) {
+      return;
+    }
+    AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+      // Clear the flag first so that events arriving during the refresh schedule another one.
+      pendingUpdates.remove(project);
+      update(project, presentation);
+    }, UPDATE_DELAY_MS, TimeUnit.MILLISECONDS);
   }
 
   private void update(@NotNull Project project, @NotNull Presentation presentation) {
     if (project.isDisposed()) {
       return; // This check is probably unnecessary, but safe.
     }
-    updateActions(project, presentation);
-    updateVisibility(project, presentation);
+    final DeviceListSnapshot snapshot = OpenApiUtils.safeRunReadAction(() -> DeviceListSnapshot.of(project));
+    if (snapshot == null || !updateActions(snapshot)) {
+      return;
+    }
+
+    var tracker = ActivityTracker.getInstance();
+    if (tracker != null) {
+      tracker.inc();
+    }
+    ModalityUiUtil.invokeLaterIfNeeded(ModalityState.defaultModalityState(), () -> {
+      if (!project.isDisposed()) {
+        updateVisibility(project, presentation);
+      }
+    });
   }
 
   private static void updateVisibility(final Project project, final @NotNull Presentation presentation) {
@@ -159,64 +204,68 @@ public class DeviceSelectorAction extends ComboBoxAction implements DumbAware {
     return deviceService.isRefreshInProgress() || deviceService.getStatus() != DeviceService.State.INACTIVE;
   }
 
-  private void updateActions(@NotNull Project project, Presentation presentation) {
-    actions.clear();
-
-    final DeviceService deviceService = DeviceService.getInstance(project);
-
-    final FlutterDevice selectedDevice = deviceService.getSelectedDevice();
-    final Collection<FlutterDevice> devices = deviceService.getConnectedDevices();
-
-    selectedDeviceAction = null;
-
-    for (FlutterDevice device : devices) {
-      if (device == null) continue;
+  /**
+   * Rebuilds the menu from {@param snapshot}, reusing the actions for devices and emulators that haven't changed.
+   * <p>
+   * Returns false if the snapshot is the same as the last one, in which case nothing is done.
+   */
+  private synchronized boolean updateActions(@NotNull DeviceListSnapshot snapshot) {
+    if (snapshot.equals(lastSnapshot)) {
+      return false;
+    }
+    lastSnapshot = snapshot;
 
-      final SelectDeviceAction deviceAction = new SelectDeviceAction(device, devices);
-      actions.add(deviceAction);
+    final List<AnAction> newActions = new ArrayList<>();
+    final Map<FlutterDevice, SelectDeviceAction> newDeviceActions = new HashMap<>();
+    SelectDeviceAction newSelectedDeviceAction = null;
 
-      if (Objects.equals(device, selectedDevice)) {
-        selectedDeviceAction = deviceAction;
+    for (FlutterDevice device : snapshot.devices()) {
+      final String name = device.getUniqueName(snapshot.devices());
+      SelectDeviceAction deviceAction = deviceActions.get(device);
+      if (deviceAction == null || !deviceAction.name.equals(name)) {
+        deviceAction = new SelectDeviceAction(device, name);
+      }
+      newDeviceActions.put(device, deviceAction);
+      newActions.add(deviceAction);
 
-        final Presentation template = deviceAction.getTemplatePresentation();
-        //noinspection DataFlowIssue
-        presentation.setIcon(template.getIcon());
-        //presentation.setText(deviceAction.presentationName());
-        presentation.setEnabled(true);
+      if (Objects.equals(device, snapshot.selectedDevice())) {
+        newSelectedDeviceAction = deviceAction;
       }
     }
 
     // Show the 'Open iOS Simulator' action.
     if (SystemInfo.isMac) {
-      boolean simulatorOpen = false;
-      for (AnAction action : actions) {
-        if (action instanceof SelectDeviceAction deviceAction) {
-          final FlutterDevice device = deviceAction.device;
-          if (device.isIOS() && device.emulator()) {
-            simulatorOpen = true;
-          }
-        }
+      final boolean simulatorOpen = snapshot.devices().stream().anyMatch(device -> device.isIOS() && device.emulator());
+      if (openSimulatorAction == null || openSimulatorAction.enabled == simulatorOpen) {
+        openSimulatorAction = new OpenSimulatorAction(!simulatorOpen);
       }
-
-      actions.add(new Separator());
-      actions.add(new OpenSimulatorAction(!simulatorOpen));
+      newActions.add(Separator.getInstance());
+      newActions.add(openSimulatorAction);
     }
 
     // Add Open Android emulators actions.
-    final List<OpenEmulatorAction> emulatorActions = OpenEmulatorAction.getEmulatorActions(project);
-    if (emulatorActions != null && !emulatorActions.isEmpty()) {
-      actions.add(new Separator());
-      actions.addAll(emulatorActions);
+    final Map<AndroidEmulator, OpenEmulatorAction> newEmulatorActions = new HashMap<>();
+    if (!snapshot.emulators().isEmpty()) {
+      newActions.add(Separator.getInstance());
+      for (AndroidEmulator emulator : snapshot.emulators()) {
+        final OpenEmulatorAction emulatorAction = emulatorActions.computeIfAbsent(emulator, OpenEmulatorAction::new);
+        newEmulatorActions.put(emulator, emulatorAction);
+        newActions.add(emulatorAction);
+      }
     }
-    if (!FlutterModuleUtils.hasInternalDartSdkPath(project)) {
-      actions.add(new Separator());
-      actions.add(RestartFlutterDaemonAction.forDeviceSelector());
+    if (snapshot.showRestartDaemon()) {
+      if (restartDaemonAction == null) {
+        restartDaemonAction = RestartFlutterDaemonAction.forDeviceSelector();
+      }
+      newActions.add(Separator.getInstance());
+      newActions.add(restartDaemonAction);
     }
 
-    var tracker = ActivityTracker.getInstance();
-    if (tracker != null) {
-      tracker.inc();
-    }
+    deviceActions = newDeviceActions;
+    emulatorActions = newEmulatorActions;
+    selectedDeviceAction = newSelectedDeviceAction;
+    actions = Collections.unmodifiableList(newActions);
+    return true;
   }
 
   // Show the current device as selected when the combo box menu opens.
@@ -229,9 +278,13 @@ public class DeviceSelectorAction extends ComboBoxAction implements DumbAware {
     @NotNull
     private final FlutterDevice device;
 
-    SelectDeviceAction(@NotNull FlutterDevice device, @NotNull Collection<FlutterDevice> devices) {
-      super(device.getUniqueName(devices), null, FlutterIcons.Phone);
+    @NotNull
+    private final String name;
+
+    SelectDeviceAction(@NotNull FlutterDevice device, @NotNull String name) {
+      super(name, null, FlutterIcons.Phone);
       this.device = device;
+      this.name = name;
     }
 
     public @NotNull String presentationName() {
@@ -252,4 +305,34 @@ public class DeviceSelectorAction extends ComboBoxAction implements DumbAware {
       return ActionUpdateThread.BGT;
     }
   }
+
+  /**
+   * Everything the device menu is built from, read in one go so that it can be compared with the previous menu.
+   *
+   * @param project           the project the devices belong to; the menu is shared between projects
+   * @param visible           whether the selector should be shown
+   * @param devices           the connected devices, in menu order
+   * @param selectedDevice    the selected device, if any
+   * @param emulators         the Android emulators that can be opened
+   * @param showRestartDaemon whether to offer restarting the Flutter daemon
+   */
+  private record DeviceListSnapshot(@NotNull Project project,
+                                    boolean visible,
+                                    @NotNull List<FlutterDevice> devices,
+                                    @Nullable FlutterDevice selectedDevice,
+                                    @NotNull List<AndroidEmulator> emulators,
+                                    boolean showRestartDaemon) {
+    @Nullable
+    static DeviceListSnapshot of(@NotNull Project project) {
+      if (project.isDisposed()) {
+        return null;
+      }
+      final DeviceService deviceService = DeviceService.getInstance(project);
+      final List<FlutterDevice> devices = deviceService.getConnectedDevices().stream().filter(Objects::nonNull).toList();
+      final List<AndroidEmulator> emulators =
+        AndroidEmulatorManager.getInstance(project).getCachedEmulators().stream().filter(Objects::nonNull).toList();
+      return new DeviceListSnapshot(project, isSelectorVisible(project), devices, deviceService.getSelectedDevice(), emulators,
+                                    !FlutterModuleUtils.hasInternalDartSdkPath(project));
+    }
+  }
 }
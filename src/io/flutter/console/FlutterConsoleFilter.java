@@ -18,9 +18,11 @@ import com.intellij.openapi.editor.markup.EffectType;
 import com.intellij.openapi.editor.markup.TextAttributes;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.util.ui.UIUtil;
 import io.flutter.FlutterMessages;
 import io.flutter.FlutterUtils;
@@ -30,6 +32,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -42,6 +46,21 @@ import java.util.regex.Pattern;
  * - some embedded paths, like "MyApp.xzzzz (lib/main.dart:6)"
  */
 public class FlutterConsoleFilter implements Filter {
+  /**
+   * Matches compiler errors such as "lib/registerC.dart:104:73: Error: Expected ';' after this."
+   */
+  private static final Pattern ERROR_LOCATION_PATTERN = Pattern.compile("(^.*?):(\\d+?):\\d+?:\\s*?Error");
+
+  /**
+   * The number of relative paths for which to remember the file they resolve to.
+   */
+  private static final int MAX_CACHED_PATHS = 256;
+
+  /**
+   * Stands in for paths that did not resolve to a file, since the cache can't hold null values.
+   */
+  private static final Object NO_FILE = new Object();
+
   private static class OpenExternalFileHyperlink implements HyperlinkInfo {
     private final @NotNull String myPath;
 
@@ -75,6 +94,20 @@ public class FlutterConsoleFilter implements Filter {
 
   private final @NotNull Module module;
 
+  /**
+   * Maps relative paths to the {@link VirtualFile} they resolve to, or to {@link #NO_FILE}.
+   * <p>
+   * The same few paths show up on many lines of output, and each lookup would otherwise probe every content root.
+   * The cache is cleared whenever files are created, deleted, moved or renamed, or the content roots change.
+   */
+  private final Map<String, Object> pathCache = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+      return size() > MAX_CACHED_PATHS;
+    }
+  };
+  private long pathCacheStamp = -1;
+
   public FlutterConsoleFilter(@NotNull Module module) {
     this.module = module;
   }
@@ -83,14 +116,43 @@ public class FlutterConsoleFilter implements Filter {
   @Nullable
   public VirtualFile fileAtPath(@NotNull String pathPart) {
     // "lib/main.dart:6"
-    pathPart = pathPart.split(":")[0];
+    final int colon = pathPart.indexOf(':');
+    if (colon >= 0) {
+      pathPart = pathPart.substring(0, colon);
+    }
 
     // We require the pathPart reference to be a file reference, otherwise we'd match things like
     // "Build: Running build completed, took 191ms".
-    if (pathPart == null || pathPart.indexOf('.') == -1) {
+    if (pathPart.indexOf('.') == -1) {
       return null;
     }
 
+    final long stamp = VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS.getModificationCount() +
+                       ProjectRootManager.getInstance(module.getProject()).getModificationCount();
+    synchronized (pathCache) {
+      if (stamp != pathCacheStamp) {
+        pathCache.clear();
+        pathCacheStamp = stamp;
+      }
+      final Object cached = pathCache.get(pathPart);
+      if (cached == NO_FILE) {
+        return null;
+      }
+      if (cached instanceof VirtualFile file && file.isValid()) {
+        return file;
+      }
+    }
+
+    final VirtualFile file = resolvePath(pathPart);
+    synchronized (pathCache) {
+      if (stamp == pathCacheStamp) {
+        pathCache.put(pathPart, file == null ? NO_FILE : file);
+      }
+    }
+    return file;
+  }
+
+  private @Nullable VirtualFile resolvePath(@NotNull String pathPart) {
     final VirtualFile[] roots = OpenApiUtils.getContentRoots(module);
     for (VirtualFile root : roots) {
       if (root == null) continue;
@@ -139,92 +201,83 @@ public class FlutterConsoleFilter implements Filter {
     //   * "Launching lib/main.dart"
     //   * "open ios/Runner.xcworkspace"
     if (pathPart.startsWith("Launching ") || pathPart.startsWith("open ")) {
-      final String[] parts = pathPart.split(" ");
-      if (parts.length > 1) {
-        pathPart = parts[1];
-        if (pathPart != null) {
-          file = fileAtPath(pathPart);
-          if (file != null) {
-            lineStart = entireLength - line.length() + line.indexOf(pathPart);
-            highlightLength = pathPart.length();
-          }
-        }
+      final int start = pathPart.indexOf(' ') + 1;
+      pathPart = pathPart.substring(start, tokenEnd(pathPart, start));
+      file = fileAtPath(pathPart);
+      if (file != null) {
+        lineStart = entireLength - line.length() + line.indexOf(pathPart);
+        highlightLength = pathPart.length();
       }
     }
 
     // Check for embedded paths, e.g.,
     //    * "  • MyApp.xzzzz (lib/main.dart:6)"
     //    * "  • _MyHomePageState._incrementCounter (lib/main.dart:49)"
-    final String[] parts = pathPart.split(" ");
-    for (String part : parts) {
+    // This walks the space separated words in place; only words in parentheses are looked at more closely.
+    for (int start = 0, end; start < pathPart.length(); start = end + 1) {
+      end = tokenEnd(pathPart, start);
       // "(lib/main.dart:49)"
-      if (part != null && part.startsWith("(") && part.endsWith(")")) {
-        part = part.substring(1, part.length() - 1);
-        final String[] split = part.split(":");
-        if (split.length == 2) {
-          try {
-            // Reconcile line number indexing.
-            //noinspection DataFlowIssue
-            lineNumber = Math.max(0, Integer.parseInt(split[1]) - 1);
-          }
-          catch (NumberFormatException e) {
-            // Ignored.
-          }
-          pathPart = part;
-          lineStart = entireLength - line.length() + line.indexOf(pathPart);
-          highlightLength = pathPart.length();
-          break;
+      if (end - start < 2 || pathPart.charAt(start) != '(' || pathPart.charAt(end - 1) != ')') {
+        continue;
+      }
+
+      final String part = pathPart.substring(start + 1, end - 1);
+      final String[] split = part.split(":");
+      if (split.length == 2) {
+        try {
+          // Reconcile line number indexing.
+          //noinspection DataFlowIssue
+          lineNumber = Math.max(0, Integer.parseInt(split[1]) - 1);
         }
-        else if (split.length == 4 && Objects.equals(split[0], "file")) {
-          // part = file:///Users/user/AndroidStudioProjects/flutter_app/test/widget_test.dart:23:18
-          try {
-            // Reconcile line number indexing.
-            //noinspection DataFlowIssue
-            lineNumber = Math.max(0, Integer.parseInt(split[2]) - 1);
-          }
-          catch (NumberFormatException e) {
-            // Ignored.
-          }
-          pathPart = findRelativePath(split[1]);
-          if (pathPart == null) {
-            return null;
-          }
-          lineStart = entireLength - line.length() + line.indexOf(part);
-          highlightLength = part.length();
-          break;
+        catch (NumberFormatException e) {
+          // Ignored.
         }
+        pathPart = part;
+        lineStart = entireLength - line.length() + line.indexOf(pathPart);
+        highlightLength = pathPart.length();
+        break;
       }
-    }
-
-    if (lineStart < 0) {
-      // lib/registerC.dart:104:73: Error: Expected ';' after this.
-      final String filePathAndLineNumberExpr = "(^.*?):(\\d+?):\\d+?:\\s*?Error";
-      final Pattern pattern = Pattern.compile(filePathAndLineNumberExpr);
-      final Matcher matcher = pattern.matcher(line);
-      final boolean found = matcher.find();
-      if (found) {
-        final String filePathExpr = "((?:[^/]*/)*)(.*)";
-        final Pattern pathPattern = Pattern.compile(filePathExpr);
-        //noinspection DataFlowIssue
-        final Matcher pathMatcher = pathPattern.matcher(matcher.group(1));
-        if (pathMatcher.find()) {
-          final String path = pathMatcher.group(1) + pathMatcher.group(2);
-          file = fileAtPath(path);
-          if (file == null) {
-            return null;
-          }
+      else if (split.length == 4 && Objects.equals(split[0], "file")) {
+        // part = file:///Users/user/AndroidStudioProjects/flutter_app/test/widget_test.dart:23:18
+        try {
+          // Reconcile line number indexing.
           //noinspection DataFlowIssue
-          lineNumber = Integer.parseInt(matcher.group(2));
-          lineStart = entireLength - line.length();
-          highlightLength = path.length();
+          lineNumber = Math.max(0, Integer.parseInt(split[2]) - 1);
         }
-        else {
+        catch (NumberFormatException e) {
+          // Ignored.
+        }
+        pathPart = findRelativePath(split[1]);
+        if (pathPart == null) {
           return null;
         }
+        lineStart = entireLength - line.length() + line.indexOf(part);
+        highlightLength = part.length();
+        break;
       }
-      else {
+    }
+
+    if (lineStart < 0) {
+      // lib/registerC.dart:104:73: Error: Expected ';' after this.
+      // Most lines don't mention an error at all, so check for that before running the pattern.
+      if (!line.contains("Error")) {
         return null;
       }
+      final Matcher matcher = ERROR_LOCATION_PATTERN.matcher(line);
+      if (!matcher.find()) {
+        return null;
+      }
+      final String path = matcher.group(1);
+      //noinspection DataFlowIssue
+      file = fileAtPath(path);
+      if (file == null) {
+        return null;
+      }
+      //noinspection DataFlowIssue
+      lineNumber = Integer.parseInt(matcher.group(2));
+      lineStart = entireLength - line.length();
+      //noinspection DataFlowIssue
+      highlightLength = path.length();
     }
 
     if (file == null) {
@@ -243,6 +296,14 @@ public class FlutterConsoleFilter implements Filter {
     return null;
   }
 
+  /**
+   * Returns the index of the space that ends the word starting at {@param start}, or the length of {@param text}.
+   */
+  private static int tokenEnd(@NotNull String text, int start) {
+    final int end = text.indexOf(' ', start);
+    return end < 0 ? text.length() : end;
+  }
+
   private @Nullable String findRelativePath(@Nullable String threeSlashFileName) {
     if (threeSlashFileName == null) return null;
     final VirtualFile[] roots = OpenApiUtils.getContentRoots(module);
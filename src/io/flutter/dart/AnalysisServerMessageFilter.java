@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.dart;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Decides whether a raw analysis server message is worth decoding.
+ * <p>
+ * The analysis server sends every response and notification to every listener, and most of them
+ * (<code>analysis.errors</code>, completion results, ...) are large and of no interest to us. This
+ * filter streams over the top-level members of a message with a {@link JsonReader} until it finds
+ * the <code>event</code> or <code>id</code> member, so uninteresting messages are dropped without
+ * building a JSON tree.
+ */
+public class AnalysisServerMessageFilter {
+  @NotNull private final Set<String> events;
+  @NotNull private final Predicate<String> isPendingRequest;
+
+  private final AtomicLong acceptedMessages = new AtomicLong();
+  private final AtomicLong skippedMessages = new AtomicLong();
+  private final AtomicLong skippedChars = new AtomicLong();
+
+  /**
+   * @param events           the notification names that should be decoded
+   * @param isPendingRequest returns true for request ids whose responses should be decoded
+   */
+  public AnalysisServerMessageFilter(@NotNull Set<String> events, @NotNull Predicate<String> isPendingRequest) {
+    this.events = events;
+    this.isPendingRequest = isPendingRequest;
+  }
+
+  /**
+   * Returns true if the given message is a notification we listen for, or a response to one of
+   * our own requests. Malformed messages are rejected.
+   */
+  public boolean accept(@NotNull String json) {
+    final boolean accepted = isInteresting(json);
+    if (accepted) {
+      acceptedMessages.incrementAndGet();
+    }
+    else {
+      skippedMessages.incrementAndGet();
+      skippedChars.addAndGet(json.length());
+    }
+    return accepted;
+  }
+
+  private boolean isInteresting(@NotNull String json) {
+    try (JsonReader reader = new JsonReader(new StringReader(json))) {
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+        return false;
+      }
+      reader.beginObject();
+      while (reader.hasNext()) {
+        final String name = reader.nextName();
+        if ("event".equals(name)) {
+          return reader.peek() == JsonToken.STRING && events.contains(reader.nextString());
+        }
+        if ("id".equals(name)) {
+          return reader.peek() == JsonToken.STRING && isPendingRequest.test(reader.nextString());
+        }
+        reader.skipValue();
+      }
+      return false;
+    }
+    catch (IOException | JsonParseException | IllegalStateException e) {
+      return false;
+    }
+  }
+
+  /**
+   * The number of messages that passed the filter.
+   */
+  public long getAcceptedMessageCount() {
+    return acceptedMessages.get();
+  }
+
+  /**
+   * The number of messages that were dropped without being decoded.
+   */
+  public long getSkippedMessageCount() {
+    return skippedMessages.get();
+  }
+
+  /**
+   * The total length, in chars, of the messages that were dropped without being decoded.
+   */
+  public long getSkippedCharCount() {
+    return skippedChars.get();
+  }
+}
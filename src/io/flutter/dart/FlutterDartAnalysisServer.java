@@ -17,7 +17,9 @@ import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.util.Consumer;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.jetbrains.lang.dart.analyzer.DartAnalysisServerService;
+import io.flutter.utils.CoalescingDispatcher;
 import io.flutter.utils.JsonUtils;
 import org.dartlang.analysis.server.protocol.AnalysisError;
 import org.dartlang.analysis.server.protocol.FlutterOutline;
@@ -26,6 +28,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class FlutterDartAnalysisServer implements Disposable {
   private static final String FLUTTER_NOTIFICATION_OUTLINE = "flutter.outline";
@@ -44,8 +47,32 @@ public class FlutterDartAnalysisServer implements Disposable {
   /**
    * Each key is a request identifier.
    * Each value is the {@link Consumer} for the response.
+   * <p>
+   * None of our current requests expect a result, so nothing is registered here yet and the
+   * {@link #messageFilter} drops every response. It is kept for requests that do need one.
    */
   private final Map<String, Consumer<JsonObject>> responseConsumers = new HashMap<>();
+
+  /**
+   * Drops responses and notifications we don't handle before they are parsed.
+   * <p>
+   * Only responses to requests with an entry in {@link #responseConsumers} get through, so a request that
+   * registers a consumer there before it is sent will have its response decoded.
+   */
+  private final AnalysisServerMessageFilter messageFilter =
+    new AnalysisServerMessageFilter(Set.of(FLUTTER_NOTIFICATION_OUTLINE), this::hasResponseConsumer);
+
+  /**
+   * The order in which messages arrived from the analysis server, used to discard stale outlines.
+   */
+  private final AtomicLong messageSequence = new AtomicLong();
+
+  /**
+   * Keeps only the newest undelivered outline for each file, and delivers outlines for a file in order.
+   */
+  private final CoalescingDispatcher<String, PendingOutline> outlineDispatcher =
+    new CoalescingDispatcher<>(AppExecutorUtil.getAppExecutorService(), this::deliverOutline);
+
   private boolean isDisposed = false;
 
   @NotNull
@@ -117,10 +144,15 @@ public class FlutterDartAnalysisServer implements Disposable {
     if (!isServerConnected()) {
       return;
     }
+    final String file = getAnalysisService().getLocalFileUri(filePath);
     final boolean removeSubscription;
     synchronized (fileOutlineListeners) {
-      final List<FlutterOutlineListener> listeners = fileOutlineListeners.get(filePath);
+      final List<FlutterOutlineListener> listeners = fileOutlineListeners.get(file);
       removeSubscription = listeners != null && listeners.remove(listener);
+      if (listeners != null && listeners.isEmpty()) {
+        fileOutlineListeners.remove(file);
+        outlineDispatcher.remove(file);
+      }
     }
     if (removeSubscription) {
       removeSubscription(FlutterService.OUTLINE, filePath);
@@ -171,9 +203,24 @@ public class FlutterDartAnalysisServer implements Disposable {
     }
   }
 
+  @NotNull
+  public AnalysisServerMessageFilter getMessageFilter() {
+    return messageFilter;
+  }
+
+  private boolean hasResponseConsumer(@NotNull String id) {
+    synchronized (responseConsumers) {
+      return responseConsumers.containsKey(id);
+    }
+  }
+
   private void processString(@Nullable String jsonString) {
     if (jsonString == null) return;
     if (isDisposed) return;
+    // Most of the analysis server traffic is for the Dart plugin; don't bother parsing it.
+    if (!messageFilter.accept(jsonString)) return;
+    // Messages are parsed concurrently, so remember the order in which they arrived.
+    final long sequence = messageSequence.incrementAndGet();
     Application application = ApplicationManager.getApplication();
     if (application != null) {
       application.executeOnPooledThread(() -> {
@@ -182,7 +229,7 @@ public class FlutterDartAnalysisServer implements Disposable {
         if (isDisposed) return;
         JsonElement jsonElement = JsonUtils.parseString(jsonString);
         if (jsonElement != null) {
-          processResponse(jsonElement.getAsJsonObject());
+          processResponse(jsonElement.getAsJsonObject(), sequence);
         }
       });
     }
@@ -191,12 +238,12 @@ public class FlutterDartAnalysisServer implements Disposable {
   /**
    * Handle the given {@link JsonObject} response.
    */
-  private void processResponse(@Nullable JsonObject response) {
+  private void processResponse(@Nullable JsonObject response, long sequence) {
     if (response == null) return;
 
     final JsonElement eventName = response.get("event");
     if (eventName != null && eventName.isJsonPrimitive()) {
-      processNotification(response, eventName);
+      processNotification(response, eventName, sequence);
       return;
     }
 
@@ -230,8 +277,8 @@ public class FlutterDartAnalysisServer implements Disposable {
    * Attempts to handle the given {@link JsonObject} as a notification.
    */
   @SuppressWarnings("DataFlowIssue") // Ignore for de-marshalling JSON objects.
-  private void processNotification(JsonObject response, @NotNull JsonElement eventName) {
-    // If we add code to handle the more event types below, update the filter in processString().
+  private void processNotification(JsonObject response, @NotNull JsonElement eventName, long sequence) {
+    // If we add code to handle more event types below, update the events passed to messageFilter.
     final String event = eventName.getAsString();
     if (Objects.equals(event, FLUTTER_NOTIFICATION_OUTLINE)) {
       final JsonObject paramsObject = response.get("params").getAsJsonObject();
@@ -241,23 +288,36 @@ public class FlutterDartAnalysisServer implements Disposable {
       final String instrumentedCode = instrumentedCodeElement != null ? instrumentedCodeElement.getAsString() : null;
 
       final JsonObject outlineObject = paramsObject.get("outline").getAsJsonObject();
-      final FlutterOutline outline = FlutterOutline.fromJson(outlineObject);
-
-      final List<FlutterOutlineListener> listenersUpdated;
-      synchronized (fileOutlineListeners) {
-        final List<FlutterOutlineListener> listeners = fileOutlineListeners.get(file);
-        listenersUpdated = listeners != null ? Lists.newArrayList(listeners) : null;
+      if (file != null) {
+        // The outline is only decoded if it is still the newest one for the file when it is delivered.
+        outlineDispatcher.post(file, sequence, new PendingOutline(outlineObject, instrumentedCode));
       }
-      if (listenersUpdated != null) {
-        for (FlutterOutlineListener listener : listenersUpdated) {
-          if (listener != null && file != null) {
-            listener.outlineUpdated(file, outline, instrumentedCode);
-          }
-        }
+    }
+  }
+
+  private void deliverOutline(@NotNull String file, @NotNull PendingOutline pending) {
+    if (isDisposed) return;
+
+    final List<FlutterOutlineListener> listenersUpdated;
+    synchronized (fileOutlineListeners) {
+      final List<FlutterOutlineListener> listeners = fileOutlineListeners.get(file);
+      listenersUpdated = listeners != null && !listeners.isEmpty() ? Lists.newArrayList(listeners) : null;
+    }
+    if (listenersUpdated == null) {
+      return;
+    }
+
+    final FlutterOutline outline = FlutterOutline.fromJson(pending.outlineObject);
+    for (FlutterOutlineListener listener : listenersUpdated) {
+      if (listener != null) {
+        listener.outlineUpdated(file, outline, pending.instrumentedCode);
       }
     }
   }
 
+  private record PendingOutline(@NotNull JsonObject outlineObject, @Nullable String instrumentedCode) {
+  }
+
   class CompatibleResponseListener implements ResponseListener {
     @SuppressWarnings({"override", "RedundantSuppression"})
     public void onResponse(String jsonString) {
@@ -268,5 +328,6 @@ public class FlutterDartAnalysisServer implements Disposable {
   @Override
   public void dispose() {
     isDisposed = true;
+    outlineDispatcher.clear();
   }
 }
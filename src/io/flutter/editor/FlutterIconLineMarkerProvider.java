@@ -16,9 +16,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.LocalFileSystem;
-import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileVisitor;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
@@ -28,8 +26,8 @@ import com.jetbrains.lang.dart.psi.*;
 import com.jetbrains.lang.dart.psi.impl.DartCallExpressionImpl;
 import com.jetbrains.lang.dart.util.DartPsiImplUtil;
 import com.jetbrains.lang.dart.util.DartResolveUtil;
-import info.debatty.java.stringsimilarity.JaroWinkler;
 import io.flutter.FlutterBundle;
+import io.flutter.font.IconFontIndex;
 import io.flutter.logging.PluginLogger;
 import io.flutter.sdk.FlutterSdk;
 import io.flutter.sdk.FlutterSdkUtil;
@@ -214,7 +212,7 @@ public class FlutterIconLineMarkerProvider extends LineMarkerProviderDescriptor
           assert knownPath != null;
           final IconInfo iconDef = findDefinition(name, iconName, element.getProject(), knownPath);
           if (iconDef == null) return null;
-          icon = findIconFromDef(name, iconDef, knownPath);
+          icon = findIconFromDef(iconDef, knownPath, element.getProject());
         }
         if (icon != null) {
           return createLineMarker(element, icon);
@@ -323,7 +321,7 @@ public class FlutterIconLineMarkerProvider extends LineMarkerProviderDescriptor
   }
 
   @Nullable
-  private Icon findIconFromDef(@NotNull String iconClassName, @NotNull IconInfo iconDef, @NotNull String path) {
+  private Icon findIconFromDef(@NotNull IconInfo iconDef, @NotNull String path, @NotNull Project project) {
     assert LocalFileSystem.getInstance() != null;
     final VirtualFile virtualFile = LocalFileSystem.getInstance().findFileByPath(path);
     if (virtualFile == null) return null;
@@ -331,43 +329,13 @@ public class FlutterIconLineMarkerProvider extends LineMarkerProviderDescriptor
     while (parent != null && !parent.getName().equals("lib")) {
       parent = parent.getParent();
     }
-    if (parent != null) parent = parent.getParent(); // We have to search the entire project.
+    if (parent != null) parent = parent.getParent(); // We have to search the entire package.
     if (parent == null) {
       return null;
     }
-    final List<VirtualFile> ttfFiles = new ArrayList<>();
-    VfsUtilCore.visitChildrenRecursively(parent, new VirtualFileVisitor<Void>() {
-      @Override
-      public boolean visitFile(@NotNull VirtualFile file) {
-        final String ext = file.getExtension();
-        if ("ttf".equals(ext)) {
-          ttfFiles.add(file);
-          return false;
-        }
-        else {
-          return super.visitFile(file);
-        }
-      }
-    });
-    double match = -1;
-    final String family = iconDef.familyName;
-    VirtualFile bestFileMatch = null;
-    if (family != null) {
-      for (VirtualFile file : ttfFiles) {
-        assert file != null;
-        final double n = findPattern(file.getNameWithoutExtension(), family);
-        if (n > match) {
-          match = n;
-          bestFileMatch = file;
-        }
-      }
-    } // If the family is null we could do a search for font files named similar to the package.
-    if (bestFileMatch != null) {
-      final IconPreviewGenerator generator = new IconPreviewGenerator(bestFileMatch.getPath());
-      final Icon icon = generator.convert(iconDef.codepoint);
-      if (icon != null) return icon;
-    }
-    for (VirtualFile file : ttfFiles) {
+    // The best match for the family comes first. If the family is null we could do a search for font files named
+    // similar to the package.
+    for (VirtualFile file : IconFontIndex.getInstance(project).getFontFiles(parent, iconDef.familyName)) {
       assert file != null;
       final IconPreviewGenerator generator = new IconPreviewGenerator(file.getPath());
       final Icon icon = generator.convert(iconDef.codepoint);
@@ -376,13 +344,6 @@ public class FlutterIconLineMarkerProvider extends LineMarkerProviderDescriptor
     return null;
   }
 
-  public double findPattern(@NotNull String t, @NotNull String p) {
-    // This is from https://github.com/tdebatty/java-string-similarity
-    // It's MIT license file is: https://github.com/tdebatty/java-string-similarity/blob/master/LICENSE.md
-    final JaroWinkler jw = new JaroWinkler();
-    return jw.similarity(t, p);
-  }
-
   record IconInfo(@NotNull String className, @NotNull String iconName, @Nullable String familyName, @NotNull String codepoint) {
   }
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.font;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.*;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import info.debatty.java.stringsimilarity.JaroWinkler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An index of the icon fonts (<code>.ttf</code> files) in each pub package that defines custom icons.
+ * <p>
+ * A package is crawled once, the first time an icon from it is resolved. After that, the index is kept up to date
+ * from VFS events on a background thread, so looking up the font for an icon family does not touch the file system.
+ */
+public class IconFontIndex implements Disposable {
+  private static final String FONT_EXTENSION = "ttf";
+
+  private static final JaroWinkler SIMILARITY = new JaroWinkler();
+
+  @NotNull
+  public static IconFontIndex getInstance(@NotNull Project project) {
+    return Objects.requireNonNull(project.getService(IconFontIndex.class));
+  }
+
+  /**
+   * The fonts in each indexed package, keyed by the package's root directory path.
+   */
+  private final Map<String, PackageFonts> packages = new HashMap<>();
+
+  /**
+   * Applies VFS changes to the index in the order they happened, off the thread that delivers them, since a new
+   * directory has to be crawled.
+   */
+  private final ExecutorService updates = AppExecutorUtil.createBoundedApplicationPoolExecutor("IconFontIndex", 1);
+
+  public IconFontIndex(@NotNull Project project) {
+    project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+      @Override
+      public void after(@NotNull List<? extends VFileEvent> events) {
+        synchronized (packages) {
+          if (packages.isEmpty()) return;
+        }
+        final List<VFileEvent> pending = new ArrayList<>(events);
+        updates.execute(() -> pending.forEach(IconFontIndex.this::handleEvent));
+      }
+    });
+  }
+
+  /**
+   * Waits until the VFS changes received so far have been applied.
+   */
+  @VisibleForTesting
+  void waitForUpdates() throws ExecutionException, InterruptedException {
+    updates.submit(() -> {
+    }).get();
+  }
+
+  /**
+   * Returns the fonts in the package rooted at {@param packageRoot}, in the order in which they should be tried
+   * for the font family {@param family}.
+   * <p>
+   * A font whose file name matches the family comes first. Without one, the file name most similar to the family
+   * comes first. The remaining fonts follow in directory order.
+   */
+  @NotNull
+  public List<VirtualFile> getFontFiles(@NotNull VirtualFile packageRoot, @Nullable String family) {
+    final String rootPath = packageRoot.getPath();
+    PackageFonts fonts;
+    synchronized (packages) {
+      fonts = packages.get(rootPath);
+    }
+    if (fonts == null) {
+      final PackageFonts crawled = new PackageFonts();
+      crawled.addAll(packageRoot);
+      synchronized (packages) {
+        fonts = packages.computeIfAbsent(rootPath, (key) -> crawled);
+      }
+    }
+
+    synchronized (packages) {
+      final List<VirtualFile> result = new ArrayList<>(fonts.byPath.values());
+      if (family != null && !result.isEmpty()) {
+        VirtualFile best = fonts.byName.get(normalize(family));
+        if (best == null) {
+          double match = -1;
+          for (VirtualFile file : result) {
+            final double n = SIMILARITY.similarity(file.getNameWithoutExtension(), family);
+            if (n > match) {
+              match = n;
+              best = file;
+            }
+          }
+        }
+        result.remove(best);
+        result.add(0, best);
+      }
+      return result;
+    }
+  }
+
+  private void handleEvent(@NotNull VFileEvent event) {
+    if (event instanceof VFileMoveEvent move) {
+      removePath(move.getOldPath());
+      addPath(move.getNewPath());
+    }
+    else if (event instanceof VFilePropertyChangeEvent change) {
+      if (change.isRename()) {
+        removePath(change.getOldPath());
+        addPath(change.getNewPath());
+      }
+    }
+    else if (event instanceof VFileDeleteEvent) {
+      removePath(event.getPath());
+    }
+    else if (event instanceof VFileCopyEvent copy) {
+      addPath(copy.getNewParent().getPath() + "/" + copy.getNewChildName());
+    }
+    else if (event instanceof VFileCreateEvent) {
+      addPath(event.getPath());
+    }
+  }
+
+  private void addPath(@NotNull String path) {
+    final PackageFonts fonts = findPackage(path);
+    if (fonts == null) return;
+
+    final VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+    if (file == null) return;
+    // Crawl new directories without holding the lock.
+    final PackageFonts added = new PackageFonts();
+    added.addAll(file);
+    synchronized (packages) {
+      added.byPath.values().forEach(fonts::add);
+    }
+  }
+
+  private void removePath(@NotNull String path) {
+    final PackageFonts fonts = findPackage(path);
+    if (fonts == null) return;
+
+    synchronized (packages) {
+      fonts.removeAll(path);
+    }
+  }
+
+  @Nullable
+  private PackageFonts findPackage(@NotNull String path) {
+    synchronized (packages) {
+      for (Map.Entry<String, PackageFonts> entry : packages.entrySet()) {
+        if (FileUtil.isAncestor(entry.getKey(), path, false)) {
+          return entry.getValue();
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Strips case and punctuation, so that e.g. the family "MaterialDesignIcons" finds "material_design_icons.ttf".
+   */
+  @NotNull
+  private static String normalize(@NotNull String name) {
+    final StringBuilder builder = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      final char ch = name.charAt(i);
+      if (Character.isLetterOrDigit(ch)) {
+        builder.append(Character.toLowerCase(ch));
+      }
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public void dispose() {
+    synchronized (packages) {
+      packages.clear();
+    }
+  }
+
+  private static class PackageFonts {
+    final Map<String, VirtualFile> byPath = new LinkedHashMap<>();
+    final Map<String, VirtualFile> byName = new HashMap<>();
+
+    /**
+     * Adds {@param root} if it is a font, or else all the fonts below it.
+     */
+    void addAll(@NotNull VirtualFile root) {
+      VfsUtilCore.visitChildrenRecursively(root, new VirtualFileVisitor<Void>() {
+        @Override
+        public boolean visitFile(@NotNull VirtualFile file) {
+          if (FONT_EXTENSION.equals(file.getExtension())) {
+            add(file);
+            return false;
+          }
+          return super.visitFile(file);
+        }
+      });
+    }
+
+    void add(@NotNull VirtualFile font) {
+      byPath.put(font.getPath(), font);
+      byName.putIfAbsent(normalize(font.getNameWithoutExtension()), font);
+    }
+
+    /**
+     * Removes the font at {@param path}, or all the fonts below it.
+     */
+    void removeAll(@NotNull String path) {
+      if (byPath.keySet().removeIf((fontPath) -> FileUtil.isAncestor(path, fontPath, false))) {
+        byName.clear();
+        for (VirtualFile file : byPath.values()) {
+          byName.putIfAbsent(normalize(file.getNameWithoutExtension()), file);
+        }
+      }
+    }
+  }
+}
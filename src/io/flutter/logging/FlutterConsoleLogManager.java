@@ -7,6 +7,7 @@
 package io.flutter.logging;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -27,7 +28,7 @@ import com.intellij.openapi.wm.ToolWindow;
 import com.intellij.openapi.wm.ToolWindowManager;
 import com.intellij.openapi.wm.ex.ToolWindowManagerEx;
 import com.intellij.ui.SimpleTextAttributes;
-import com.intellij.util.concurrency.QueueProcessor;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import io.flutter.FlutterUtils;
 import io.flutter.devtools.DevToolsUtils;
 import io.flutter.jxbrowser.JxBrowserManager;
@@ -45,11 +46,13 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Handle displaying dart:developer log messages and Flutter.Error messages in the Run and Debug
@@ -68,8 +71,25 @@ public class FlutterConsoleLogManager {
     new ConsoleViewContentType("subtle", SimpleTextAttributes.GRAY_ATTRIBUTES.toTextAttributes());
   private static final ConsoleViewContentType ERROR_CONTENT_TYPE = ConsoleViewContentType.ERROR_OUTPUT;
 
-  private static QueueProcessor<Runnable> queue;
-  private static final AtomicInteger queueLength = new AtomicInteger();
+  private static final Gson PRETTY_GSON = new GsonBuilder().setPrettyPrinting().create();
+
+  /**
+   * How long to wait for the VM to return the full value of a truncated string, or the result of toString().
+   */
+  private static final long FETCH_TIMEOUT_MS = 1000;
+
+  /**
+   * An error that renders exactly like the previous one within this many milliseconds is not printed again.
+   */
+  private static final long DUPLICATE_ERROR_WINDOW_MS = 5000;
+
+  /**
+   * How long after an error is suppressed to print the number of suppressed errors, if no other error is shown first.
+   */
+  private static final long SUPPRESSED_ERROR_FLUSH_MS = 1000;
+
+  private static final CompletableFuture<Runnable> NOTHING_TO_PRINT = CompletableFuture.completedFuture(() -> {
+  });
 
   /**
    * Set our preferred settings for the run console.
@@ -90,6 +110,30 @@ public class FlutterConsoleLogManager {
 
   private int frameErrorCount = 0;
 
+  /**
+   * Console output for this app is printed in the order the events arrived, on this executor.
+   */
+  @NotNull private final Executor printExecutor = AppExecutorUtil.getAppExecutorService();
+
+  /**
+   * Completes when everything queued so far has been printed. Guarded by {@link #queueLength}.
+   */
+  @NotNull private CompletableFuture<Void> printTail = CompletableFuture.completedFuture(null);
+
+  private final AtomicInteger queueLength = new AtomicInteger();
+
+  // The following are only used from the print chain, which never runs concurrently with itself.
+  @NotNull private final StyledConsoleBuffer errorBuffer = new StyledConsoleBuffer();
+  @Nullable private String lastErrorText;
+  private long lastErrorPrintedAt;
+  private int suppressedErrorCount = 0;
+  private boolean suppressedErrorFlushScheduled = false;
+  private volatile int totalSuppressedErrorCount = 0;
+
+  private final AtomicLong printedEventCount = new AtomicLong();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
   public FlutterConsoleLogManager(@NotNull ConsoleView console, @NotNull FlutterApp app) {
     this.console = console;
     this.app = app;
@@ -115,10 +159,6 @@ public class FlutterConsoleLogManager {
         frameErrorCount = 0;
       }
     });
-
-    if (queue == null) {
-      queue = QueueProcessor.createRunnableQueueProcessor();
-    }
   }
 
   public void handleFlutterErrorEvent(@NotNull Event event) {
@@ -128,47 +168,72 @@ public class FlutterConsoleLogManager {
       final DiagnosticsNode diagnosticsNode = new DiagnosticsNode(jsonObject, app, false, null);
 
       if (FlutterSettings.getInstance().isShowStructuredErrors()) {
-        queueLength.incrementAndGet();
+        enqueue(CompletableFuture.completedFuture(() -> processFlutterErrorEvent(diagnosticsNode)));
+      }
+    }
+    catch (Throwable t) {
+      LOG.warn(t);
+    }
+  }
 
-        queue.add(() -> {
+  /**
+   * Queues console output that becomes available when {@param printer} completes.
+   * <p>
+   * The work needed to produce the output (such as fetching truncated strings from the VM) starts right away
+   * and runs concurrently with other events, but the output itself is printed in the order events were queued.
+   */
+  private void enqueue(@NotNull CompletableFuture<Runnable> printer) {
+    final long queuedAt = System.nanoTime();
+    synchronized (queueLength) {
+      queueLength.incrementAndGet();
+      printTail = printTail
+        .thenCombine(printer.exceptionally(t -> {
+          LOG.warn(t);
+          return null;
+        }), (ignored, print) -> print)
+        .thenAcceptAsync(print -> {
           try {
-            processFlutterErrorEvent(diagnosticsNode);
+            if (print != null) {
+              print.run();
+            }
           }
           catch (Throwable t) {
             LOG.warn(t);
           }
           finally {
+            recordLatency(System.nanoTime() - queuedAt);
             queueLength.decrementAndGet();
-
-            synchronized (queueLength) {
-              queueLength.notifyAll();
-            }
           }
-        });
-      }
-    }
-    catch (Throwable t) {
-      LOG.warn(t);
+        }, printExecutor);
     }
   }
 
+  private void recordLatency(long latencyNanos) {
+    printedEventCount.incrementAndGet();
+    totalLatencyNanos.addAndGet(latencyNanos);
+    maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+  }
+
   /**
-   * Wait until all pending work has completed.
+   * The number of events waiting to be printed to the console.
    */
-  public void flushFlutterErrorQueue() {
-    // If the queue isn't empty, then wait until the all the items have been processed.
-    if (queueLength.get() > 0) {
-      try {
-        while (queueLength.get() > 0) {
-          synchronized (queueLength) {
-            queueLength.wait();
-          }
-        }
-      }
-      catch (InterruptedException e) {
-        LOG.error(e);
-      }
-    }
+  public int getQueueDepth() {
+    return queueLength.get();
+  }
+
+  /**
+   * The average time, in milliseconds, between an event arriving and it being printed to the console.
+   */
+  public double getAverageLatencyMillis() {
+    final long count = printedEventCount.get();
+    return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.get()) / 1000.0 / count;
+  }
+
+  /**
+   * The longest time, in milliseconds, between an event arriving and it being printed to the console.
+   */
+  public long getMaxLatencyMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
   }
 
   private static final int errorSeparatorLength = 100;
@@ -178,8 +243,66 @@ public class FlutterConsoleLogManager {
 
   /**
    * Pretty print the error using the available console syling attributes.
+   * <p>
+   * The error is rendered into {@link #errorBuffer} and printed in one go. An error that renders exactly like
+   * the previous one, within {@link #DUPLICATE_ERROR_WINDOW_MS} of it, is not printed again; instead, the
+   * number of suppressed duplicates is printed before the next error that is shown, or after
+   * {@link #SUPPRESSED_ERROR_FLUSH_MS} if no error is shown by then.
    */
   private void processFlutterErrorEvent(@NotNull DiagnosticsNode diagnosticsNode) {
+    final List<Runnable> deepLinkNotifications = new ArrayList<>();
+    renderFlutterError(errorBuffer, diagnosticsNode, deepLinkNotifications);
+
+    final long now = System.currentTimeMillis();
+    if (lastErrorText != null && now - lastErrorPrintedAt < DUPLICATE_ERROR_WINDOW_MS && errorBuffer.contentEquals(lastErrorText)) {
+      suppressedErrorCount++;
+      totalSuppressedErrorCount++;
+      errorBuffer.clear();
+      scheduleSuppressedErrorFlush();
+      return;
+    }
+
+    printSuppressedErrorCount();
+    lastErrorText = errorBuffer.getText();
+    lastErrorPrintedAt = now;
+    errorBuffer.flushTo(console);
+    deepLinkNotifications.forEach(Runnable::run);
+  }
+
+  /**
+   * Prints the number of suppressed errors shortly, so that it is shown even if the errors stop with a duplicate.
+   */
+  private void scheduleSuppressedErrorFlush() {
+    if (suppressedErrorFlushScheduled) return;
+    suppressedErrorFlushScheduled = true;
+
+    AppExecutorUtil.getAppScheduledExecutorService().schedule(
+      () -> enqueue(CompletableFuture.completedFuture(() -> {
+        suppressedErrorFlushScheduled = false;
+        printSuppressedErrorCount();
+      })),
+      SUPPRESSED_ERROR_FLUSH_MS, TimeUnit.MILLISECONDS);
+  }
+
+  private void printSuppressedErrorCount() {
+    if (suppressedErrorCount > 0) {
+      console.print(
+        "(" + suppressedErrorCount + " identical " + StringUtil.pluralize("error", suppressedErrorCount) + " suppressed)\n",
+        SUBTLE_CONTENT_TYPE);
+      suppressedErrorCount = 0;
+    }
+  }
+
+  /**
+   * Returns the number of repeated errors that were not printed.
+   */
+  public int getSuppressedErrorCount() {
+    return totalSuppressedErrorCount;
+  }
+
+  private void renderFlutterError(@NotNull StyledConsoleBuffer out,
+                                  @NotNull DiagnosticsNode diagnosticsNode,
+                                  @NotNull List<Runnable> deepLinkNotifications) {
     final String description = " " + diagnosticsNode + " ";
 
     final boolean terseError = !isFirstErrorForFrame() && !FlutterSettings.getInstance().isIncludeAllStackTraces();
@@ -189,19 +312,19 @@ public class FlutterConsoleLogManager {
     final String prefix = "========";
     final String suffix = "==";
 
-    console.print("\n" + prefix, TITLE_CONTENT_TYPE);
-    console.print(description, NORMAL_CONTENT_TYPE);
-    console.print(
+    out.append("\n" + prefix, TITLE_CONTENT_TYPE);
+    out.append(description, NORMAL_CONTENT_TYPE);
+    out.append(
       StringUtil.repeat(errorSeparatorChar, Math.max(
         errorSeparatorLength - prefix.length() - description.length() - suffix.length(), 0)),
       TITLE_CONTENT_TYPE);
-    console.print(suffix + "\n", TITLE_CONTENT_TYPE);
+    out.append(suffix + "\n", TITLE_CONTENT_TYPE);
 
     // TODO(devoncarew): Create a hyperlink to a widget - ala 'widget://inspector-1347'.
 
     if (terseError) {
       for (DiagnosticsNode property : diagnosticsNode.getInlineProperties()) {
-        printTerseNodeProperty(console, "", property);
+        printTerseNodeProperty(out, "", property);
       }
     }
     else {
@@ -212,7 +335,7 @@ public class FlutterConsoleLogManager {
         // Add blank line between hint and non-hint properties.
         if (lastLevel != property.getLevel()) {
           if (lastLevel == DiagnosticLevel.hint || property.getLevel() == DiagnosticLevel.hint) {
-            console.print("\n", NORMAL_CONTENT_TYPE);
+            out.append("\n", NORMAL_CONTENT_TYPE);
           }
         }
 
@@ -223,22 +346,23 @@ public class FlutterConsoleLogManager {
         }
         else if (StringUtil.equals("DevToolsDeepLinkProperty", property.getType()) &&
                  FlutterUtils.embeddedBrowserAvailable(JxBrowserManager.getInstance().getStatus())) {
-          showDeepLinkNotification(property, errorSummary);
+          final String summary = errorSummary;
+          deepLinkNotifications.add(() -> showDeepLinkNotification(property, summary));
           continue;
         }
 
-        printDiagnosticsNodeProperty(console, "", property, null, false);
+        printDiagnosticsNodeProperty(out, "", property, null, false);
       }
     }
 
-    console.print(StringUtil.repeat(errorSeparatorChar, errorSeparatorLength) + "\n", TITLE_CONTENT_TYPE);
+    out.append(StringUtil.repeat(errorSeparatorChar, errorSeparatorLength) + "\n", TITLE_CONTENT_TYPE);
   }
 
   private boolean isFirstErrorForFrame() {
     return frameErrorCount == 0;
   }
 
-  private void printTerseNodeProperty(ConsoleView console, String indent, DiagnosticsNode property) {
+  private void printTerseNodeProperty(StyledConsoleBuffer out, String indent, DiagnosticsNode property) {
     boolean skip = true;
 
     if (property.getLevel() == DiagnosticLevel.summary) {
@@ -258,24 +382,24 @@ public class FlutterConsoleLogManager {
 
     final ConsoleViewContentType contentType = getContentTypeFor(property.getLevel());
 
-    console.print(indent, contentType);
+    out.append(indent, contentType);
 
     if (property.getShowName()) {
-      console.print(property.getName(), contentType);
+      out.append(property.getName(), contentType);
 
       if (property.getShowSeparator()) {
-        console.print(property.getSeparator() + " ", contentType);
+        out.append(property.getSeparator() + " ", contentType);
       }
     }
 
     final String description = property.getDescription() == null ? "" : property.getDescription();
-    console.print(description + "\n", contentType);
+    out.append(description + "\n", contentType);
 
     final String childIndent = getChildIndent(indent, property);
 
     if (property.hasInlineProperties()) {
       for (DiagnosticsNode childProperty : property.getInlineProperties()) {
-        printDiagnosticsNodeProperty(console, childIndent, childProperty, contentType, false);
+        printDiagnosticsNodeProperty(out, childIndent, childProperty, contentType, false);
       }
     }
 
@@ -284,12 +408,12 @@ public class FlutterConsoleLogManager {
       final ArrayList<DiagnosticsNode> children = future.getNow(emptyList);
 
       for (DiagnosticsNode child : children) {
-        printDiagnosticsNodeProperty(console, childIndent, child, contentType, false);
+        printDiagnosticsNodeProperty(out, childIndent, child, contentType, false);
       }
     }
   }
 
-  private void printDiagnosticsNodeProperty(ConsoleView console, String indent, DiagnosticsNode property,
+  private void printDiagnosticsNodeProperty(StyledConsoleBuffer out, String indent, DiagnosticsNode property,
                                             ConsoleViewContentType contentType,
                                             boolean isInChild) {
     // TODO(devoncarew): Change the error message display in the framework.
@@ -304,19 +428,19 @@ public class FlutterConsoleLogManager {
       contentType = getContentTypeFor(property.getLevel());
     }
 
-    console.print(indent, contentType);
+    out.append(indent, contentType);
 
     if (property.getShowName()) {
       final String name = property.getName();
-      console.print(name == null ? "" : name, contentType);
+      out.append(name == null ? "" : name, contentType);
 
       if (property.getShowSeparator()) {
-        console.print(property.getSeparator() + " ", contentType);
+        out.append(property.getSeparator() + " ", contentType);
       }
     }
 
     final String description = property.getDescription() == null ? "" : property.getDescription();
-    console.print(description + "\n", contentType);
+    out.append(description + "\n", contentType);
 
     if (property.hasInlineProperties()) {
       String childIndent = getChildIndent(indent, property);
@@ -325,7 +449,7 @@ public class FlutterConsoleLogManager {
         childIndent = "...  " + indent;
       }
       for (DiagnosticsNode childProperty : property.getInlineProperties()) {
-        printDiagnosticsNodeProperty(console, childIndent, childProperty, contentType, isInChild);
+        printDiagnosticsNodeProperty(out, childIndent, childProperty, contentType, isInChild);
       }
     }
 
@@ -337,7 +461,7 @@ public class FlutterConsoleLogManager {
       if (!isInChild && children.stream().noneMatch(DiagnosticsNode::hasChildren)) {
         final String childIndent = getChildIndent(indent, property);
         for (DiagnosticsNode child : children) {
-          printDiagnosticsNodeProperty(console, childIndent, child, contentType, false);
+          printDiagnosticsNodeProperty(out, childIndent, child, contentType, false);
         }
       }
       else {
@@ -346,7 +470,7 @@ public class FlutterConsoleLogManager {
           final String childIndent = isInChild ? getChildIndent(indent, property) : "...  " + indent;
 
           for (DiagnosticsNode child : children) {
-            printDiagnosticsNodeProperty(console, childIndent, child, contentType, true);
+            printDiagnosticsNodeProperty(out, childIndent, child, contentType, true);
           }
         }
       }
@@ -354,7 +478,7 @@ public class FlutterConsoleLogManager {
 
     // Print an extra line after the summary.
     if (property.getLevel() == DiagnosticLevel.summary) {
-      console.print("\n", contentType);
+      out.append("\n", contentType);
     }
   }
 
@@ -406,14 +530,12 @@ public class FlutterConsoleLogManager {
   }
 
   public void handleLoggingEvent(@NotNull Event event) {
-    queue.add(() -> {
-      try {
-        processLoggingEvent(event);
-      }
-      catch (Throwable t) {
-        LOG.warn(t);
-      }
-    });
+    try {
+      enqueue(processLoggingEvent(event));
+    }
+    catch (Throwable t) {
+      LOG.warn(t);
+    }
   }
 
   private ConsoleViewContentType getContentTypeFor(DiagnosticLevel level) {
@@ -424,14 +546,20 @@ public class FlutterConsoleLogManager {
     };
   }
 
+  /**
+   * Starts fetching everything needed to print the given logging event.
+   * <p>
+   * Returns a future that completes with the code that prints the event.
+   */
   @VisibleForTesting
-  public void processLoggingEvent(@NotNull Event event) {
+  @NotNull
+  public CompletableFuture<Runnable> processLoggingEvent(@NotNull Event event) {
     final LogRecord logRecord = event.getLogRecord();
-    if (logRecord == null) return;
+    if (logRecord == null) return NOTHING_TO_PRINT;
 
     final VmService service = app.getVmService();
     if (service == null) {
-      return;
+      return NOTHING_TO_PRINT;
     }
 
     final IsolateRef isolateRef = event.getIsolate();
@@ -441,19 +569,40 @@ public class FlutterConsoleLogManager {
 
     final String name = loggerName.getValueAsString().isEmpty() ? "log" : loggerName.getValueAsString();
     final String prefix = "[" + name + "] ";
-    final String messageStr = getFullStringValue(service, isolateRef.getId(), message);
+    final String padding = StringUtil.repeat(" ", prefix.length());
 
-    console.print(prefix, SUBTLE_CONTENT_TYPE);
-    console.print(messageStr + "\n", NORMAL_CONTENT_TYPE);
+    final CompletableFuture<String> messageFuture = getFullStringValue(service, isolateRef.getId(), message);
+    final CompletableFuture<Runnable> errorFuture = getErrorPrinter(service, isolateRef.getId(), logRecord.getError(), padding);
 
-    @NotNull final InstanceRef error = logRecord.getError();
     @NotNull final InstanceRef stackTrace = logRecord.getStackTrace();
 
-    if (!error.isNull()) {
-      final String padding = StringUtil.repeat(" ", prefix.length());
+    return messageFuture.thenCombine(errorFuture, (messageStr, printError) -> () -> {
+      console.print(prefix, SUBTLE_CONTENT_TYPE);
+      console.print(messageStr + "\n", NORMAL_CONTENT_TYPE);
 
-      if (error.getKind() == InstanceKind.String) {
-        String string = getFullStringValue(service, isolateRef.getId(), error);
+      printError.run();
+
+      if (!stackTrace.isNull()) {
+        final String out = stackTrace.getValueAsString() == null ? "" : stackTrace.getValueAsString().trim();
+
+        console.print(
+          padding + out.replaceAll("\n", "\n" + padding) + "\n", ERROR_CONTENT_TYPE);
+      }
+    });
+  }
+
+  @NotNull
+  private CompletableFuture<Runnable> getErrorPrinter(@NotNull VmService service,
+                                                      @Nullable String isolateId,
+                                                      @NotNull InstanceRef error,
+                                                      @NotNull String padding) {
+    if (error.isNull()) {
+      return NOTHING_TO_PRINT;
+    }
+
+    if (error.getKind() == InstanceKind.String) {
+      return getFullStringValue(service, isolateId, error).thenApply(value -> {
+        String string = value;
 
         // Handle json in the error payload.
         boolean isJson = false;
@@ -461,50 +610,39 @@ public class FlutterConsoleLogManager {
           final JsonElement json = JsonUtils.parseString(string);
           isJson = true;
 
-          string = new GsonBuilder().setPrettyPrinting().create().toJson(json);
+          string = PRETTY_GSON.toJson(json);
           string = string.replaceAll("\n", "\n" + padding);
         }
         catch (JsonSyntaxException ignored) {
         }
 
-        console.print(padding + string + "\n", isJson ? ConsoleViewContentType.NORMAL_OUTPUT : ERROR_CONTENT_TYPE);
-      }
-      else {
-        final CountDownLatch latch = new CountDownLatch(1);
-
-        service.invoke(
-          isolateRef.getId(), error.getId(),
-          "toString", Collections.emptyList(),
-          true,
-          new VmServiceConsumers.InvokeConsumerWrapper() {
-            @Override
-            public void received(InstanceRef response) {
-              console.print(padding + stringValueFromStringRef(response) + "\n", ERROR_CONTENT_TYPE);
-              latch.countDown();
-            }
-
-            @Override
-            public void noGoodResult() {
-              console.print(padding + error.getClassRef().getName() + " " + error.getId() + "\n", ERROR_CONTENT_TYPE);
-              latch.countDown();
-            }
-          });
+        final String text = padding + string + "\n";
+        final ConsoleViewContentType contentType = isJson ? ConsoleViewContentType.NORMAL_OUTPUT : ERROR_CONTENT_TYPE;
+        return () -> console.print(text, contentType);
+      });
+    }
 
-        try {
-          latch.await();
+    final String fallback = padding + error.getClassRef().getName() + " " + error.getId() + "\n";
+    final CompletableFuture<String> result = new CompletableFuture<>();
+    service.invoke(
+      isolateId, error.getId(),
+      "toString", Collections.emptyList(),
+      true,
+      new VmServiceConsumers.InvokeConsumerWrapper() {
+        @Override
+        public void received(InstanceRef response) {
+          result.complete(padding + stringValueFromStringRef(response) + "\n");
         }
-        catch (InterruptedException ignored) {
-        }
-      }
-    }
 
-    if (!stackTrace.isNull()) {
-      final String padding = StringUtil.repeat(" ", prefix.length());
-      final String out = stackTrace.getValueAsString() == null ? "" : stackTrace.getValueAsString().trim();
+        @Override
+        public void noGoodResult() {
+          result.complete(fallback);
+        }
+      });
 
-      console.print(
-        padding + out.replaceAll("\n", "\n" + padding) + "\n", ERROR_CONTENT_TYPE);
-    }
+    return result
+      .completeOnTimeout(fallback, FETCH_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+      .thenApply(text -> () -> console.print(text, ERROR_CONTENT_TYPE));
   }
 
   private String stringValueFromStringRef(InstanceRef ref) {
@@ -519,51 +657,38 @@ public class FlutterConsoleLogManager {
     return ref.getValueAsString() + "...";
   }
 
-  private @Nullable String getFullStringValue(@NotNull VmService service, @Nullable String isolateId, @Nullable InstanceRef ref) {
-    if (ref == null || isolateId == null) return null;
+  @NotNull
+  private CompletableFuture<String> getFullStringValue(@NotNull VmService service, @Nullable String isolateId, @Nullable InstanceRef ref) {
+    if (ref == null || isolateId == null) return CompletableFuture.completedFuture(null);
 
     if (!ref.getValueAsStringIsTruncated()) {
-      return ref.getValueAsString();
+      return CompletableFuture.completedFuture(ref.getValueAsString());
     }
 
-    final CountDownLatch latch = new CountDownLatch(1);
-    final String[] result = new String[1];
+    final CompletableFuture<String> result = new CompletableFuture<>();
 
     service.getObject(isolateId, ref.getId(), 0, ref.getLength(), new GetObjectConsumer() {
       @Override
       public void onError(RPCError error) {
-        result[0] = formatTruncatedString(ref);
-        latch.countDown();
+        result.complete(formatTruncatedString(ref));
       }
 
       @Override
       public void received(Obj response) {
         if (response instanceof Instance && ((Instance)response).getKind() == InstanceKind.String) {
-          result[0] = stringValueFromStringRef((Instance)response);
+          result.complete(stringValueFromStringRef((Instance)response));
         }
         else {
-          result[0] = formatTruncatedString(ref);
+          result.complete(formatTruncatedString(ref));
         }
-
-        latch.countDown();
       }
 
       @Override
       public void received(Sentinel response) {
-        result[0] = formatTruncatedString(ref);
-        latch.countDown();
+        result.complete(formatTruncatedString(ref));
       }
     });
 
-    try {
-      // The return can be safely ignored. An unset result will just return 0.
-      //noinspection ResultOfMethodCallIgnored
-      latch.await(1, TimeUnit.SECONDS);
-    }
-    catch (InterruptedException e) {
-      // Fall through to returning an empty result.
-    }
-
-    return result[0];
+    return result.completeOnTimeout(formatTruncatedString(ref), FETCH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
   }
 }
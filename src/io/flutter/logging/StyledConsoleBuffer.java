@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.logging;
+
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Collects console output as text plus content type ranges, so that it can be printed all at once.
+ * <p>
+ * Adjacent appends with the same content type are merged into a single range, so a structured error that is
+ * rendered with hundreds of small appends is printed with a handful of {@link ConsoleView#print} calls.
+ * The buffer is meant to be reused: {@link #flushTo} clears it.
+ */
+class StyledConsoleBuffer {
+  private final StringBuilder text = new StringBuilder();
+
+  /**
+   * The end offset (exclusive) of each range in {@link #text}.
+   */
+  private int[] rangeEnds = new int[16];
+  private ConsoleViewContentType[] rangeTypes = new ConsoleViewContentType[16];
+  private int rangeCount = 0;
+
+  void append(@NotNull String value, @NotNull ConsoleViewContentType contentType) {
+    if (value.isEmpty()) {
+      return;
+    }
+
+    text.append(value);
+    if (rangeCount > 0 && rangeTypes[rangeCount - 1] == contentType) {
+      rangeEnds[rangeCount - 1] = text.length();
+      return;
+    }
+
+    if (rangeCount == rangeEnds.length) {
+      rangeEnds = Arrays.copyOf(rangeEnds, rangeCount * 2);
+      rangeTypes = Arrays.copyOf(rangeTypes, rangeCount * 2);
+    }
+    rangeEnds[rangeCount] = text.length();
+    rangeTypes[rangeCount] = contentType;
+    rangeCount++;
+  }
+
+  boolean isEmpty() {
+    return text.length() == 0;
+  }
+
+  /**
+   * The number of content type ranges in the buffer; each one is printed with a single call.
+   */
+  int getRangeCount() {
+    return rangeCount;
+  }
+
+  /**
+   * Returns true if the buffer holds exactly the given text, ignoring content types.
+   */
+  boolean contentEquals(@NotNull CharSequence other) {
+    return CharSequence.compare(text, other) == 0;
+  }
+
+  @NotNull
+  String getText() {
+    return text.toString();
+  }
+
+  /**
+   * Prints the buffer to {@param console} and clears it.
+   */
+  void flushTo(@NotNull ConsoleView console) {
+    int start = 0;
+    for (int i = 0; i < rangeCount; i++) {
+      console.print(text.substring(start, rangeEnds[i]), rangeTypes[i]);
+      start = rangeEnds[i];
+    }
+    clear();
+  }
+
+  void clear() {
+    text.setLength(0);
+    Arrays.fill(rangeTypes, 0, rangeCount, null);
+    rangeCount = 0;
+  }
+}
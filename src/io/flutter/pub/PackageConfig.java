@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.pub;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import io.flutter.utils.JsonUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+
+/**
+ * The parsed contents of a <code>.dart_tool/package_config.json</code> file.
+ * <p>
+ * Instances are immutable; see {@link PackageConfigIndex} for a cache of them.
+ * <p>
+ * See <a href="https://github.com/dart-lang/language/blob/main/accepted/2.8/language-versioning/package-config-file-v2.md">the
+ * package configuration file format</a>.
+ */
+public class PackageConfig {
+  /**
+   * A package entry.
+   *
+   * @param rootUri  the <code>rootUri</code> as written in the file
+   * @param rootPath the path of the package's root directory, or null if the root isn't a file URI
+   * @param libPath  the path of the package's <code>lib</code> directory, or null if the root isn't a file URI
+   */
+  public record Package(@NotNull String name, @NotNull String rootUri, @Nullable String rootPath, @Nullable String libPath) {
+  }
+
+  @NotNull private final Map<String, Package> packages;
+  @NotNull private final Map<String, String> libPaths;
+
+  private PackageConfig(@NotNull Map<String, Package> packages) {
+    this.packages = Collections.unmodifiableMap(packages);
+
+    final Map<String, String> libPaths = new LinkedHashMap<>();
+    for (Package pkg : packages.values()) {
+      if (pkg.libPath() != null) {
+        libPaths.put(pkg.name(), pkg.libPath());
+      }
+    }
+    this.libPaths = Collections.unmodifiableMap(libPaths);
+  }
+
+  /**
+   * Parses a package config file.
+   *
+   * @param contents      the contents of the file
+   * @param configDirPath the path of the directory that contains the file, which relative root URIs are resolved against
+   * @return null if the contents are not a version 2 package config
+   */
+  @Nullable
+  public static PackageConfig parse(@NotNull String contents, @NotNull String configDirPath) {
+    final JsonObject json;
+    try {
+      final JsonElement element = JsonUtils.parseString(contents);
+      if (element == null || !element.isJsonObject()) {
+        return null;
+      }
+      json = element.getAsJsonObject();
+      if (JsonUtils.getIntMember(json, "configVersion") < 2) {
+        return null;
+      }
+    }
+    catch (JsonParseException | IllegalStateException | NumberFormatException e) {
+      return null;
+    }
+
+    final URI configDir = toDirectoryUri(configDirPath);
+    final Map<String, Package> packages = new LinkedHashMap<>();
+    final JsonElement packagesElement = json.get("packages");
+    if (packagesElement != null && packagesElement.isJsonArray()) {
+      for (JsonElement element : packagesElement.getAsJsonArray()) {
+        if (!element.isJsonObject()) continue;
+        final JsonObject pack = element.getAsJsonObject();
+        final String name = JsonUtils.getStringMember(pack, "name");
+        final String rootUri = JsonUtils.getStringMember(pack, "rootUri");
+        if (name == null || rootUri == null) continue;
+
+        String rootPath = null;
+        String libPath = null;
+        final URI root = resolve(configDir, rootUri.endsWith("/") ? rootUri : rootUri + "/");
+        if (root != null && "file".equals(root.getScheme())) {
+          rootPath = toPath(root);
+          final String packageUri = JsonUtils.getStringMember(pack, "packageUri");
+          final URI lib = packageUri == null ? root : resolve(root, packageUri);
+          if (lib != null) {
+            libPath = toPath(lib);
+          }
+        }
+        packages.put(name, new Package(name, rootUri, rootPath, libPath));
+      }
+    }
+    return new PackageConfig(packages);
+  }
+
+  @Nullable
+  public Package getPackage(@NotNull String name) {
+    return packages.get(name);
+  }
+
+  @NotNull
+  public Collection<Package> getPackages() {
+    return packages.values();
+  }
+
+  /**
+   * Returns the path of the root directory of the named package, or null if it isn't known.
+   */
+  @Nullable
+  public String getRootPath(@NotNull String name) {
+    final Package pkg = packages.get(name);
+    return pkg == null ? null : pkg.rootPath();
+  }
+
+  /**
+   * Returns an immutable map from package name to the path of its <code>lib</code> directory.
+   */
+  @NotNull
+  public Map<String, String> getLibPaths() {
+    return libPaths;
+  }
+
+  @Nullable
+  private static URI toDirectoryUri(@NotNull String path) {
+    String uriPath = path.endsWith("/") ? path : path + "/";
+    if (!uriPath.startsWith("/")) {
+      // Windows paths, like "C:/src/app".
+      uriPath = "/" + uriPath;
+    }
+    try {
+      return new URI("file", null, uriPath, null);
+    }
+    catch (URISyntaxException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  private static URI resolve(@Nullable URI base, @NotNull String uri) {
+    try {
+      final URI parsed = new URI(uri);
+      if (parsed.isAbsolute() || base == null) {
+        return parsed;
+      }
+      return base.resolve(parsed);
+    }
+    catch (URISyntaxException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the path of a file URI, without the slash that precedes a Windows drive letter ("/C:/src" becomes "C:/src").
+   */
+  @NotNull
+  private static String toPath(@NotNull URI uri) {
+    String path = uri.getPath();
+    if (path.length() >= 3 && path.charAt(0) == '/' && Character.isLetter(path.charAt(1)) && path.charAt(2) == ':') {
+      path = path.substring(1);
+    }
+    return trimTrailingSlash(path);
+  }
+
+  @NotNull
+  private static String trimTrailingSlash(@NotNull String path) {
+    return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+  }
+}
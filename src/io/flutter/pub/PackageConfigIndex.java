@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.pub;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the parsed <code>package_config.json</code> of each pub root in the project.
+ * <p>
+ * A file is parsed again only when its modification stamp changes, so looking up a package is a map lookup.
+ */
+public class PackageConfigIndex {
+  private static final @NotNull Logger LOG = Logger.getInstance(PackageConfigIndex.class);
+
+  @NotNull
+  public static PackageConfigIndex getInstance(@NotNull Project project) {
+    return Objects.requireNonNull(project.getService(PackageConfigIndex.class));
+  }
+
+  /**
+   * Parsed configs keyed by the path of the config file.
+   */
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  /**
+   * Returns the package config for {@param pubRoot}, or null if it doesn't have a valid one.
+   */
+  @Nullable
+  public PackageConfig getPackageConfig(@NotNull PubRoot pubRoot) {
+    final VirtualFile configFile = pubRoot.getPackageConfigFile();
+    return configFile == null ? null : getPackageConfig(configFile);
+  }
+
+  @Nullable
+  public PackageConfig getPackageConfig(@NotNull VirtualFile configFile) {
+    final String path = configFile.getPath();
+    final long stamp = configFile.getModificationStamp();
+    synchronized (entries) {
+      final Entry entry = entries.get(path);
+      if (entry != null && entry.modificationStamp == stamp) {
+        return entry.config;
+      }
+    }
+
+    final VirtualFile configDir = configFile.getParent();
+    if (configDir == null) {
+      return null;
+    }
+    final PackageConfig config;
+    try {
+      final String contents = new String(configFile.contentsToByteArray(true /* cache contents */), StandardCharsets.UTF_8);
+      config = PackageConfig.parse(contents, configDir.getPath());
+    }
+    catch (IOException e) {
+      // Don't remember this; the next lookup will try again.
+      LOG.info("Unable to read " + path, e);
+      return null;
+    }
+
+    synchronized (entries) {
+      entries.put(path, new Entry(stamp, config));
+    }
+    return config;
+  }
+
+  private record Entry(long modificationStamp, @Nullable PackageConfig config) {
+  }
+}
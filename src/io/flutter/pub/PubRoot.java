@@ -315,10 +315,17 @@ public class PubRoot {
     return null;
   }
 
-  public @Nullable Map<String, String> getPackagesMap() {
+  /**
+   * Returns a map from package name to the path of the package's <code>lib</code> directory.
+   * <p>
+   * The map comes from the project's {@link PackageConfigIndex} if there is a <code>package_config.json</code> file,
+   * and from the obsolete <code>.packages</code> file otherwise.
+   */
+  public @Nullable Map<String, String> getPackagesMap(@NotNull Project project) {
     final var packageConfigFile = getPackageConfigFile();
     if (packageConfigFile != null) {
-      return DotPackagesFileUtil.getPackagesMapFromPackageConfigJsonFile(packageConfigFile);
+      final PackageConfig config = PackageConfigIndex.getInstance(project).getPackageConfig(packageConfigFile);
+      return config == null ? null : config.getLibPaths();
     }
 
     final var packagesFile = getPackagesFile();
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.pub;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.util.Map;
+
+/**
+ * The facts about a pubspec that the plugin needs to know.
+ *
+ * @param declaresFlutter       true if the package is <code>flutter</code> or depends on <code>flutter</code>
+ * @param isFlutterPlugin       true if the <code>flutter</code> section declares a <code>plugin</code>
+ * @param isResolutionWorkspace true if the pubspec declares <code>resolution: workspace</code>
+ */
+public record PubspecSummary(boolean declaresFlutter, boolean isFlutterPlugin, boolean isResolutionWorkspace) {
+  public static final PubspecSummary EMPTY = new PubspecSummary(false, false, false);
+
+  private static final int FLUTTER = 1;
+  private static final int PLUGIN = 2;
+  private static final int RESOLUTION_WORKSPACE = 4;
+
+  /**
+   * Summarizes the given pubspec contents.
+   * <p>
+   * Pubspecs in the usual block style are summarized by a line scanner that only looks at the top-level keys
+   * and the direct children of <code>dependencies</code> and <code>flutter</code>. Anything the scanner doesn't
+   * understand, such as flow style collections, anchors or multi-line names, is handed to a full YAML parser.
+   */
+  @NotNull
+  public static PubspecSummary parse(@NotNull String contents) {
+    final PubspecSummary summary = scan(contents);
+    return summary != null ? summary : parseYaml(contents);
+  }
+
+  int toFlags() {
+    return (declaresFlutter ? FLUTTER : 0) | (isFlutterPlugin ? PLUGIN : 0) | (isResolutionWorkspace ? RESOLUTION_WORKSPACE : 0);
+  }
+
+  @NotNull
+  static PubspecSummary fromFlags(int flags) {
+    return new PubspecSummary((flags & FLUTTER) != 0, (flags & PLUGIN) != 0, (flags & RESOLUTION_WORKSPACE) != 0);
+  }
+
+  private enum Section {
+    /**
+     * The value of a top-level key we need, which must be a single line scalar.
+     */
+    SCALAR,
+    DEPENDENCIES,
+    FLUTTER,
+    /**
+     * Any other top-level key, whose value is skipped.
+     */
+    OTHER
+  }
+
+  /**
+   * Summarizes a block style pubspec, or returns null if the contents need a full YAML parser.
+   */
+  @Nullable
+  static PubspecSummary scan(@NotNull String contents) {
+    boolean nameIsFlutter = false;
+    boolean dependsOnFlutter = false;
+    boolean plugin = false;
+    boolean workspace = false;
+
+    Section section = null;
+    int childIndent = -1;
+
+    int pos = contents.startsWith("\uFEFF") ? 1 : 0;
+    final int length = contents.length();
+    while (pos < length) {
+      int end = contents.indexOf('\n', pos);
+      if (end < 0) end = length;
+      final int lineEnd = end > pos && contents.charAt(end - 1) == '\r' ? end - 1 : end;
+      final String line = contents.substring(pos, lineEnd);
+      pos = end + 1;
+
+      int indent = 0;
+      while (indent < line.length() && line.charAt(indent) == ' ') {
+        indent++;
+      }
+      if (indent == line.length() || line.charAt(indent) == '#') {
+        // Blank lines and comments.
+        continue;
+      }
+      if (line.charAt(indent) == '\t') {
+        return null;
+      }
+
+      if (indent > 0) {
+        if (section == null || section == Section.SCALAR) {
+          // Indented content before any key, or a multi-line scalar.
+          return null;
+        }
+        if (section == Section.OTHER) {
+          continue;
+        }
+        if (childIndent < 0) {
+          childIndent = indent;
+        }
+        if (indent > childIndent) {
+          continue;
+        }
+        if (indent < childIndent || line.charAt(indent) == '-') {
+          return null;
+        }
+        final int colon = findKeyEnd(line, indent);
+        if (colon < 0) {
+          return null;
+        }
+        final String key = unquote(line.substring(indent, colon).trim());
+        if (key.equals("<<")) {
+          // A merge key can bring in the key we look for.
+          return null;
+        }
+        if (section == Section.DEPENDENCIES && key.equals("flutter")) {
+          dependsOnFlutter = true;
+        }
+        else if (section == Section.FLUTTER && key.equals("plugin")) {
+          plugin = true;
+        }
+        continue;
+      }
+
+      if (line.startsWith("---") && section == null && isBlankOrComment(line, 3)) {
+        continue;
+      }
+      if ("-?[]{}&*!%|>@`\"'".indexOf(line.charAt(0)) >= 0 || line.startsWith("...")) {
+        // Sequences, complex or quoted keys, directives and the like.
+        return null;
+      }
+
+      final int colon = findKeyEnd(line, 0);
+      if (colon < 0) {
+        return null;
+      }
+      final String key = line.substring(0, colon).trim();
+      childIndent = -1;
+      if (!isSummarizedKey(key)) {
+        if (key.equals("<<")) {
+          // A merge key can bring in any of the keys we look at.
+          return null;
+        }
+        // The value is skipped, whatever its style, along with the indented lines that continue it.
+        section = Section.OTHER;
+        continue;
+      }
+      final String value = readScalar(line, colon + 1);
+      if (value == null) {
+        return null;
+      }
+      switch (key) {
+        case "name", "resolution" -> {
+          if (value.isEmpty()) {
+            // The value is on the following lines.
+            return null;
+          }
+          section = Section.SCALAR;
+          if (key.equals("name")) {
+            nameIsFlutter = value.equals("flutter");
+          }
+          else {
+            workspace = value.equals("workspace");
+          }
+        }
+        case "dependencies" -> {
+          section = value.isEmpty() ? Section.DEPENDENCIES : Section.OTHER;
+          dependsOnFlutter = false;
+        }
+        case "flutter" -> {
+          section = value.isEmpty() ? Section.FLUTTER : Section.OTHER;
+          plugin = false;
+        }
+      }
+    }
+
+    return new PubspecSummary(nameIsFlutter || dependsOnFlutter, plugin, workspace);
+  }
+
+  /**
+   * Returns true for the top-level keys whose values go into the summary.
+   */
+  private static boolean isSummarizedKey(@NotNull String key) {
+    return key.equals("name") || key.equals("resolution") || key.equals("dependencies") || key.equals("flutter");
+  }
+
+  /**
+   * Returns the index of the colon that ends the key starting at {@param start}, or -1 if the line isn't a simple
+   * <code>key: value</code> entry.
+   */
+  private static int findKeyEnd(@NotNull String line, int start) {
+    final char first = line.charAt(start);
+    if (first == '"' || first == '\'') {
+      final int close = line.indexOf(first, start + 1);
+      if (close < 0 || close + 1 >= line.length() || line.charAt(close + 1) != ':' ||
+          line.substring(start + 1, close).indexOf('\\') >= 0) {
+        return -1;
+      }
+      return close + 1;
+    }
+
+    for (int i = start; i < line.length(); i++) {
+      final char ch = line.charAt(i);
+      if (ch == '#' && i > start && line.charAt(i - 1) == ' ') {
+        return -1;
+      }
+      if (ch == ':' && (i + 1 == line.length() || line.charAt(i + 1) == ' ')) {
+        return i > start ? i : -1;
+      }
+    }
+    return -1;
+  }
+
+  @NotNull
+  private static String unquote(@NotNull String key) {
+    if (key.length() >= 2 && (key.charAt(0) == '"' || key.charAt(0) == '\'')) {
+      return key.substring(1, key.length() - 1);
+    }
+    return key;
+  }
+
+  /**
+   * Returns the single line scalar that follows the key, "" if there is none, or null if it isn't a simple scalar.
+   */
+  @Nullable
+  private static String readScalar(@NotNull String line, int start) {
+    while (start < line.length() && line.charAt(start) == ' ') {
+      start++;
+    }
+    if (start == line.length() || line.charAt(start) == '#') {
+      return "";
+    }
+
+    final char first = line.charAt(start);
+    if (first == '"' || first == '\'') {
+      final int close = line.indexOf(first, start + 1);
+      if (close < 0 || !isBlankOrComment(line, close + 1)) {
+        return null;
+      }
+      final String value = line.substring(start + 1, close);
+      return value.indexOf('\\') >= 0 ? null : value;
+    }
+    if ("&*!|>{[".indexOf(first) >= 0) {
+      return null;
+    }
+
+    final int comment = line.indexOf(" #", start);
+    return line.substring(start, comment < 0 ? line.length() : comment).trim();
+  }
+
+  private static boolean isBlankOrComment(@NotNull String line, int start) {
+    for (int i = start; i < line.length(); i++) {
+      final char ch = line.charAt(i);
+      if (ch == '#') return i == start || line.charAt(i - 1) == ' ';
+      if (ch != ' ') return false;
+    }
+    return true;
+  }
+
+  @NotNull
+  static PubspecSummary parseYaml(@NotNull String contents) {
+    final Yaml yaml =
+      new Yaml(new SafeConstructor(new LoaderOptions()), new Representer(new DumperOptions()), new DumperOptions(), new Resolver() {
+        @Override
+        protected void addImplicitResolvers() {
+          this.addImplicitResolver(Tag.BOOL, BOOL, "yYnNtTfFoO");
+          this.addImplicitResolver(Tag.NULL, NULL, "~nN\u0000");
+          this.addImplicitResolver(Tag.NULL, EMPTY, null);
+          this.addImplicitResolver(new Tag("tag:yaml.org,2002:value"), VALUE, "=");
+          this.addImplicitResolver(Tag.MERGE, MERGE, "<");
+        }
+      });
+
+    final Object loaded;
+    try {
+      loaded = yaml.load(contents);
+    }
+    catch (Exception e) {
+      return EMPTY;
+    }
+    if (!(loaded instanceof Map<?, ?> yamlMap)) {
+      return EMPTY;
+    }
+
+    // Special case the 'flutter' package itself - this allows us to run their unit tests from IntelliJ.
+    boolean flutter = "flutter".equals(yamlMap.get("name"));
+
+    // It uses Flutter if it contains 'dependencies: flutter'.
+    final Object dependencies = yamlMap.get("dependencies");
+    if (dependencies instanceof Map) {
+      flutter |= ((Map<?, ?>)dependencies).containsKey("flutter");
+    }
+
+    // It's a plugin if it contains 'flutter: plugin'.
+    boolean plugin = false;
+    final Object flutterEntry = yamlMap.get("flutter");
+    if (flutterEntry instanceof Map) {
+      plugin = ((Map<?, ?>)flutterEntry).containsKey("plugin");
+    }
+
+    // Check for resolution configuration.
+    //  https://dart.dev/tools/pub/workspaces
+    final Object resolutionEntry = yamlMap.get("resolution");
+    final boolean workspace = "workspace".equals(resolutionEntry);
+
+    return new PubspecSummary(flutter, plugin, workspace);
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.pub;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches a {@link PubspecSummary} for each pubspec, so that the dependencies of a project don't have their pubspecs
+ * parsed again after every <code>pub get</code>, roots change or IDE restart.
+ * <p>
+ * Summaries are kept in memory by path and modification stamp, and on disk by a hash of the pubspec contents.
+ * The disk cache is read on first use and written when the IDE exits.
+ */
+public class PubspecSummaryCache implements Disposable {
+  private static final @NotNull Logger LOG = Logger.getInstance(PubspecSummaryCache.class);
+
+  /**
+   * Change this when the summary changes, to discard summaries computed by older versions.
+   */
+  private static final String FORMAT_VERSION = "pubspec-summaries-1";
+
+  /**
+   * The number of summaries to keep on disk; there is one for each version of each package that was seen.
+   */
+  private static final int MAX_PERSISTED_SUMMARIES = 10000;
+
+  @NotNull
+  public static PubspecSummaryCache getInstance() {
+    return Objects.requireNonNull(ApplicationManager.getApplication().getService(PubspecSummaryCache.class));
+  }
+
+  private final Map<String, Entry> byPath = new HashMap<>();
+
+  /**
+   * Summary flags keyed by content hash, in least recently used order. Null until loaded from disk.
+   */
+  @Nullable private LinkedHashMap<String, Integer> byHash;
+  private boolean dirty = false;
+
+  @NotNull
+  public PubspecSummary getSummary(@NotNull VirtualFile pubspec) {
+    final String path = pubspec.getPath();
+    final long stamp = pubspec.getModificationStamp();
+    synchronized (byPath) {
+      final Entry entry = byPath.get(path);
+      if (entry != null && entry.modificationStamp == stamp) {
+        return entry.summary;
+      }
+    }
+
+    final byte[] contents;
+    try {
+      contents = pubspec.contentsToByteArray(true /* cache contents */);
+    }
+    catch (IOException e) {
+      return PubspecSummary.EMPTY;
+    }
+
+    final String hash = hash(contents);
+    Integer flags;
+    synchronized (this) {
+      flags = getPersisted().get(hash);
+    }
+    final PubspecSummary summary;
+    if (flags != null) {
+      summary = PubspecSummary.fromFlags(flags);
+    }
+    else {
+      summary = PubspecSummary.parse(new String(contents, StandardCharsets.UTF_8));
+      synchronized (this) {
+        getPersisted().put(hash, summary.toFlags());
+        dirty = true;
+      }
+    }
+
+    synchronized (byPath) {
+      byPath.put(path, new Entry(stamp, summary));
+    }
+    return summary;
+  }
+
+  @NotNull
+  private static String hash(byte @NotNull [] contents) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-256").digest(contents);
+      final StringBuilder builder = new StringBuilder(32);
+      // Half of the digest is plenty to tell pubspecs apart.
+      for (int i = 0; i < 16; i++) {
+        builder.append(Character.forDigit((digest[i] >> 4) & 0xf, 16)).append(Character.forDigit(digest[i] & 0xf, 16));
+      }
+      return builder.toString();
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @NotNull
+  private Path getCacheFile() {
+    return PathManager.getSystemDir().resolve("flutter").resolve("pubspec-summaries.txt");
+  }
+
+  @NotNull
+  private LinkedHashMap<String, Integer> getPersisted() {
+    if (byHash == null) {
+      byHash = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+          return size() > MAX_PERSISTED_SUMMARIES;
+        }
+      };
+      load(byHash);
+    }
+    return byHash;
+  }
+
+  private void load(@NotNull Map<String, Integer> into) {
+    final Path file = getCacheFile();
+    if (!Files.isRegularFile(file)) return;
+
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      if (!FORMAT_VERSION.equals(reader.readLine())) return;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final int space = line.indexOf(' ');
+        if (space < 0) continue;
+        try {
+          into.put(line.substring(0, space), Integer.parseInt(line.substring(space + 1)));
+        }
+        catch (NumberFormatException ignored) {
+        }
+      }
+    }
+    catch (IOException e) {
+      LOG.info("Unable to read " + file, e);
+    }
+  }
+
+  private synchronized void save() {
+    if (!dirty || byHash == null) return;
+
+    final Path file = getCacheFile();
+    try {
+      Files.createDirectories(file.getParent());
+      final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+      try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        writer.write(FORMAT_VERSION);
+        writer.newLine();
+        // Iterating an access ordered map doesn't reorder it, so this writes the least recently used first.
+        for (Map.Entry<String, Integer> entry : byHash.entrySet()) {
+          writer.write(entry.getKey() + " " + entry.getValue());
+          writer.newLine();
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      dirty = false;
+    }
+    catch (IOException e) {
+      LOG.info("Unable to write " + file, e);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    save();
+  }
+
+  private record Entry(long modificationStamp, @NotNull PubspecSummary summary) {
+  }
+}
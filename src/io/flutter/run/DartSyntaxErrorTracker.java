@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.lang.dart.psi.DartFile;
+import io.flutter.utils.OpenApiUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tracks whether each Dart file has syntax errors, so that reload on save can check this without walking the PSI tree.
+ * <p>
+ * Files are scanned once, on a pooled thread, when they are opened in an editor. After that, the set of
+ * {@link PsiErrorElement}s in each file is kept up to date from PSI change events by only looking at the
+ * subtree that changed. Changes that don't say which children changed rescan the children of the changed
+ * element.
+ */
+public class DartSyntaxErrorTracker implements Disposable {
+  private static final Key<ErrorState> ERROR_STATE_KEY = Key.create("DartSyntaxErrorTracker.ErrorState");
+
+  @NotNull private final Project project;
+
+  @NotNull
+  public static DartSyntaxErrorTracker getInstance(@NotNull Project project) {
+    return Objects.requireNonNull(project.getService(DartSyntaxErrorTracker.class));
+  }
+
+  public DartSyntaxErrorTracker(@NotNull Project project) {
+    this.project = project;
+
+    PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+      @Override
+      public void childAdded(@NotNull PsiTreeChangeEvent event) {
+        update(event.getFile(), event.getChild());
+      }
+
+      @Override
+      public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+        update(event.getFile(), null);
+      }
+
+      @Override
+      public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+        update(event.getFile(), event.getNewChild());
+      }
+
+      @Override
+      public void childMoved(@NotNull PsiTreeChangeEvent event) {
+        update(event.getFile(), null);
+      }
+
+      @Override
+      public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+        // This doesn't say which children changed, so look at all of them.
+        update(event.getFile(), event.getParent());
+      }
+    }, this);
+
+    project.getMessageBus().connect(this).subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER, new FileEditorManagerListener() {
+      @Override
+      public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+        scheduleScan(file);
+      }
+    });
+    for (VirtualFile file : FileEditorManager.getInstance(project).getOpenFiles()) {
+      scheduleScan(file);
+    }
+  }
+
+  /**
+   * Returns true if the Dart file for {@param document} has syntax errors.
+   * <p>
+   * Files that have been scanned are answered from their tracked errors. Others are scanned on a pooled thread
+   * for next time, and are answered now by looking for the first error in the file.
+   * Must be called in a read action.
+   */
+  public boolean hasSyntaxErrors(@NotNull Document document) {
+    final PsiFile psiFile = PsiDocumentManager.getInstance(project).getPsiFile(document);
+    if (!(psiFile instanceof DartFile)) {
+      return false;
+    }
+    final ErrorState state = psiFile.getUserData(ERROR_STATE_KEY);
+    if (state != null) {
+      return state.hasErrors();
+    }
+    final VirtualFile file = psiFile.getVirtualFile();
+    if (file != null) {
+      scheduleScan(file);
+    }
+    return PsiTreeUtil.findChildOfType(psiFile, PsiErrorElement.class) != null;
+  }
+
+  /**
+   * Returns true if the errors in {@param psiFile} are being tracked.
+   */
+  @VisibleForTesting
+  boolean isTracked(@NotNull PsiFile psiFile) {
+    return psiFile.getUserData(ERROR_STATE_KEY) != null;
+  }
+
+  private void scheduleScan(@NotNull VirtualFile file) {
+    OpenApiUtils.safeExecuteOnPooledThread(() -> OpenApiUtils.safeRunReadAction(() -> {
+      if (project.isDisposed() || !file.isValid()) return;
+      final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+      if (psiFile instanceof DartFile) {
+        getOrScan(psiFile);
+      }
+    }));
+  }
+
+  @NotNull
+  private static ErrorState getOrScan(@NotNull PsiFile psiFile) {
+    ErrorState state = psiFile.getUserData(ERROR_STATE_KEY);
+    if (state == null) {
+      state = new ErrorState();
+      state.addErrorsIn(psiFile);
+      state = psiFile.putUserDataIfAbsent(ERROR_STATE_KEY, state);
+    }
+    return state;
+  }
+
+  private static void update(@Nullable PsiFile psiFile, @Nullable PsiElement changed) {
+    if (!(psiFile instanceof DartFile)) return;
+
+    // Files that haven't been scanned yet will be scanned in full when first needed.
+    final ErrorState state = psiFile.getUserData(ERROR_STATE_KEY);
+    if (state == null) return;
+
+    state.removeStaleErrors(psiFile);
+    if (changed != null && changed.isValid()) {
+      state.addErrorsIn(changed);
+    }
+  }
+
+  @Override
+  public void dispose() {
+  }
+
+  private static class ErrorState {
+    private final Set<PsiErrorElement> errors = new HashSet<>();
+
+    synchronized boolean hasErrors() {
+      return !errors.isEmpty();
+    }
+
+    synchronized void addErrorsIn(@NotNull PsiElement root) {
+      if (root instanceof PsiErrorElement error) {
+        errors.add(error);
+      }
+      errors.addAll(PsiTreeUtil.findChildrenOfType(root, PsiErrorElement.class));
+    }
+
+    synchronized void removeStaleErrors(@NotNull PsiFile psiFile) {
+      errors.removeIf(error -> !error.isValid() || error.getContainingFile() != psiFile);
+    }
+  }
+}
@@ -45,6 +45,7 @@ public class FlutterDebugProcess extends DartVmServiceDebugProcess {
   private static final @NotNull Logger LOG = Logger.getInstance(FlutterDebugProcess.class);
 
   private final @NotNull FlutterApp app;
+  private final @NotNull FlutterApp.FlutterAppListener restartListener;
 
   public FlutterDebugProcess(@NotNull FlutterApp app,
                              @NotNull ExecutionEnvironment executionEnvironment,
@@ -54,6 +55,22 @@ public class FlutterDebugProcess extends DartVmServiceDebugProcess {
                              @NotNull PositionMapper mapper) {
     super(executionEnvironment, session, executionResult, dartUrlResolver, app.getConnector(), mapper);
     this.app = app;
+    restartListener = new FlutterApp.FlutterAppListener() {
+      @Override
+      public void stateChanged(FlutterApp.State newState) {
+        if (newState == FlutterApp.State.RESTARTING) {
+          mapper.onHotRestart();
+        }
+      }
+    };
+    app.addStateListener(restartListener);
+  }
+
+  @Override
+  public void stop() {
+    // The app can outlive this debug process, so don't let it keep the position mapper alive.
+    app.removeStateListener(restartListener);
+    super.stop();
   }
 
   @Override
@@ -91,9 +91,10 @@ public class FlutterPositionMapper implements DartVmServiceDebugProcess.Position
   @Nullable
   private String remoteSourceRoot;
 
-  // TODO(skybrian) clear the cache at hot restart? (Old cache entries seem unlikely to be used again.)
   /**
    * A cache containing each file version downloaded from Observatory. The key is an isolate id.
+   * <p>
+   * Entries are dropped when their isolate exits and when the app is hot restarted.
    */
   private final Map<String, ObservatoryFile.Cache> fileCache = new HashMap<>();
 
@@ -263,8 +264,10 @@ public class FlutterPositionMapper implements DartVmServiceDebugProcess.Position
 
     final VirtualFile local = findLocalFile(scriptUri, fileFuture);
 
-    final ObservatoryFile.Cache cache =
-      fileCache.computeIfAbsent(isolateId, (id) -> new ObservatoryFile.Cache(id, scriptProvider));
+    final ObservatoryFile.Cache cache;
+    synchronized (fileCache) {
+      cache = fileCache.computeIfAbsent(isolateId, (id) -> new ObservatoryFile.Cache(id, scriptProvider));
+    }
 
     final ObservatoryFile remote = cache.downloadOrGet(scriptId, local == null);
     if (remote == null) return null;
@@ -272,6 +275,36 @@ public class FlutterPositionMapper implements DartVmServiceDebugProcess.Position
     return remote.createPosition(local, tokenPos);
   }
 
+  @Override
+  public void onIsolateExit(@NotNull String isolateId) {
+    synchronized (fileCache) {
+      fileCache.remove(isolateId);
+    }
+  }
+
+  @Override
+  public void onHotRestart() {
+    // A hot restart creates new isolates, so old script versions won't be asked for again.
+    synchronized (fileCache) {
+      fileCache.clear();
+    }
+  }
+
+  /**
+   * The approximate number of bytes used by the cached Observatory files.
+   */
+  public long getCacheMemoryFootprint() {
+    final List<ObservatoryFile.Cache> caches;
+    synchronized (fileCache) {
+      caches = new ArrayList<>(fileCache.values());
+    }
+    long size = 0;
+    for (ObservatoryFile.Cache cache : caches) {
+      size += cache.getMemoryFootprint();
+    }
+    return size;
+  }
+
   @VisibleForTesting
   @Nullable
   String getRemoteSourceRoot() {
@@ -39,9 +39,7 @@ import com.intellij.openapi.wm.ToolWindow;
 import com.intellij.openapi.wm.ToolWindowId;
 import com.intellij.openapi.wm.ToolWindowManager;
 import com.intellij.psi.PsiDocumentManager;
-import com.intellij.psi.PsiErrorElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.ui.UIUtil;
 import com.jetbrains.lang.dart.ide.errorTreeView.DartProblemsView;
@@ -121,6 +119,8 @@ public class FlutterReloadManager {
 
   private FlutterReloadManager(@NotNull Project project) {
     this.myProject = project;
+    // Start tracking syntax errors in the open editors before the first save.
+    DartSyntaxErrorTracker.getInstance(project);
 
     final MessageBusConnection connection =
       ApplicationManager.getApplication().getMessageBus().connect(FlutterDartAnalysisServer.getInstance(project));
@@ -191,6 +191,7 @@ public class FlutterReloadManager {
 
         OpenApiUtils.safeInvokeLater(() -> {
           // Find a Dart editor to trigger the reload.
+          final DartSyntaxErrorTracker errorTracker = DartSyntaxErrorTracker.getInstance(myProject);
           final Editor anEditor = OpenApiUtils.safeRunReadAction(() -> {
             Editor someEditor = null;
             final EditorFactory editorFactory = EditorFactory.getInstance();
@@ -203,7 +204,7 @@ public class FlutterReloadManager {
                 if (psiFile instanceof DartFile && someEditor == null) {
                   someEditor = editor;
                 }
-                if (null != PsiTreeUtil.findChildOfType(psiFile, PsiErrorElement.class, false)) {
+                if (errorTracker.hasSyntaxErrors(editor.getDocument())) {
                   // The Dart plugin may create empty files that it then claims have a syntax error. Ignore them.
                   if (editor.getDocument().getTextLength() != 0) {
                     // If there are analysis errors we want to silently exit, without showing a notification.
@@ -480,15 +481,7 @@ public class FlutterReloadManager {
     // are analysis issues in other files; the compilation errors from the flutter tool
     // will indicate to the user where the problems are.
 
-    final PsiErrorElement firstError = OpenApiUtils.safeRunReadAction(() -> {
-      final PsiFile psiFile = PsiDocumentManager.getInstance(myProject).getPsiFile(document);
-      if (psiFile instanceof DartFile) {
-        return PsiTreeUtil.findChildOfType(psiFile, PsiErrorElement.class, false);
-      }
-      else {
-        return null;
-      }
-    });
-    return firstError != null;
+    final DartSyntaxErrorTracker errorTracker = DartSyntaxErrorTracker.getInstance(myProject);
+    return Boolean.TRUE.equals(OpenApiUtils.safeRunReadAction(() -> errorTracker.hasSyntaxErrors(document)));
   }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.Presentation;
+import com.intellij.openapi.actionSystem.ex.CustomComponentAction;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.ui.JBColor;
+import com.intellij.util.ui.JBUI;
+import io.flutter.run.daemon.FlutterApp;
+import io.flutter.vmService.FrameTimings;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Shows a sparkline of the app's recent frame times in the Run tool window, with the percentiles and jank counts in
+ * its tooltip.
+ * <p>
+ * The frame timings are recorded on the VM service thread; this component samples them from a timer while it is
+ * showing, so recording a frame never waits on the UI.
+ */
+public class FrameTimingsAction extends DumbAwareAction implements CustomComponentAction {
+  private static final String title = "Frame Timings";
+  private static final int REFRESH_MS = 500;
+
+  private final @NotNull FlutterApp app;
+
+  public FrameTimingsAction(@NotNull FlutterApp app) {
+    super(title, "Build and raster times of recent frames", null);
+    this.app = app;
+  }
+
+  @Override
+  public void actionPerformed(@NotNull AnActionEvent e) {
+  }
+
+  @Override
+  public void update(@NotNull AnActionEvent e) {
+    e.getPresentation().setVisible(app.getFrameTimings().getFrameCount() > 0);
+  }
+
+  @Override
+  public @NotNull ActionUpdateThread getActionUpdateThread() {
+    return ActionUpdateThread.BGT;
+  }
+
+  @Override
+  public @NotNull JComponent createCustomComponent(@NotNull Presentation presentation, @NotNull String place) {
+    return new Sparkline(app.getFrameTimings());
+  }
+
+  private static class Sparkline extends JComponent {
+    private static final int BARS = 60;
+
+    private final @NotNull FrameTimings timings;
+    private final @NotNull Timer timer;
+    private @NotNull FrameTimings.Snapshot snapshot;
+    private long paintedFrameCount = -1;
+
+    Sparkline(@NotNull FrameTimings timings) {
+      this.timings = timings;
+      this.snapshot = timings.snapshot();
+      this.timer = new Timer(REFRESH_MS, (event) -> refresh());
+      setPreferredSize(JBUI.size(BARS * 2, 16));
+      setToolTipText(title);
+    }
+
+    @Override
+    public void addNotify() {
+      super.addNotify();
+      timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+      timer.stop();
+      super.removeNotify();
+    }
+
+    private void refresh() {
+      // Only copy the ring buffer when new frames arrived.
+      if (timings.getFrameCount() == paintedFrameCount) return;
+
+      snapshot = timings.snapshot();
+      paintedFrameCount = snapshot.getFrameCount();
+      setToolTipText(describe(snapshot));
+      repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+      final FrameTimings.Snapshot current = snapshot;
+      final int width = getWidth();
+      final int height = getHeight();
+      final int count = Math.min(BARS, current.size());
+      if (count == 0 || width == 0 || height == 0) return;
+
+      // Scale so that two frame budgets fill the height.
+      final double scale = (double)height / (2 * FrameTimings.FRAME_BUDGET_MICROS);
+      final int barWidth = Math.max(1, width / BARS);
+      final int first = current.size() - count;
+      for (int i = 0; i < count; i++) {
+        final int index = first + i;
+        final int micros = Math.max(current.getBuildMicros(index), current.getRasterMicros(index));
+        final int barHeight = Math.max(1, (int)Math.min(height, micros * scale));
+        g.setColor(current.isJanky(index) ? JBColor.RED : JBColor.GRAY);
+        g.fillRect(width - (count - i) * barWidth, height - barHeight, Math.max(1, barWidth - 1), barHeight);
+      }
+    }
+  }
+
+  @NotNull
+  static String describe(@NotNull FrameTimings.Snapshot snapshot) {
+    if (snapshot.size() == 0) {
+      return title;
+    }
+    return "<html>" + title + " (last " + snapshot.size() + " frames)<br>" +
+           "Build: p50 " + millis(snapshot.getBuildPercentile(50)) +
+           ", p90 " + millis(snapshot.getBuildPercentile(90)) +
+           ", p99 " + millis(snapshot.getBuildPercentile(99)) + "<br>" +
+           "Raster: p50 " + millis(snapshot.getRasterPercentile(50)) +
+           ", p90 " + millis(snapshot.getRasterPercentile(90)) +
+           ", p99 " + millis(snapshot.getRasterPercentile(99)) + "<br>" +
+           "Janky: " + snapshot.getRecentJankCount() + " recent, " + snapshot.getJankCount() + " of " +
+           snapshot.getFrameCount() + " total</html>";
+  }
+
+  @NotNull
+  private static String millis(int micros) {
+    return String.format("%.1f ms", micros / 1000.0);
+  }
+}
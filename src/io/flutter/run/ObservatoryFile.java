@@ -5,6 +5,7 @@
  */
 package io.flutter.run;
 
+import com.google.gson.JsonElement;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.testFramework.LightVirtualFile;
 import com.intellij.util.PathUtil;
@@ -12,15 +13,11 @@ import com.intellij.xdebugger.XDebuggerUtil;
 import com.intellij.xdebugger.XSourcePosition;
 import com.jetbrains.lang.dart.DartFileType;
 import io.flutter.vmService.DartVmServiceDebugProcess;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.dartlang.vm.service.element.Script;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -37,7 +34,7 @@ class ObservatoryFile {
    * Maps an observatory token id to its line and column.
    */
   @Nullable
-  private final Int2ObjectMap<Position> positionMap;
+  private final TokenPositionTable positionTable;
 
   /**
    * User-visible source code downloaded from Observatory.
@@ -51,12 +48,13 @@ class ObservatoryFile {
   private final LightVirtualFile snapshot;
 
   ObservatoryFile(@NotNull Script script, boolean wantSnapshot) {
-    final @Nullable List<List<Integer>> tokenPosTable = script.getTokenPosTable();
-    if (tokenPosTable != null) {
-      positionMap = createPositionMap(tokenPosTable);
+    // Read the table straight from the JSON rather than through Script.getTokenPosTable(), which boxes every entry.
+    final JsonElement tokenPosTable = script.getJson().get("tokenPosTable");
+    if (tokenPosTable != null && tokenPosTable.isJsonArray()) {
+      positionTable = TokenPositionTable.fromJson(tokenPosTable.getAsJsonArray());
     }
     else {
-      positionMap = null;
+      positionTable = null;
     }
     snapshot = wantSnapshot ? createSnapshot(script) : null;
   }
@@ -65,6 +63,17 @@ class ObservatoryFile {
     return snapshot != null;
   }
 
+  /**
+   * The approximate number of bytes used by the position table and snapshot.
+   */
+  long getMemoryFootprint() {
+    long size = positionTable == null ? 0 : positionTable.getMemoryFootprint();
+    if (snapshot != null) {
+      size += snapshot.getContent().length() * 2L;
+    }
+    return size;
+  }
+
   /**
    * Given a token id, returns the source position to display to the user.
    * <p>
@@ -76,41 +85,15 @@ class ObservatoryFile {
     final VirtualFile fileToUse = local == null ? snapshot : local;
     if (fileToUse == null) return null;
 
-    if (positionMap == null) {
+    if (positionTable == null) {
       return null;
     }
 
-    final Position pos = positionMap.get(tokenPos);
-    if (pos == null) {
+    final long pos = positionTable.get(tokenPos);
+    if (pos < 0) {
       return XDebuggerUtil.getInstance().createPositionByOffset(fileToUse, 0);
     }
-    return XDebuggerUtil.getInstance().createPosition(fileToUse, pos.line, pos.column);
-  }
-
-  /**
-   * Unpacks a position token table into a map from position id to Position.
-   * <p>
-   * <p>See <a href="https://github.com/dart-lang/vm_service_drivers/blob/master/dart/tool/service.md#scrip">docs</a>.
-   */
-  @NotNull
-  private static Int2ObjectMap<Position> createPositionMap(@NotNull final List<List<Integer>> table) {
-    final Int2ObjectMap<Position> result = new Int2ObjectOpenHashMap<>();
-
-    for (List<Integer> line : table) {
-      // Each line consists of a line number followed by (tokenId, columnNumber) pairs.
-      // Both lines and columns are one-based.
-      final Iterator<Integer> items = line.iterator();
-
-      // Convert line number from one-based to zero-based.
-      final int lineNumber = Math.max(0, items.next() - 1);
-      while (items.hasNext()) {
-        final int tokenId = items.next();
-        // Convert column from one-based to zero-based.
-        final int column = Math.max(0, items.next() - 1);
-        result.put(tokenId, new Position(lineNumber, column));
-      }
-    }
-    return result;
+    return XDebuggerUtil.getInstance().createPosition(fileToUse, TokenPositionTable.line(pos), TokenPositionTable.column(pos));
   }
 
   @Nullable
@@ -131,6 +114,12 @@ class ObservatoryFile {
    * A per-isolate cache of Observatory files.
    */
   static class Cache {
+    /**
+     * The number of script versions to keep per isolate. Each hot reload creates new versions of the changed
+     * scripts, and old versions are rarely needed again.
+     */
+    private static final int MAX_VERSIONS = 500;
+
     @NotNull
     private final String isolateId;
 
@@ -141,7 +130,12 @@ class ObservatoryFile {
      * A cache containing each file downloaded from Observatory. The key is a script id.
      * Each version of a file is stored as a separate entry.
      */
-    private final Map<String, ObservatoryFile> versions = new HashMap<>();
+    private final Map<String, ObservatoryFile> versions = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, ObservatoryFile> eldest) {
+        return size() > MAX_VERSIONS;
+      }
+    };
 
     Cache(@NotNull String isolateId, @NotNull DartVmServiceDebugProcess.ScriptProvider provider) {
       this.isolateId = isolateId;
@@ -157,28 +151,38 @@ class ObservatoryFile {
      */
     @Nullable
     ObservatoryFile downloadOrGet(@NotNull String scriptId, boolean wantSnapshot) {
-      final ObservatoryFile cached = this.versions.get(scriptId);
-      if (cached != null && (cached.hasSnapshot() || !wantSnapshot)) {
-        return cached;
+      synchronized (versions) {
+        final ObservatoryFile cached = this.versions.get(scriptId);
+        if (cached != null && (cached.hasSnapshot() || !wantSnapshot)) {
+          return cached;
+        }
       }
 
       final Script script = provider.downloadScript(isolateId, scriptId);
       if (script == null) return null;
 
       final ObservatoryFile downloaded = new ObservatoryFile(script, wantSnapshot);
-      this.versions.put(scriptId, downloaded);
+      synchronized (versions) {
+        this.versions.put(scriptId, downloaded);
+      }
 
       if (wantSnapshot && !downloaded.hasSnapshot()) {
         return null;
       }
       return downloaded;
     }
-  }
 
-  /**
-   * @param line   zero-based
-   * @param column zero-based
-   */
-  private record Position(int line, int column) {
+    /**
+     * The approximate number of bytes used by the cached files.
+     */
+    long getMemoryFootprint() {
+      synchronized (versions) {
+        long size = 0;
+        for (ObservatoryFile file : versions.values()) {
+          size += file.getMemoryFootprint();
+        }
+        return size;
+      }
+    }
   }
 }
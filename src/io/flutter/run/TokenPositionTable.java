@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Maps Observatory token positions to zero-based lines and columns.
+ * <p>
+ * The table is stored as a sorted <code>int[]</code> of token ids and a parallel <code>long[]</code> of packed
+ * line and column numbers, and is decoded straight from the script's JSON <code>tokenPosTable</code>
+ * without boxing each entry.
+ * <p>
+ * See <a href="https://github.com/dart-lang/sdk/blob/main/runtime/vm/service/service.md#script">Script</a>.
+ */
+class TokenPositionTable {
+  private static final TokenPositionTable EMPTY = new TokenPositionTable(new int[0], new long[0]);
+
+  private final int @NotNull [] tokenIds;
+  private final long @NotNull [] positions;
+
+  private TokenPositionTable(int @NotNull [] tokenIds, long @NotNull [] positions) {
+    this.tokenIds = tokenIds;
+    this.positions = positions;
+  }
+
+  /**
+   * Decodes a token position table.
+   * <p>
+   * Each line of the table consists of a one-based line number followed by (tokenId, one-based column) pairs.
+   */
+  @NotNull
+  static TokenPositionTable fromJson(@Nullable JsonArray table) {
+    if (table == null) {
+      return EMPTY;
+    }
+
+    int count = 0;
+    for (JsonElement line : table) {
+      count += Math.max(0, (line.getAsJsonArray().size() - 1) / 2);
+    }
+
+    final int[] tokenIds = new int[count];
+    final long[] positions = new long[count];
+    int index = 0;
+    boolean sorted = true;
+    for (JsonElement lineElement : table) {
+      final JsonArray line = lineElement.getAsJsonArray();
+      if (line.size() == 0) continue;
+
+      // Convert line number from one-based to zero-based.
+      final int lineNumber = Math.max(0, line.get(0).getAsInt() - 1);
+      for (int i = 1; i + 1 < line.size(); i += 2) {
+        final int tokenId = line.get(i).getAsInt();
+        // Convert column from one-based to zero-based.
+        final int column = Math.max(0, line.get(i + 1).getAsInt() - 1);
+        if (index > 0 && tokenIds[index - 1] >= tokenId) {
+          sorted = false;
+        }
+        tokenIds[index] = tokenId;
+        positions[index] = pack(lineNumber, column);
+        index++;
+      }
+    }
+
+    return sorted ? new TokenPositionTable(tokenIds, positions) : sort(tokenIds, positions);
+  }
+
+  /**
+   * Returns the packed position of the token, or -1 if the token isn't in the table.
+   * <p>
+   * Use {@link #line} and {@link #column} to unpack it.
+   */
+  long get(int tokenId) {
+    final int index = Arrays.binarySearch(tokenIds, tokenId);
+    return index < 0 ? -1 : positions[index];
+  }
+
+  static int line(long position) {
+    return (int)(position >>> 32);
+  }
+
+  static int column(long position) {
+    return (int)position;
+  }
+
+  int size() {
+    return tokenIds.length;
+  }
+
+  /**
+   * The approximate number of bytes used by this table.
+   */
+  long getMemoryFootprint() {
+    return 16L + tokenIds.length * 4L + 16L + positions.length * 8L;
+  }
+
+  private static long pack(int line, int column) {
+    return ((long)line << 32) | (column & 0xffffffffL);
+  }
+
+  /**
+   * Sorts the entries by token id. If a token id appears more than once, the last entry wins, as it did with a map.
+   */
+  @NotNull
+  private static TokenPositionTable sort(int @NotNull [] tokenIds, long @NotNull [] positions) {
+    final long[] keys = new long[tokenIds.length];
+    for (int i = 0; i < tokenIds.length; i++) {
+      keys[i] = ((long)tokenIds[i] << 32) | i;
+    }
+    Arrays.sort(keys);
+
+    final int[] sortedIds = new int[keys.length];
+    final long[] sortedPositions = new long[keys.length];
+    int size = 0;
+    for (long key : keys) {
+      final int tokenId = (int)(key >> 32);
+      final int original = (int)key;
+      if (size > 0 && sortedIds[size - 1] == tokenId) {
+        size--;
+      }
+      sortedIds[size] = tokenId;
+      sortedPositions[size] = positions[original];
+      size++;
+    }
+    return new TokenPositionTable(Arrays.copyOf(sortedIds, size), Arrays.copyOf(sortedPositions, size));
+  }
+}
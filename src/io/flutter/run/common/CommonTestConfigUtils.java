@@ -27,9 +27,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 
-import static org.dartlang.analysis.server.protocol.ElementKind.UNIT_TEST_GROUP;
-import static org.dartlang.analysis.server.protocol.ElementKind.UNIT_TEST_TEST;
-
 /**
  * Common utilities for processing Flutter tests.
  * <p>
@@ -69,12 +66,13 @@ public abstract class CommonTestConfigUtils {
     return null;
   }
 
-  private final Map<String, OutlineCache> cache = new HashMap<>();
+  /**
+   * Shared by the Flutter and Bazel test configurations, which look at the same files.
+   */
+  private static final OutlineTestIndex testIndex = new OutlineTestIndex();
 
   private void clearCachedInfo(String path) {
-    synchronized (this) {
-      cache.remove(path);
-    }
+    testIndex.invalidate(path);
   }
 
   /**
@@ -85,31 +83,22 @@ public abstract class CommonTestConfigUtils {
     final Project project = file.getProject();
     final ActiveEditorsOutlineService outlineService = getActiveEditorsOutlineService(project);
     if (outlineService == null) {
-      return new HashMap<>();
+      return Map.of();
     }
 
     final FlutterOutline outline = outlineService.getIfUpdated(file);
     final String path = file.getVirtualFile().getPath();
-    final boolean outlineOutdated;
-    synchronized (this) {
-      final OutlineCache entry = cache.get(path);
-      outlineOutdated = cache.containsKey(path) && outline != entry.outline;
-    }
     // If the outline is outdated, then request a new pass to generate line markers.
-    if (outline == null || outlineOutdated) {
+    if (outline == null || testIndex.isOutdated(path, outline)) {
       clearCachedInfo(path);
       final LineMarkerUpdatingListener listener = getListenerForFile(file);
       if (listener != null) {
         outlineService.addListener(listener);
       }
-      return new HashMap<>();
+      return Map.of();
     }
 
-    synchronized (this) {
-      final OutlineCache entry = new OutlineCache(outline, file);
-      cache.put(path, entry);
-      return entry.callToTestType;
-    }
+    return testIndex.getTests(path, outline, file);
   }
 
   @Nullable
@@ -182,59 +171,6 @@ public abstract class CommonTestConfigUtils {
     return listenerCache.get(path);
   }
 
-  private static class OutlineCache {
-    final Map<Integer, TestType> callToTestType;
-    final FlutterOutline outline;
-
-    private OutlineCache(FlutterOutline outline, PsiFile file) {
-      this.callToTestType = new HashMap<>();
-      this.outline = outline;
-
-      populateTestTypeMap(outline, file);
-    }
-
-    /**
-     * Traverses the {@param outline} tree and adds to {@link OutlineCache#callToTestType } the {@link DartCallExpression}s that are tests or test groups.
-     */
-    private void populateTestTypeMap(@NotNull FlutterOutline outline, @NotNull PsiFile file) {
-      if (outline.getDartElement() != null) {
-        final PsiElement element;
-
-        switch (outline.getDartElement().getKind()) {
-          case UNIT_TEST_GROUP: {
-            // We found a test group.
-            element = file.findElementAt(outline.getOffset());
-            final DartCallExpression enclosingCall = DartSyntax.findClosestEnclosingFunctionCall(element);
-            if (enclosingCall != null) {
-              callToTestType.put(enclosingCall.getTextOffset(), TestType.GROUP);
-            }
-          }
-          break;
-
-          case UNIT_TEST_TEST: {
-            // We found a unit test.
-            element = file.findElementAt(outline.getOffset());
-            final DartCallExpression enclosingCall = DartSyntax.findClosestEnclosingFunctionCall(element);
-            if (enclosingCall != null) {
-              callToTestType.put(enclosingCall.getTextOffset(), TestType.SINGLE);
-            }
-          }
-          break;
-
-          default:
-            // We found no test.
-            break;
-        }
-      }
-
-      if (outline.getChildren() != null) {
-        for (FlutterOutline child : outline.getChildren()) {
-          populateTestTypeMap(child, file);
-        }
-      }
-    }
-  }
-
   /**
    * {@link ActiveEditorsOutlineService.Listener} that forces IntelliJ to recompute line markers and other file annotations when the
    * {@link FlutterOutline} updates.
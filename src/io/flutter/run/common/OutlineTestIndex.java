@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.common;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.jetbrains.lang.dart.psi.DartCallExpression;
+import io.flutter.dart.DartSyntax;
+import org.dartlang.analysis.server.protocol.FlutterOutline;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.dartlang.analysis.server.protocol.ElementKind.UNIT_TEST_GROUP;
+import static org.dartlang.analysis.server.protocol.ElementKind.UNIT_TEST_TEST;
+
+/**
+ * Maps the offsets of test and test group calls in a file to their {@link TestType}.
+ * <p>
+ * Building the map walks the whole {@link FlutterOutline} and resolves PSI for each test, so the
+ * result is kept until either the outline or the file changes. Line markers ask for it once per
+ * call expression, which would otherwise make highlighting quadratic in the number of tests.
+ */
+class OutlineTestIndex {
+  /**
+   * The number of files to keep an index for; this only needs to cover the open test files.
+   */
+  @VisibleForTesting
+  static final int MAX_ENTRIES = 64;
+
+  private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  /**
+   * Returns true if an index was built for {@param path} from an outline other than {@param outline}.
+   */
+  synchronized boolean isOutdated(@NotNull String path, @NotNull FlutterOutline outline) {
+    final Entry entry = entries.get(path);
+    return entry != null && entry.outline != outline;
+  }
+
+  /**
+   * Returns the immutable offset-to-{@link TestType} map for {@param file}, building it if the
+   * cached one was computed from a different outline or an older version of the file.
+   */
+  @NotNull
+  Map<Integer, TestType> getTests(@NotNull String path, @NotNull FlutterOutline outline, @NotNull PsiFile file) {
+    return getTests(path, outline, file.getModificationStamp(), () -> {
+      final Map<Integer, TestType> callToTestType = new HashMap<>();
+      populateTestTypeMap(outline, file, callToTestType);
+      return callToTestType;
+    });
+  }
+
+  /**
+   * Returns the cached map for {@param path} if it was built from {@param outline} and the file version
+   * {@param modificationStamp}, or else caches a copy of the one from {@param builder}.
+   */
+  @VisibleForTesting
+  @NotNull
+  Map<Integer, TestType> getTests(@NotNull String path,
+                                  @NotNull FlutterOutline outline,
+                                  long modificationStamp,
+                                  @NotNull Supplier<Map<Integer, TestType>> builder) {
+    synchronized (this) {
+      final Entry entry = entries.get(path);
+      if (entry != null && entry.outline == outline && entry.modificationStamp == modificationStamp) {
+        return entry.callToTestType;
+      }
+    }
+
+    final Entry entry = new Entry(outline, modificationStamp, Map.copyOf(builder.get()));
+    synchronized (this) {
+      entries.put(path, entry);
+    }
+    return entry.callToTestType;
+  }
+
+  synchronized void invalidate(@NotNull String path) {
+    entries.remove(path);
+  }
+
+  /**
+   * Traverses the {@param outline} tree and adds to {@param callToTestType} the {@link DartCallExpression}s that are tests or test groups.
+   */
+  private static void populateTestTypeMap(@NotNull FlutterOutline outline,
+                                          @NotNull PsiFile file,
+                                          @NotNull Map<Integer, TestType> callToTestType) {
+    if (outline.getDartElement() != null) {
+      switch (outline.getDartElement().getKind()) {
+        case UNIT_TEST_GROUP -> putTestCall(outline, file, TestType.GROUP, callToTestType);
+        case UNIT_TEST_TEST -> putTestCall(outline, file, TestType.SINGLE, callToTestType);
+        default -> {
+          // We found no test.
+        }
+      }
+    }
+
+    if (outline.getChildren() != null) {
+      for (FlutterOutline child : outline.getChildren()) {
+        populateTestTypeMap(child, file, callToTestType);
+      }
+    }
+  }
+
+  private static void putTestCall(@NotNull FlutterOutline outline,
+                                  @NotNull PsiFile file,
+                                  @NotNull TestType type,
+                                  @NotNull Map<Integer, TestType> callToTestType) {
+    final PsiElement element = file.findElementAt(outline.getOffset());
+    final DartCallExpression enclosingCall = DartSyntax.findClosestEnclosingFunctionCall(element);
+    if (enclosingCall != null) {
+      callToTestType.put(enclosingCall.getTextOffset(), type);
+    }
+  }
+
+  private record Entry(@NotNull FlutterOutline outline, long modificationStamp, @NotNull Map<Integer, TestType> callToTestType) {
+  }
+}
@@ -9,6 +9,7 @@ import com.intellij.coverage.CoverageEngine;
 import com.intellij.coverage.CoverageRunner;
 import com.intellij.coverage.CoverageSuite;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
 import com.intellij.rt.coverage.data.ProjectData;
 import io.flutter.FlutterBundle;
 import org.jetbrains.annotations.NotNull;
@@ -16,6 +17,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 public class FlutterCoverageRunner extends CoverageRunner {
   private static final String ID = "FlutterCoverageRunner";
@@ -33,13 +35,21 @@ public class FlutterCoverageRunner extends CoverageRunner {
   @Nullable
   private static ProjectData doLoadCoverageData(@NotNull final File sessionDataFile, @NotNull final FlutterCoverageSuite coverageSuite) {
     final ProjectData projectData = new ProjectData();
+    Map<String, int[]> hits;
     try {
-      LcovInfo.readInto(projectData, sessionDataFile);
+      hits = LcovInfo.read(sessionDataFile);
     }
     catch (IOException ex) {
       LOG.warn(FlutterBundle.message("coverage.data.not.read", sessionDataFile.getAbsolutePath()));
       return null;
     }
+
+    // Combine with earlier runs, so that running one test with coverage keeps the results for the files it didn't touch.
+    final Project project = coverageSuite.getProject();
+    if (project != null && !project.isDisposed()) {
+      hits = FlutterCoverageStore.getInstance(project).update(sessionDataFile.getAbsolutePath(), hits);
+    }
+    LcovInfo.addTo(projectData, hits);
     return projectData;
   }
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.coverage;
+
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the coverage of each source file across coverage runs, so that running a single test with coverage only
+ * replaces the results for the files that test touched.
+ * <p>
+ * Each file's hits are stored with a hash of the file's contents when they were recorded. When a file has been
+ * edited since, its hits no longer match its lines and are dropped.
+ */
+public class FlutterCoverageStore {
+  @NotNull
+  public static FlutterCoverageStore getInstance(@NotNull Project project) {
+    return Objects.requireNonNull(project.getService(FlutterCoverageStore.class));
+  }
+
+  /**
+   * Recorded coverage, keyed by the path of the lcov file it was read from and then by source path.
+   */
+  private final Map<String, Map<String, Entry>> coverageByLcovFile = new HashMap<>();
+
+  /**
+   * Merges the hits read from {@param lcovPath} into the coverage previously read from the same file, and returns the
+   * hits for every source file that is still up to date.
+   * <p>
+   * Files that appear in the new hits replace their earlier results.
+   */
+  @NotNull
+  public Map<String, int[]> update(@NotNull String lcovPath, @NotNull Map<String, int[]> hits) {
+    synchronized (coverageByLcovFile) {
+      return merge(coverageByLcovFile.computeIfAbsent(lcovPath, (path) -> new HashMap<>()), hits);
+    }
+  }
+
+  @NotNull
+  static Map<String, int[]> merge(@NotNull Map<String, Entry> stored, @NotNull Map<String, int[]> hits) {
+    // Drop results for files that have changed since they were recorded.
+    for (Iterator<Map.Entry<String, Entry>> it = stored.entrySet().iterator(); it.hasNext(); ) {
+      final Map.Entry<String, Entry> mapEntry = it.next();
+      if (hits.containsKey(mapEntry.getKey())) continue;
+
+      final Entry current = mapEntry.getValue().refresh(mapEntry.getKey());
+      if (current == null) {
+        it.remove();
+      }
+      else {
+        mapEntry.setValue(current);
+      }
+    }
+
+    for (Map.Entry<String, int[]> mapEntry : hits.entrySet()) {
+      final Entry entry = Entry.create(mapEntry.getKey(), mapEntry.getValue());
+      if (entry == null) {
+        // Show the new hits, but don't keep them for later runs.
+        stored.remove(mapEntry.getKey());
+      }
+      else {
+        stored.put(mapEntry.getKey(), entry);
+      }
+    }
+
+    final Map<String, int[]> result = new HashMap<>(stored.size());
+    for (Map.Entry<String, Entry> mapEntry : stored.entrySet()) {
+      result.put(mapEntry.getKey(), mapEntry.getValue().hits);
+    }
+    result.putAll(hits);
+    return result;
+  }
+
+  /**
+   * The hits for a source file, along with the state of the file they were recorded for.
+   */
+  record Entry(int @NotNull [] hits, byte @NotNull [] contentHash, long lastModified, long size) {
+    /**
+     * Returns an entry for the current contents of the file at {@param path}, or null if it can't be read.
+     */
+    @Nullable
+    static Entry create(@NotNull String path, int @NotNull [] hits) {
+      try {
+        final Path file = Paths.get(path);
+        final long lastModified = Files.getLastModifiedTime(file).toMillis();
+        return new Entry(hits, hash(Files.readAllBytes(file)), lastModified, Files.size(file));
+      }
+      catch (IOException | InvalidPathException e) {
+        return null;
+      }
+    }
+
+    /**
+     * Returns this entry if the file at {@param path} still has the contents it was recorded for, or null if not.
+     * <p>
+     * The file is only read again when its size or modification time changed.
+     */
+    @Nullable
+    Entry refresh(@NotNull String path) {
+      try {
+        final Path file = Paths.get(path);
+        final long currentModified = Files.getLastModifiedTime(file).toMillis();
+        final long currentSize = Files.size(file);
+        if (currentModified == lastModified && currentSize == size) {
+          return this;
+        }
+        if (currentSize != size || !MessageDigest.isEqual(contentHash, hash(Files.readAllBytes(file)))) {
+          return null;
+        }
+        return new Entry(hits, contentHash, currentModified, currentSize);
+      }
+      catch (IOException | InvalidPathException e) {
+        return null;
+      }
+    }
+
+    private static byte @NotNull [] hash(byte @NotNull [] contents) {
+      try {
+        return MessageDigest.getInstance("SHA-256").digest(contents);
+      }
+      catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -14,119 +14,264 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
+/**
+ * Reads <code>lcov.info</code> files into per-file line hit counts.
+ * <p>
+ * The file is parsed from bytes, without creating a string for each line. Large files are split at record
+ * boundaries and the parts parsed in parallel.
+ */
 public class LcovInfo {
+  /**
+   * The hit count of a line that has no data.
+   */
+  static final int NO_DATA = -1;
 
-  private static final String FILE_LABEL = "SF:";
-  private static final String DATA_LABEL = "DA:";
-  private static final String END_LABEL = "end_of_record";
-
-  private final Map<String, List<LineCount>> counts = new HashMap<>();
+  /**
+   * Files smaller than this are parsed on the calling thread.
+   */
+  private static final int MIN_PARALLEL_SIZE = 1 << 20;
 
-  private Path currentFile = null;
-  private List<LineCount> lineCounts = null;
-  private final String base;
+  private static final byte[] FILE_LABEL = "SF:".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] DATA_LABEL = "DA:".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] END_LABEL = "end_of_record".getBytes(StandardCharsets.US_ASCII);
 
-  private LcovInfo(String base) {
-    this.base = base;
+  private LcovInfo() {
   }
 
   public static void readInto(@NotNull ProjectData data, @NotNull File file) throws IOException {
+    addTo(data, read(file));
+  }
+
+  /**
+   * Reads the hit counts for each source file from the given lcov file.
+   */
+  @NotNull
+  static Map<String, int[]> read(@NotNull File file) throws IOException {
     final String filePath = file.getAbsolutePath();
     final int index = filePath.indexOf("coverage");
     if (index < 0) {
       // TODO Define at least one class in data
-      return;
-    }
-    final LcovInfo lcov = new LcovInfo(filePath.substring(0, index));
-    try (final Stream<String> lines = Files.lines(file.toPath())) {
-      lines.forEach(lcov::processLine);
+      return new HashMap<>();
     }
-    for (String path : lcov.counts.keySet()) {
-      final List<LineCount> list = lcov.counts.get(path);
-      if (list == null || list.isEmpty()) {
+    return parse(Files.readAllBytes(file.toPath()), filePath.substring(0, index));
+  }
+
+  static void addTo(@NotNull ProjectData data, @NotNull Map<String, int[]> hits) {
+    for (Map.Entry<String, int[]> entry : hits.entrySet()) {
+      final int[] counts = entry.getValue();
+      int max = counts.length;
+      while (max > 0 && counts[max - 1] == NO_DATA) {
+        max--;
+      }
+      if (max == 0) {
         continue;
       }
+      final String path = entry.getKey();
       final ClassData classData = data.getOrCreateClassData(path);
-      classData.setSource(fullPath(path));
-      final int max = list.get(list.size() - 1).lineNum + 1;
+      classData.setSource(path);
       final LineData[] lines = new LineData[max];
-      for (LineCount line : list) {
-        final LineData lineData = new LineData(line.lineNum, null);
-        lineData.setHits(line.execCount);
-        lines[line.lineNum] = lineData;
+      for (int lineNum = 0; lineNum < max; lineNum++) {
+        if (counts[lineNum] == NO_DATA) continue;
+        final LineData lineData = new LineData(lineNum, null);
+        lineData.setHits(counts[lineNum]);
+        lines[lineNum] = lineData;
         classData.registerMethodSignature(lineData);
       }
       classData.setLines(lines);
     }
   }
 
-  void processLine(String line) {
-    line = line.trim();
-    if (line.startsWith(DATA_LABEL)) {
-      assert currentFile != null;
-      assert lineCounts != null;
-      addLineCount(line.substring(DATA_LABEL.length()));
+  /**
+   * Parses the contents of an lcov file into hit counts for each source file, indexed by line number.
+   * <p>
+   * Lines without data have a count of {@link #NO_DATA}. Relative source paths are resolved against {@param base}.
+   */
+  @NotNull
+  static Map<String, int[]> parse(byte @NotNull [] contents, @NotNull String base) {
+    if (contents.length < MIN_PARALLEL_SIZE) {
+      return parse(contents, 0, contents.length, base);
     }
-    else if (line.startsWith(FILE_LABEL)) {
-      //currentFile = Paths.get(line.substring(FILE_LABEL.length())).normalize();
-      final File file = new File(base, line.substring(FILE_LABEL.length()));
-      final URI normalize = file.toURI().normalize();
-      currentFile = Paths.get(normalize);
-      lineCounts = new ArrayList<>();
+
+    final int parts = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), contents.length / MIN_PARALLEL_SIZE));
+    final int[] bounds = new int[parts + 1];
+    for (int i = 1; i < parts; i++) {
+      bounds[i] = Math.max(bounds[i - 1], nextRecordStart(contents, (int)((long)contents.length * i / parts)));
     }
-    else if (line.equals(END_LABEL)) {
-      storeLineCounts();
-      currentFile = null;
-      lineCounts = null;
+    bounds[parts] = contents.length;
+    final List<Map<String, int[]>> results = IntStream.range(0, parts).parallel()
+      .mapToObj(i -> parse(contents, bounds[i], bounds[i + 1], base))
+      .toList();
+    final Map<String, int[]> merged = new HashMap<>();
+    for (Map<String, int[]> result : results) {
+      merge(merged, result);
     }
+    return merged;
   }
 
-  private void addLineCount(String data) {
-    final String[] parts = data.split(",");
-    assert parts.length >= 2;
-    final int lineNum = safelyParse(parts[0]);
-    final int execCount = safelyParse(parts[1]);
-    lineCounts.add(new LineCount(lineNum, execCount));
+  /**
+   * Returns the offset just past the first <code>end_of_record</code> line at or after {@param from}.
+   */
+  private static int nextRecordStart(byte @NotNull [] contents, int from) {
+    int pos = from;
+    // Start at a line boundary.
+    while (pos > 0 && pos < contents.length && contents[pos - 1] != '\n') {
+      pos++;
+    }
+    while (pos < contents.length) {
+      final int lineEnd = lineEnd(contents, pos, contents.length);
+      final int start = skipWhitespace(contents, pos, lineEnd);
+      pos = lineEnd + 1;
+      if (startsWith(contents, start, lineEnd, END_LABEL)) {
+        return Math.min(pos, contents.length);
+      }
+    }
+    return contents.length;
   }
 
-  private static int safelyParse(String val) {
-    try {
-      return Integer.parseInt(val);
+  @NotNull
+  private static Map<String, int[]> parse(byte @NotNull [] contents, int from, int to, @NotNull String base) {
+    final Map<String, int[]> result = new HashMap<>();
+    String currentFile = null;
+    int[] counts = null;
+
+    int pos = from;
+    while (pos < to) {
+      final int lineEnd = lineEnd(contents, pos, to);
+      final int start = skipWhitespace(contents, pos, lineEnd);
+      int end = lineEnd;
+      while (end > start && contents[end - 1] <= ' ') {
+        end--;
+      }
+      pos = lineEnd + 1;
+
+      if (startsWith(contents, start, end, DATA_LABEL)) {
+        if (counts == null) continue;
+        int i = start + DATA_LABEL.length;
+        final int comma = indexOf(contents, i, end, (byte)',');
+        if (comma < 0) continue;
+        final int lineNum = (int)Math.min(parseNumber(contents, i, comma), Integer.MAX_VALUE - 1);
+        i = comma + 1;
+        int countEnd = indexOf(contents, i, end, (byte)',');
+        if (countEnd < 0) countEnd = end;
+        final int execCount = (int)Math.min(parseNumber(contents, i, countEnd), Integer.MAX_VALUE);
+        counts = setCount(counts, lineNum, execCount);
+      }
+      else if (startsWith(contents, start, end, FILE_LABEL)) {
+        currentFile = fullPath(base, new String(contents, start + FILE_LABEL.length, end - start - FILE_LABEL.length,
+                                                StandardCharsets.UTF_8));
+        counts = new int[64];
+        Arrays.fill(counts, NO_DATA);
+      }
+      else if (startsWith(contents, start, end, END_LABEL) && end - start == END_LABEL.length) {
+        if (currentFile != null) {
+          final int[] previous = result.get(currentFile);
+          result.put(currentFile, previous == null ? counts : add(previous, counts));
+        }
+        currentFile = null;
+        counts = null;
+      }
     }
-    catch (NumberFormatException ex) {
-      return 0;
+    return result;
+  }
+
+  /**
+   * Adds the counts in {@param from} to {@param into}, and returns {@param into}.
+   * <p>
+   * The count arrays are reused, so neither map should be used on its own afterwards.
+   */
+  @NotNull
+  static Map<String, int[]> merge(@NotNull Map<String, int[]> into, @NotNull Map<String, int[]> from) {
+    for (Map.Entry<String, int[]> entry : from.entrySet()) {
+      into.merge(entry.getKey(), entry.getValue(), LcovInfo::add);
     }
+    return into;
   }
 
-  private void storeLineCounts() {
-    final String path = fullPath(currentFile.toString());
-    counts.put(path, lineCounts);
+  /**
+   * Adds up two arrays of counts, reusing the longer one for the result.
+   */
+  private static int @NotNull [] add(int @NotNull [] into, int @NotNull [] from) {
+    if (from.length > into.length) {
+      final int[] swap = into;
+      into = from;
+      from = swap;
+    }
+    for (int lineNum = 0; lineNum < from.length; lineNum++) {
+      if (from[lineNum] == NO_DATA) continue;
+      into[lineNum] = into[lineNum] == NO_DATA ? from[lineNum] : (int)Math.min((long)into[lineNum] + from[lineNum], Integer.MAX_VALUE);
+    }
+    return into;
   }
 
-  private static String fullPath(String path) {
-    String absPath = new File(path).getAbsolutePath();
-    if (SystemInfo.isWindows) {
-      absPath = absPath.replaceAll("\\\\", "/");
+  private static int @NotNull [] setCount(int @NotNull [] counts, int lineNum, int execCount) {
+    if (lineNum >= counts.length) {
+      final int oldLength = counts.length;
+      counts = Arrays.copyOf(counts, Math.max(lineNum + 1, oldLength * 2));
+      Arrays.fill(counts, oldLength, counts.length, NO_DATA);
     }
-    return absPath;
+    counts[lineNum] = counts[lineNum] == NO_DATA ? execCount : (int)Math.min((long)counts[lineNum] + execCount, Integer.MAX_VALUE);
+    return counts;
+  }
+
+  /**
+   * Parses a non-negative decimal number, or returns 0 if the bytes aren't one.
+   */
+  private static long parseNumber(byte @NotNull [] contents, int from, int to) {
+    if (from >= to) return 0;
+    long value = 0;
+    for (int i = from; i < to; i++) {
+      final int digit = contents[i] - '0';
+      if (digit < 0 || digit > 9) return 0;
+      value = value * 10 + digit;
+      if (value > Integer.MAX_VALUE) return Integer.MAX_VALUE;
+    }
+    return value;
   }
 
-  private static class LineCount {
-    int lineNum;
-    int execCount;
+  private static int lineEnd(byte @NotNull [] contents, int from, int to) {
+    final int newline = indexOf(contents, from, to, (byte)'\n');
+    return newline < 0 ? to : newline;
+  }
 
-    public LineCount(int num, int count) {
-      lineNum = num;
-      execCount = count;
+  private static int skipWhitespace(byte @NotNull [] contents, int from, int to) {
+    while (from < to && contents[from] <= ' ') {
+      from++;
     }
+    return from;
+  }
+
+  private static int indexOf(byte @NotNull [] contents, int from, int to, byte b) {
+    for (int i = from; i < to; i++) {
+      if (contents[i] == b) return i;
+    }
+    return -1;
+  }
+
+  private static boolean startsWith(byte @NotNull [] contents, int from, int to, byte @NotNull [] prefix) {
+    if (to - from < prefix.length) return false;
+    for (int i = 0; i < prefix.length; i++) {
+      if (contents[from + i] != prefix[i]) return false;
+    }
+    return true;
+  }
+
+  @NotNull
+  private static String fullPath(@NotNull String base, @NotNull String sourceFile) {
+    final File file = new File(base, sourceFile);
+    final URI normalize = file.toURI().normalize();
+    String absPath = Paths.get(normalize).toFile().getAbsolutePath();
+    if (SystemInfo.isWindows) {
+      absPath = absPath.replace('\\', '/');
+    }
+    return absPath;
   }
-}
\ No newline at end of file
+}
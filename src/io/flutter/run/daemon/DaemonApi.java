@@ -20,6 +20,7 @@ import io.flutter.utils.StdoutJsonParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -62,7 +63,7 @@ public class DaemonApi {
    * Creates an Api that sends JSON to a process.
    */
   DaemonApi(@NotNull ProcessHandler process) {
-    this((String json) -> sendCommand(json, process));
+    this(new StdinWriter(process)::write);
   }
 
   CompletableFuture<List<String>> daemonGetSupportedPlatforms(@NotNull String projectRoot) {
@@ -284,30 +285,39 @@ public class DaemonApi {
     }
   }
 
-  private static void sendCommand(String json, ProcessHandler handler) {
-    final PrintWriter stdin = getStdin(handler);
-    if (stdin == null) {
-      FlutterUtils.warn(LOG, "can't write command to Flutter process: " + json);
-      return;
-    }
-    stdin.write('[');
-    stdin.write(json);
-    stdin.write("]\n");
+  /**
+   * Writes commands to a process's stdin through one writer, created when the first command is sent.
+   */
+  private static class StdinWriter {
+    @NotNull private final ProcessHandler handler;
+    @Nullable private PrintWriter stdin;
 
-    if (FlutterSettings.getInstance().isVerboseLogging()) {
-      LOG.info("[--> " + json + "]");
+    StdinWriter(@NotNull ProcessHandler handler) {
+      this.handler = handler;
     }
 
-    if (stdin.checkError()) {
-      FlutterUtils.warn(LOG, "can't write command to Flutter process: " + json);
-    }
-  }
+    synchronized void write(@NotNull String json) {
+      if (stdin == null) {
+        final OutputStream output = handler.getProcessInput();
+        if (output == null) {
+          FlutterUtils.warn(LOG, "can't write command to Flutter process: " + json);
+          return;
+        }
+        stdin = new PrintWriter(new BufferedWriter(new OutputStreamWriter(output, Charsets.UTF_8)));
+      }
+      stdin.write('[');
+      stdin.write(json);
+      stdin.write("]\n");
 
-  @Nullable
-  private static PrintWriter getStdin(ProcessHandler processHandler) {
-    final OutputStream stdin = processHandler.getProcessInput();
-    if (stdin == null) return null;
-    return new PrintWriter(new OutputStreamWriter(stdin, Charsets.UTF_8));
+      if (FlutterSettings.getInstance().isVerboseLogging()) {
+        LOG.info("[--> " + json + "]");
+      }
+
+      // Flushes the command.
+      if (stdin.checkError()) {
+        FlutterUtils.warn(LOG, "can't write command to Flutter process: " + json);
+      }
+    }
   }
 
   public static class RestartResult {
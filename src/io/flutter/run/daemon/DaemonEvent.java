@@ -6,11 +6,14 @@
 package io.flutter.run.daemon;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.util.text.StringUtil;
+import io.flutter.utils.JsonUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,6 +51,11 @@ abstract class DaemonEvent {
     event.accept(listener);
   }
 
+  /**
+   * Decodes the parameters of an event.
+   * <p>
+   * The events a running app sends most often are read field by field; the rest are decoded with GSON.
+   */
   @Nullable
   static DaemonEvent create(@NotNull String eventName, @NotNull JsonObject params) {
     try {
@@ -59,15 +67,15 @@ abstract class DaemonEvent {
         case "app.start" -> GSON.fromJson(params, AppStarting.class);
         case "app.debugPort" -> GSON.fromJson(params, AppDebugPort.class);
         case "app.started" -> GSON.fromJson(params, AppStarted.class);
-        case "app.log" -> GSON.fromJson(params, AppLog.class);
-        case "app.progress" -> GSON.fromJson(params, AppProgress.class);
+        case "app.log" -> AppLog.decode(params);
+        case "app.progress" -> AppProgress.decode(params);
         case "app.stop" -> GSON.fromJson(params, AppStopped.class);
-        case "device.added" -> GSON.fromJson(params, DeviceAdded.class);
-        case "device.removed" -> GSON.fromJson(params, DeviceRemoved.class);
+        case "device.added" -> DeviceAdded.decode(params);
+        case "device.removed" -> DeviceRemoved.decode(params);
         default -> null; // Drop an unknown event.
       };
     }
-    catch (JsonSyntaxException e) {
+    catch (JsonSyntaxException | IllegalStateException | UnsupportedOperationException e) {
       LOG.info("Unexpected parameters in event from flutter process: " + params);
       return null;
     }
@@ -75,6 +83,12 @@ abstract class DaemonEvent {
 
   abstract void accept(Listener listener);
 
+  @Nullable
+  private static Boolean getBooleanMember(@NotNull JsonObject json, @NotNull String memberName) {
+    final JsonElement value = json.get(memberName);
+    return value == null || value instanceof JsonNull ? null : value.getAsBoolean();
+  }
+
   @Override
   public String toString() {
     return GSON.toJson(this, getClass());
@@ -229,6 +243,15 @@ abstract class DaemonEvent {
     String log;
     boolean error;
 
+    @NotNull
+    static AppLog decode(@NotNull JsonObject params) {
+      final AppLog event = new AppLog();
+      event.appId = JsonUtils.getStringMember(params, "appId");
+      event.log = JsonUtils.getStringMember(params, "log");
+      event.error = Boolean.TRUE.equals(getBooleanMember(params, "error"));
+      return event;
+    }
+
     void accept(Listener listener) {
       listener.onAppLog(this);
     }
@@ -251,6 +274,17 @@ abstract class DaemonEvent {
 
     private Boolean finished;
 
+    @NotNull
+    static AppProgress decode(@NotNull JsonObject params) {
+      final AppProgress event = new AppProgress();
+      event.appId = JsonUtils.getStringMember(params, "appId");
+      event.id = JsonUtils.getStringMember(params, "id");
+      event.progressId = JsonUtils.getStringMember(params, "progressId");
+      event.message = JsonUtils.getStringMember(params, "message");
+      event.finished = getBooleanMember(params, "finished");
+      return event;
+    }
+
     @NotNull
     String getType() {
       return StringUtil.notNullize(progressId);
@@ -298,6 +332,20 @@ abstract class DaemonEvent {
     @Nullable String platformType;
     @Nullable Boolean ephemeral;
 
+    @NotNull
+    static DeviceAdded decode(@NotNull JsonObject params) {
+      final DeviceAdded event = new DeviceAdded();
+      event.id = JsonUtils.getStringMember(params, "id");
+      event.name = JsonUtils.getStringMember(params, "name");
+      event.platform = JsonUtils.getStringMember(params, "platform");
+      event.emulatorId = JsonUtils.getStringMember(params, "emulatorId");
+      event.emulator = getBooleanMember(params, "emulator");
+      event.category = JsonUtils.getStringMember(params, "category");
+      event.platformType = JsonUtils.getStringMember(params, "platformType");
+      event.ephemeral = getBooleanMember(params, "ephemeral");
+      return event;
+    }
+
     void accept(Listener listener) {
       listener.onDeviceAdded(this);
     }
@@ -310,6 +358,16 @@ abstract class DaemonEvent {
     String platform;
     boolean emulator;
 
+    @NotNull
+    static DeviceRemoved decode(@NotNull JsonObject params) {
+      final DeviceRemoved event = new DeviceRemoved();
+      event.id = JsonUtils.getStringMember(params, "id");
+      event.name = JsonUtils.getStringMember(params, "name");
+      event.platform = JsonUtils.getStringMember(params, "platform");
+      event.emulator = Boolean.TRUE.equals(getBooleanMember(params, "emulator"));
+      return event;
+    }
+
     void accept(Listener listener) {
       listener.onDeviceRemoved(this);
     }
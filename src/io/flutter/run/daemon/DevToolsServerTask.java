@@ -23,12 +23,14 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
 import com.intellij.openapi.project.ProjectManagerListener;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.registry.Registry;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.jetbrains.lang.dart.ide.devtools.DartDevToolsService;
 import com.jetbrains.lang.dart.ide.toolingDaemon.DartToolingDaemonService;
 import io.flutter.FlutterMessages;
@@ -49,12 +51,17 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 class DevToolsServerTask extends Task.Backgroundable {
   private @NotNull static final Logger LOG = PluginLogger.createLogger(DevToolsServerTask.class);
   public @NotNull static final String LOCAL_DEVTOOLS_DIR = "flutter.local.devtools.dir";
   public @NotNull static final String LOCAL_DEVTOOLS_ARGS = "flutter.local.devtools.args";
+  public @NotNull static final String DEVTOOLS_START_TIMEOUT_SECONDS = "flutter.devtools.start.timeout.seconds";
+  private static final long DEVTOOLS_CHECK_INTERVAL_MS = 100;
   private @NotNull final Project project;
   private @NotNull final AtomicReference<CompletableFuture<DevToolsInstance>> devToolsFutureRef;
 
@@ -99,15 +106,25 @@ class DevToolsServerTask extends Task.Backgroundable {
       }
 
       // Wait for the Dart Plugin to start the DevTools server.
-      final CompletableFuture<DevToolsInstance> devToolsFuture = checkForDartPluginInitiatedDevToolsWithRetries(progressIndicator);
-      devToolsFuture.whenComplete((devTools, error) -> {
-        if (error != null) {
-          cancelWithError(new Exception(error));
-        }
-        else {
-          devToolsFutureRef.get().complete(devTools);
+      // Keep the task, and its progress and Cancel button, alive until the server is up.
+      final CompletableFuture<DevToolsInstance> devToolsFuture = waitForDartPluginInitiatedDevTools(progressIndicator);
+      try {
+        ProgressIndicatorUtils.awaitWithCheckCanceled(devToolsFuture.handle((devTools, error) -> null), progressIndicator);
+      }
+      catch (ProcessCanceledException e) {
+        devToolsFuture.cancel(false);
+        final CompletableFuture<DevToolsInstance> future = devToolsFutureRef.get();
+        if (future != null) {
+          future.completeExceptionally(new Exception("DevTools server start-up was cancelled."));
         }
-      });
+        throw e;
+      }
+      if (devToolsFuture.isCompletedExceptionally()) {
+        cancelWithError(new Exception(devToolsFuture.exceptionNow()));
+      }
+      else {
+        devToolsFutureRef.get().complete(devToolsFuture.resultNow());
+      }
     }
     catch (java.util.concurrent.ExecutionException | InterruptedException e) {
       cancelWithError(e);
@@ -180,31 +197,40 @@ class DevToolsServerTask extends Task.Backgroundable {
     }
   }
 
-  private CompletableFuture<DevToolsInstance> checkForDartPluginInitiatedDevToolsWithRetries(@NotNull ProgressIndicator progressIndicator)
-    throws InterruptedException {
+  /**
+   * Returns a future that completes once the Dart plugin has started DevTools.
+   * <p>
+   * The Dart plugin doesn't announce when DevTools is up, so this checks for it frequently on a shared scheduler,
+   * rather than sleeping between tries on this task's thread.
+   */
+  private @NotNull CompletableFuture<DevToolsInstance> waitForDartPluginInitiatedDevTools(@NotNull ProgressIndicator progressIndicator) {
     progressIndicator.setText2("Waiting for server with DTD");
     final CompletableFuture<DevToolsInstance> devToolsFuture = new CompletableFuture<>();
+    final long startNanos = System.nanoTime();
 
-    final long msBetweenRetries = 1500;
-    int retries = 0;
-    while (retries < 10) {
-      retries++;
-      final double currentProgress = progressIndicator.getFraction();
-      progressIndicator.setFraction(Math.min(currentProgress + 10, 95));
-
-      final @Nullable DevToolsInstance devTools = createDevToolsInstanceFromDartPluginUri();
-      if (devTools != null) {
-        LOG.debug("Dart plugin DevTools ready after " + retries + " tries.");
-        devToolsFuture.complete(devTools);
-        return devToolsFuture;
+    final ScheduledExecutorService scheduler = AppExecutorUtil.getAppScheduledExecutorService();
+    final ScheduledFuture<?> check = scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        final @Nullable DevToolsInstance devTools = createDevToolsInstanceFromDartPluginUri();
+        if (devTools != null) {
+          LOG.debug("Dart plugin DevTools ready after " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms.");
+          devToolsFuture.complete(devTools);
+        }
       }
-      else {
-        LOG.debug("Dart plugin DevTools not ready after " + retries + " tries.");
-        Thread.sleep(msBetweenRetries);
+      catch (RuntimeException e) {
+        devToolsFuture.completeExceptionally(e);
       }
-    }
+    }, 0, DEVTOOLS_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+    final int timeoutSeconds = Registry.intValue(DEVTOOLS_START_TIMEOUT_SECONDS, 15);
+    final ScheduledFuture<?> timeout = scheduler.schedule(
+      () -> devToolsFuture.completeExceptionally(new Exception("Timed out waiting for Dart plugin to start DevTools.")),
+      timeoutSeconds, TimeUnit.SECONDS);
 
-    devToolsFuture.completeExceptionally(new Exception("Timed out waiting for Dart plugin to start DevTools."));
+    devToolsFuture.whenComplete((devTools, error) -> {
+      check.cancel(false);
+      timeout.cancel(false);
+    });
     return devToolsFuture;
   }
 
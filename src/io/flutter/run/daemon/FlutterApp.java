@@ -46,6 +46,7 @@ import io.flutter.run.FlutterLaunchMode;
 import io.flutter.run.common.RunMode;
 import io.flutter.settings.FlutterSettings;
 import io.flutter.utils.*;
+import io.flutter.vmService.FrameTimings;
 import io.flutter.vmService.ServiceExtensions;
 import io.flutter.vmService.VMServiceManager;
 import org.dartlang.vm.service.VmService;
@@ -80,6 +81,7 @@ public class FlutterApp implements Disposable {
 
   private @Nullable String myAppId;
   private @Nullable String myWsUrl;
+  private final @NotNull CompletableFuture<String> myWsUrlFuture = new CompletableFuture<>();
   private @Nullable String myBaseUri;
   private @Nullable ConsoleView myConsole;
   private FlutterConsoleLogManager myFlutterConsoleLogManager;
@@ -104,6 +106,7 @@ public class FlutterApp implements Disposable {
   private final EventDispatcher<FlutterAppListener> listenersDispatcher = EventDispatcher.create(FlutterAppListener.class);
 
   private final ObservatoryConnector myConnector;
+  private final @NotNull FrameTimings myFrameTimings = new FrameTimings();
   private @Nullable FlutterDebugProcess myFlutterDebugProcess;
   private @Nullable VmService myVmService;
   private @Nullable VMServiceManager myVMServiceManager;
@@ -143,6 +146,12 @@ public class FlutterApp implements Disposable {
         return myWsUrl;
       }
 
+      @Override
+      public @NotNull CompletableFuture<String> getWebSocketUrlFuture() {
+        // A copy, so that a caller that stops waiting doesn't cancel it for everyone.
+        return myWsUrlFuture.copy();
+      }
+
       public @Nullable
       String getBrowserUrl() {
         String url = myWsUrl;
@@ -311,6 +320,21 @@ public class FlutterApp implements Disposable {
 
   void setWsUrl(@NotNull String url) {
     myWsUrl = url;
+    completeWsUrlFuture();
+  }
+
+  /**
+   * Hands the WebSocket URL to anyone waiting for it, once the app has both reported it and finished starting up.
+   */
+  private void completeWsUrlFuture() {
+    final String url = myWsUrl;
+    final State state = myState.get();
+    if (url != null && state == State.STARTED) {
+      myWsUrlFuture.complete(url);
+    }
+    else if (state == State.TERMINATED) {
+      myWsUrlFuture.completeExceptionally(new IllegalStateException("The app terminated before its VM service was available"));
+    }
   }
 
   void setBaseUri(@NotNull String uri) {
@@ -483,6 +507,7 @@ public class FlutterApp implements Disposable {
     if (oldState == newState) {
       return false; // debounce
     }
+    completeWsUrlFuture();
     listenersDispatcher.getMulticaster().stateChanged(newState);
     return true;
   }
@@ -590,6 +615,7 @@ public class FlutterApp implements Disposable {
       public void received(String streamId, Event event) {
         if (StringUtil.equals(streamId, VmService.EXTENSION_STREAM_ID)) {
           if (StringUtil.equals("Flutter.Frame", event.getExtensionKind())) {
+            myFrameTimings.recordFrameEvent(event);
             listenersDispatcher.getMulticaster().notifyFrameRendered();
           }
         }
@@ -602,6 +628,14 @@ public class FlutterApp implements Disposable {
     getFlutterConsoleLogManager();
   }
 
+  /**
+   * Returns the timings of the app's recent frames, as reported by its Flutter.Frame events.
+   */
+  @NotNull
+  public FrameTimings getFrameTimings() {
+    return myFrameTimings;
+  }
+
   @Nullable
   public VmService getVmService() {
     return myVmService;
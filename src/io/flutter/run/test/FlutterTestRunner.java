@@ -38,6 +38,7 @@ import io.flutter.settings.FlutterSettings;
 import io.flutter.utils.JsonUtils;
 import io.flutter.utils.StdoutJsonParser;
 import io.flutter.utils.VmServiceListenerAdapter;
+import io.flutter.vmService.ConsoleVmServiceLogger;
 import io.flutter.vmService.VmServiceConsumers;
 import io.flutter.vmService.VmServiceConsumers.EmptyResumeConsumer;
 import org.dartlang.vm.service.VmService;
@@ -118,7 +119,11 @@ public class FlutterTestRunner extends GenericProgramRunner {
       final VmService vmService;
 
       try {
-        vmService = VmService.connect(url);
+        vmService = VmService.connect(url, new ConsoleVmServiceLogger(LOG, (text) -> {
+          if (!launcher.isTerminated()) {
+            launcher.notifyTextAvailable(text, ProcessOutputTypes.STDERR);
+          }
+        }));
       }
       catch (IOException | RuntimeException e) {
         if (!launcher.isTerminated()) {
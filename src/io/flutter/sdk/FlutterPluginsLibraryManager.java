@@ -122,7 +122,7 @@ public class FlutterPluginsLibraryManager extends AbstractLibraryManager<Flutter
   private void updateFlutterPluginsImpl() {
     Project project = getProject();
 
-    ReadAction.nonBlocking(() -> getFlutterPluginPaths(PubRoots.forProject(project)))
+    ReadAction.nonBlocking(() -> getFlutterPluginPaths(project, PubRoots.forProject(project)))
       .expireWith(FlutterDartAnalysisServer.getInstance(project))
       .finishOnUiThread(ModalityState.nonModal(), flutterPluginPaths -> {
         if (flutterPluginPaths == null) return;
@@ -135,11 +135,11 @@ public class FlutterPluginsLibraryManager extends AbstractLibraryManager<Flutter
       .submit(AppExecutorUtil.getAppExecutorService());
   }
 
-  private static @NotNull Set<@NotNull String> getFlutterPluginPaths(@NotNull List<@NotNull PubRoot> roots) {
+  private static @NotNull Set<@NotNull String> getFlutterPluginPaths(@NotNull Project project, @NotNull List<@NotNull PubRoot> roots) {
     final Set<String> paths = new HashSet<>();
 
     for (PubRoot pubRoot : roots) {
-      final var packagesMap = pubRoot.getPackagesMap();
+      final var packagesMap = pubRoot.getPackagesMap(project);
       if (packagesMap == null) {
         continue;
       }
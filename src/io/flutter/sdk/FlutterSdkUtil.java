@@ -6,10 +6,6 @@
 package io.flutter.sdk;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.intellij.execution.ExecutionException;
 import com.intellij.ide.util.PropertiesComponent;
 import com.intellij.openapi.application.ApplicationManager;
@@ -27,10 +23,11 @@ import com.intellij.util.Urls;
 import com.jetbrains.lang.dart.sdk.DartSdkUpdateOption;
 import io.flutter.FlutterBundle;
 import io.flutter.dart.DartPlugin;
+import io.flutter.pub.PackageConfig;
+import io.flutter.pub.PackageConfigIndex;
 import io.flutter.pub.PubRoot;
 import io.flutter.pub.PubRoots;
 import io.flutter.utils.FlutterModuleUtils;
-import io.flutter.utils.JsonUtils;
 import io.flutter.utils.OpenApiUtils;
 import io.flutter.utils.SystemUtils;
 import org.jetbrains.annotations.NotNull;
@@ -39,8 +36,6 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.*;
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.*;
 
 public class FlutterSdkUtil {
@@ -271,18 +266,15 @@ public class FlutterSdkUtil {
   @Nullable
   public static String guessFlutterSdkFromPackagesFile(@NotNull Module module) {
     // First, look for .dart_tool/package_config.json
-    final JsonArray packages = getPackagesFromPackageConfig(PubRoots.forModule(module));
-    for (int i = 0; i < packages.size(); i++) {
-      final JsonObject pack = packages.get(i).getAsJsonObject();
-      if ("flutter".equals(JsonUtils.getStringMember(pack, "name"))) {
-        final String uri = JsonUtils.getStringMember(pack, "rootUri");
-        if (uri == null) {
-          continue;
-        }
-        final String path = extractSdkPathFromUri(uri, false);
-        if (path == null) {
-          continue;
-        }
+    final PackageConfigIndex index = PackageConfigIndex.getInstance(module.getProject());
+    for (PubRoot pubRoot : PubRoots.forModule(module)) {
+      final PackageConfig config = index.getPackageConfig(pubRoot);
+      final PackageConfig.Package flutter = config == null ? null : config.getPackage("flutter");
+      if (flutter == null) {
+        continue;
+      }
+      final String path = extractSdkPathFromUri(flutter.rootUri(), false);
+      if (path != null) {
         return path;
       }
     }
@@ -312,52 +304,17 @@ public class FlutterSdkUtil {
       // TODO(messick): Configure the test framework to have proper pub data so we don't need this.
       return "testData/sdk";
     }
-    final JsonArray packages = getPackagesFromPackageConfig(PubRoots.forProject(project));
-    for (int i = 0; i < packages.size(); i++) {
-      final JsonObject pack = packages.get(i).getAsJsonObject();
-      if ("cupertino_icons".equals(JsonUtils.getStringMember(pack, "name"))) {
-        final String uri = JsonUtils.getStringMember(pack, "rootUri");
-        if (uri == null) {
-          continue;
-        }
-        try {
-          return new URI(uri).getPath();
-        }
-        catch (URISyntaxException ignored) {
-        }
+    final PackageConfigIndex index = PackageConfigIndex.getInstance(project);
+    for (PubRoot pubRoot : PubRoots.forProject(project)) {
+      final PackageConfig config = index.getPackageConfig(pubRoot);
+      final String path = config == null ? null : config.getRootPath("cupertino_icons");
+      if (path != null) {
+        return path;
       }
     }
     return null;
   }
 
-  private static JsonArray getPackagesFromPackageConfig(@NotNull List<PubRoot> pubRoots) {
-    final JsonArray entries = new JsonArray();
-    for (PubRoot pubRoot : pubRoots) {
-      final VirtualFile configFile = pubRoot.getPackageConfigFile();
-      if (configFile == null) {
-        continue;
-      }
-      // parse it
-      try {
-        final String contents = new String(configFile.contentsToByteArray(true /* cache contents */));
-        final JsonElement element = JsonParser.parseString(contents);
-        if (element == null) {
-          continue;
-        }
-        final JsonObject json = element.getAsJsonObject();
-        if (JsonUtils.getIntMember(json, "configVersion") < 2) continue;
-        final JsonArray packages = json.getAsJsonArray("packages");
-        if (packages == null || packages.isEmpty()) {
-          continue;
-        }
-        entries.addAll(packages);
-      }
-      catch (IOException ignored) {
-      }
-    }
-    return entries;
-  }
-
   @VisibleForTesting
   public static String parseFlutterSdkPath(String packagesFileContent) {
     for (String line : packagesFileContent.split("\n")) {
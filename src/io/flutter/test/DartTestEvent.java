@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.test;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * An event written by the package:test JSON reporter, decoded with a streaming reader.
+ * <p>
+ * Only the fields {@link DartTestEventsConverterZ} uses are kept; anything else is skipped without being built
+ * into a tree. See https://github.com/dart-lang/test/blob/master/pkgs/test/doc/json_reporter.md for the protocol.
+ */
+final class DartTestEvent {
+  static final int NONE = -1;
+
+  @Nullable String type;
+  long time;
+  boolean hasTime;
+  int testID = NONE;
+  @Nullable String result;
+  @Nullable String error;
+  @Nullable String stackTrace;
+  @Nullable String message;
+  int count = NONE;
+  @Nullable Definition test;
+  @Nullable Definition group;
+  @Nullable Definition suite;
+
+  /**
+   * The definition of a test, group or suite.
+   */
+  static final class Definition {
+    int id = NONE;
+    @Nullable String name;
+    int suiteID = NONE;
+    int parentID = NONE;
+    int lastGroupID = NONE;
+    int testCount = NONE;
+    int line = NONE;
+    int column = NONE;
+    @Nullable String url;
+    int rootLine = NONE;
+    int rootColumn = NONE;
+    @Nullable String rootUrl;
+    @Nullable String path;
+    @Nullable String platform;
+    boolean skip;
+    @Nullable String skipReason;
+  }
+
+  /**
+   * Returns true if {@param text} may be a JSON document, judging by its first non-whitespace character.
+   * <p>
+   * Most lines written by a test run are plain output, and this saves trying to parse them.
+   */
+  static boolean mayBeJson(@NotNull String text) {
+    for (int i = 0; i < text.length(); i++) {
+      final char ch = text.charAt(i);
+      if (!Character.isWhitespace(ch)) {
+        return ch == '{' || ch == '[';
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decodes a line that holds a single JSON object, or returns null if it isn't one.
+   */
+  @Nullable
+  static DartTestEvent decode(@NotNull String text) {
+    try (JsonReader reader = new JsonReader(new StringReader(text))) {
+      // Match JsonParser, which the plain text check used before.
+      reader.setLenient(true);
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+        return null;
+      }
+      final DartTestEvent event = new DartTestEvent();
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "type" -> event.type = readString(reader);
+          case "time" -> {
+            if (reader.peek() == JsonToken.NUMBER) {
+              event.time = reader.nextLong();
+              event.hasTime = true;
+            }
+            else {
+              reader.skipValue();
+            }
+          }
+          case "testID" -> event.testID = readInt(reader);
+          case "result" -> event.result = readString(reader);
+          case "error" -> event.error = readString(reader);
+          case "stackTrace" -> event.stackTrace = readString(reader);
+          case "message" -> event.message = readString(reader);
+          case "count" -> event.count = readInt(reader);
+          case "test" -> event.test = readDefinition(reader);
+          case "group" -> event.group = readDefinition(reader);
+          case "suite" -> event.suite = readDefinition(reader);
+          default -> reader.skipValue();
+        }
+      }
+      reader.endObject();
+      return reader.peek() == JsonToken.END_DOCUMENT ? event : null;
+    }
+    catch (IOException | IllegalStateException | NumberFormatException e) {
+      // Malformed JSON, or a field of an unexpected type; treat the line as plain text.
+      return null;
+    }
+  }
+
+  @Nullable
+  private static Definition readDefinition(@NotNull JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+      reader.skipValue();
+      return null;
+    }
+    final Definition definition = new Definition();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "id" -> definition.id = readInt(reader);
+        case "name" -> definition.name = readString(reader);
+        case "suiteID" -> definition.suiteID = readInt(reader);
+        case "parentID" -> definition.parentID = readInt(reader);
+        case "groupIDs" -> definition.lastGroupID = readLastInt(reader);
+        case "testCount" -> definition.testCount = readInt(reader);
+        case "line" -> definition.line = readInt(reader);
+        case "column" -> definition.column = readInt(reader);
+        case "url" -> definition.url = readString(reader);
+        case "root_line" -> definition.rootLine = readInt(reader);
+        case "root_column" -> definition.rootColumn = readInt(reader);
+        case "root_url" -> definition.rootUrl = readString(reader);
+        case "path" -> definition.path = readString(reader);
+        case "platform" -> definition.platform = readString(reader);
+        case "metadata" -> readMetadata(reader, definition);
+        default -> reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return definition;
+  }
+
+  private static void readMetadata(@NotNull JsonReader reader, @NotNull Definition definition) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+      reader.skipValue();
+      return;
+    }
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "skip" -> {
+          if (reader.peek() == JsonToken.BOOLEAN) {
+            definition.skip = reader.nextBoolean();
+          }
+          else {
+            reader.skipValue();
+          }
+        }
+        case "skipReason" -> definition.skipReason = readString(reader);
+        default -> reader.skipValue();
+      }
+    }
+    reader.endObject();
+  }
+
+  /**
+   * Returns the last element of an array of ints, which for <code>groupIDs</code> is the innermost group.
+   */
+  private static int readLastInt(@NotNull JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+      reader.skipValue();
+      return NONE;
+    }
+    int last = NONE;
+    reader.beginArray();
+    while (reader.hasNext()) {
+      last = reader.nextInt();
+    }
+    reader.endArray();
+    return last;
+  }
+
+  private static int readInt(@NotNull JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.NUMBER) {
+      reader.skipValue();
+      return NONE;
+    }
+    return reader.nextInt();
+  }
+
+  @Nullable
+  private static String readString(@NotNull JsonReader reader) throws IOException {
+    final JsonToken token = reader.peek();
+    if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+      return reader.nextString();
+    }
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(reader.nextBoolean());
+    }
+    reader.skipValue();
+    return null;
+  }
+}
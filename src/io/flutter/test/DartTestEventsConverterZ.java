@@ -12,11 +12,14 @@ import com.intellij.util.PathUtil;
 import com.jetbrains.lang.dart.ide.runner.util.DartTestLocationProvider;
 import com.jetbrains.lang.dart.util.DartUrlResolver;
 import io.flutter.utils.JsonUtils;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import jetbrains.buildServer.messages.serviceMessages.ServiceMessageVisitor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
 import java.text.ParseException;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -43,34 +46,6 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
   private static final String TYPE_TEST_START = "testStart";
   private static final String TYPE_TEST_DONE = "testDone";
 
-  private static final String DEF_GROUP = "group";
-  private static final String DEF_SUITE = "suite";
-  private static final String DEF_TEST = "test";
-  private static final String DEF_METADATA = "metadata";
-
-  private static final String JSON_TYPE = "type";
-  private static final String JSON_NAME = "name";
-  private static final String JSON_ID = "id";
-  private static final String JSON_TEST_ID = "testID";
-  private static final String JSON_SUITE_ID = "suiteID";
-  private static final String JSON_PARENT_ID = "parentID";
-  private static final String JSON_GROUP_IDS = "groupIDs";
-  private static final String JSON_RESULT = "result";
-  private static final String JSON_MILLIS = "time";
-  private static final String JSON_COUNT = "count";
-  private static final String JSON_TEST_COUNT = "testCount";
-  private static final String JSON_MESSAGE = "message";
-  private static final String JSON_ERROR_MESSAGE = "error";
-  private static final String JSON_STACK_TRACE = "stackTrace";
-  private static final String JSON_PATH = "path";
-  private static final String JSON_PLATFORM = "platform";
-  private static final String JSON_LINE = "line";
-  private static final String JSON_COLUMN = "column";
-  private static final String JSON_URL = "url";
-  private static final String JSON_ROOT_LINE = "root_line";
-  private static final String JSON_ROOT_COLUMN = "root_column";
-  private static final String JSON_ROOT_URL = "root_url";
-
   private static final String RESULT_SUCCESS = "success";
   private static final String RESULT_FAILURE = "failure";
   private static final String RESULT_ERROR = "error";
@@ -85,15 +60,22 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
 
   private static final Gson GSON = new Gson();
 
+  /**
+   * How many finished tests to remember, so that an 'error' or 'print' event arriving after 'testDone' can still be
+   * reported against its test.
+   */
+  private static final int MAX_DONE_TESTS = 100;
+
   @NotNull private final DartUrlResolver myUrlResolver;
 
   private String myLocation;
   private Key myCurrentOutputType;
   private ServiceMessageVisitor myCurrentVisitor;
-  private final HashMap<Integer, Long> myTestIdToTimestamp;
-  private final Map<Integer, Test> myTestData;
-  private final Map<Integer, Group> myGroupData;
-  private final Map<Integer, Suite> mySuiteData;
+  private final Int2LongOpenHashMap myTestIdToTimestamp;
+  private final Int2ObjectOpenHashMap<Test> myTestData;
+  private final Int2ObjectLinkedOpenHashMap<Test> myDoneTestData;
+  private final Int2ObjectOpenHashMap<Group> myGroupData;
+  private final Int2ObjectOpenHashMap<Suite> mySuiteData;
   private int mySuitCount;
 
   public DartTestEventsConverterZ(@NotNull final String testFrameworkName,
@@ -101,10 +83,11 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
                                   @NotNull final DartUrlResolver urlResolver) {
     super(testFrameworkName, consoleProperties);
     myUrlResolver = urlResolver;
-    myTestIdToTimestamp = new HashMap<>();
-    myTestData = new HashMap<>();
-    myGroupData = new HashMap<>();
-    mySuiteData = new HashMap<>();
+    myTestIdToTimestamp = new Int2LongOpenHashMap();
+    myTestData = new Int2ObjectOpenHashMap<>();
+    myDoneTestData = new Int2ObjectLinkedOpenHashMap<>();
+    myGroupData = new Int2ObjectOpenHashMap<>();
+    mySuiteData = new Int2ObjectOpenHashMap<>();
   }
 
   @Override
@@ -117,28 +100,54 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return processEventText(text);
   }
 
-  @SuppressWarnings("SimplifiableIfStatement")
-  private boolean processEventText(final String text) throws JsonSyntaxException, ParseException {
-    JsonElement elem;
-    try {
-      elem = JsonUtils.parseString(text);
-    }
-    catch (JsonSyntaxException ex) {
-      if (text.contains("\"json\" is not an allowed value for option \"reporter\"")) {
-        final ServiceMessageBuilder testStarted = ServiceMessageBuilder.testStarted("Failed to start");
-        final ServiceMessageBuilder testFailed = ServiceMessageBuilder.testFailed("Failed to start");
-        testFailed.addAttribute("message", "Please update your pubspec.yaml dependency on package:test to version 0.12.9 or later.");
-        final ServiceMessageBuilder testFinished = ServiceMessageBuilder.testFinished("Failed to start");
-        return finishMessage(testStarted, 1, 0) & finishMessage(testFailed, 1, 0) & finishMessage(testFinished, 1, 0);
+  private boolean processEventText(final String text) throws ParseException {
+    // Most lines are plain output; only lines that start like JSON are decoded.
+    if (DartTestEvent.mayBeJson(text)) {
+      final DartTestEvent event = DartTestEvent.decode(text);
+      if (event != null && event.type != null) {
+        if (isForForgottenTest(event)) {
+          // The test finished too long ago to be remembered; show the event as output rather than failing on it.
+          return doProcessServiceMessages(text);
+        }
+        return process(event, event.type);
+      }
+      if (text.trim().startsWith("[")) {
+        final JsonElement elem = parseArray(text);
+        if (elem != null) {
+          return process(elem.getAsJsonArray());
+        }
       }
+    }
 
-      return doProcessServiceMessages(text);
+    if (text.contains("\"json\" is not an allowed value for option \"reporter\"")) {
+      final ServiceMessageBuilder testStarted = ServiceMessageBuilder.testStarted("Failed to start");
+      final ServiceMessageBuilder testFailed = ServiceMessageBuilder.testFailed("Failed to start");
+      testFailed.addAttribute("message", "Please update your pubspec.yaml dependency on package:test to version 0.12.9 or later.");
+      final ServiceMessageBuilder testFinished = ServiceMessageBuilder.testFinished("Failed to start");
+      return finishMessage(testStarted, 1, 0) & finishMessage(testFailed, 1, 0) & finishMessage(testFinished, 1, 0);
     }
 
-    if (elem != null && elem.isJsonArray()) return process(elem.getAsJsonArray());
+    return doProcessServiceMessages(text);
+  }
 
-    if (elem == null || !elem.isJsonObject()) return false;
-    return process(elem.getAsJsonObject());
+  @Nullable
+  private static JsonElement parseArray(@NotNull String text) {
+    try {
+      final JsonElement elem = JsonUtils.parseString(text);
+      return elem != null && elem.isJsonArray() ? elem : null;
+    }
+    catch (JsonSyntaxException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns true for 'error' and 'print' events that refer to a test that is no longer remembered.
+   */
+  private boolean isForForgottenTest(@NotNull DartTestEvent event) {
+    if (!TYPE_ERROR.equals(event.type) && !TYPE_PRINT.equals(event.type)) return false;
+    if (event.test != null || event.testID == DartTestEvent.NONE) return false;
+    return !myTestData.containsKey(event.testID) && !myDoneTestData.containsKey(event.testID);
   }
 
   /**
@@ -153,8 +162,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return super.processServiceMessages(text, myCurrentOutputType, myCurrentVisitor);
   }
 
-  private boolean process(JsonObject obj) throws JsonSyntaxException, ParseException {
-    String type = obj.get(JSON_TYPE).getAsString();
+  private boolean process(@NotNull DartTestEvent obj, @NotNull String type) throws ParseException {
     if (TYPE_TEST_START.equals(type)) {
       return handleTestStart(obj);
     }
@@ -187,10 +195,8 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     }
   }
 
-  private boolean handleTestStart(JsonObject obj) throws ParseException {
-    final JsonObject testObj = obj.getAsJsonObject(DEF_TEST);
-
-    // Not reached if testObj == null.
+  private boolean handleTestStart(DartTestEvent obj) throws ParseException {
+    // Not reached if obj.test == null.
     final Test test = getTest(obj);
     myTestIdToTimestamp.put(test.getId(), getTimestamp(obj));
 
@@ -220,7 +226,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     addLocationHint(testStarted, test);
     boolean result = finishMessage(testStarted, test.getId(), test.getValidParentId());
 
-    final Metadata metadata = Metadata.from(testObj.getAsJsonObject(DEF_METADATA));
+    final Metadata metadata = test.getMetadata();
     if (metadata.skip) {
       final ServiceMessageBuilder message = ServiceMessageBuilder.testIgnored(test.getBaseName());
       if (metadata.skipReason != null) message.addAttribute("message", metadata.skipReason);
@@ -248,14 +254,22 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
            group != null && group.getDoneTestsCount() > 0 && Objects.equals(test.getBaseName(), TEAR_DOWN_ALL_VIRTUAL_TEST_NAME);
   }
 
-  private boolean handleTestDone(JsonObject obj) throws ParseException {
+  private boolean handleTestDone(DartTestEvent obj) throws ParseException {
     final Test test = getTest(obj);
 
+    // Nothing more is needed from a finished test, except for events that arrive late.
+    myTestData.remove(test.getId());
+    myDoneTestData.putAndMoveToLast(test.getId(), test);
+    if (myDoneTestData.size() > MAX_DONE_TESTS) {
+      myDoneTestData.removeFirst();
+    }
+    final long startTime = myTestIdToTimestamp.remove(test.getId());
+
     if (!test.myTestStartReported) return true;
 
     String result = getResult(obj);
     if (!result.equals(RESULT_SUCCESS) && !result.equals(RESULT_FAILURE) && !result.equals(RESULT_ERROR)) {
-      throw new ParseException("Unknown result: " + obj, 0);
+      throw new ParseException("Unknown result: " + result, 0);
     }
 
     test.testDone();
@@ -263,7 +277,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     //if (test.getMetadata().skip) return true; // skipped tests are reported as ignored in handleTestStart(). testFinished signal must follow
 
     ServiceMessageBuilder testFinished = ServiceMessageBuilder.testFinished(test.getBaseName());
-    long duration = getTimestamp(obj) - (Long)myTestIdToTimestamp.get(test.getId());
+    long duration = getTimestamp(obj) - startTime;
     testFinished.addAttribute("duration", Long.toString(duration));
 
     return finishMessage(testFinished, test.getId(), test.getValidParentId()) && checkGroupDone(test.getParent());
@@ -277,8 +291,8 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return true;
   }
 
-  private boolean handleGroup(JsonObject obj) throws ParseException {
-    final Group group = getGroup(obj.getAsJsonObject(DEF_GROUP));
+  private boolean handleGroup(DartTestEvent obj) throws ParseException {
+    final Group group = getGroup(obj.group);
     return handleGroup(group);
   }
 
@@ -300,15 +314,15 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return finishMessage(groupMsg, group.getId(), group.getValidParentId());
   }
 
-  private boolean handleSuite(JsonObject obj) throws ParseException {
-    Suite suite = getSuite(obj.getAsJsonObject(DEF_SUITE));
+  private boolean handleSuite(DartTestEvent obj) throws ParseException {
+    Suite suite = getSuite(obj.suite);
     if (!suite.hasPath()) {
       mySuiteData.remove(suite.getId());
     }
     return true;
   }
 
-  private boolean handleError(JsonObject obj) throws ParseException {
+  private boolean handleError(DartTestEvent obj) throws ParseException {
     final Test test = getTest(obj);
     final String message = getErrorMessage(obj);
     boolean result = true;
@@ -366,14 +380,14 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return message.endsWith("\n") ? message : message + "\n";
   }
 
-  private boolean handleAllSuites(JsonObject obj) {
-    JsonElement elem = obj.get(JSON_COUNT);
-    if (elem == null || !elem.isJsonPrimitive()) return true;
-    mySuitCount = elem.getAsInt();
+  private boolean handleAllSuites(DartTestEvent obj) {
+    if (obj.count != DartTestEvent.NONE) {
+      mySuitCount = obj.count;
+    }
     return true;
   }
 
-  private boolean handlePrint(JsonObject obj) throws ParseException {
+  private boolean handlePrint(DartTestEvent obj) throws ParseException {
     final Test test = getTest(obj);
     boolean result = true;
 
@@ -394,9 +408,10 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return result & finishMessage(message, test.getId(), test.getValidParentId());
   }
 
-  private boolean handleStart(JsonObject obj) throws ParseException {
+  private boolean handleStart(DartTestEvent obj) throws ParseException {
     myTestIdToTimestamp.clear();
     myTestData.clear();
+    myDoneTestData.clear();
     myGroupData.clear();
     mySuiteData.clear();
     mySuitCount = 0;
@@ -405,7 +420,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
   }
 
   @SuppressWarnings("RedundantThrows")
-  private boolean handleDone(JsonObject obj) throws ParseException {
+  private boolean handleDone(DartTestEvent obj) throws ParseException {
     // The test runner has reached the end of the tests.
     processAllTestsDone();
     return true;
@@ -429,6 +444,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     }
     myTestIdToTimestamp.clear();
     myTestData.clear();
+    myDoneTestData.clear();
     myGroupData.clear();
     mySuiteData.clear();
     mySuitCount = 0;
@@ -477,101 +493,75 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     messageBuilder.addAttribute("locationHint", location);
   }
 
-  private static long getTimestamp(JsonObject obj) throws ParseException {
-    return getLong(obj, JSON_MILLIS);
-  }
-
-  private static long getLong(JsonObject obj, String name) throws ParseException {
-    JsonElement val = obj == null ? null : obj.get(name);
-    if (val == null || !val.isJsonPrimitive()) throw new ParseException("Value is not type long: " + val, 0);
-    return val.getAsLong();
-  }
-
-  private static boolean getBoolean(JsonObject obj, String name) throws ParseException {
-    JsonElement val = obj == null ? null : obj.get(name);
-    if (val == null || !val.isJsonPrimitive()) throw new ParseException("Value is not type boolean: " + val, 0);
-    return val.getAsBoolean();
+  private static long getTimestamp(DartTestEvent obj) throws ParseException {
+    if (!obj.hasTime) throw new ParseException("Value is not type long: time", 0);
+    return obj.time;
   }
 
   @NotNull
-  private Test getTest(JsonObject obj) throws ParseException {
-    return getItem(obj, myTestData);
+  private Test getTest(DartTestEvent obj) throws ParseException {
+    if (obj.test != null) {
+      return getTest(obj.test);
+    }
+    if (obj.testID == DartTestEvent.NONE) {
+      throw new ParseException("No testId in json object", 0);
+    }
+    Test test = myTestData.get(obj.testID);
+    if (test == null) {
+      test = myDoneTestData.getAndMoveToLast(obj.testID);
+    }
+    if (test == null) {
+      throw new ParseException("Unknown testId: " + obj.testID, 0);
+    }
+    return test;
   }
 
   @NotNull
-  private Group getGroup(JsonObject obj) throws ParseException {
-    return getItem(obj, myGroupData);
+  private Test getTest(DartTestEvent.Definition def) throws ParseException {
+    final Test test = Test.from(checkDefinition(def), myGroupData, mySuiteData);
+    myTestData.put(test.getId(), test);
+    return test;
   }
 
   @NotNull
-  private Suite getSuite(JsonObject obj) throws ParseException {
-    return getItem(obj, mySuiteData);
+  private Group getGroup(DartTestEvent.Definition def) throws ParseException {
+    final Group group = Group.from(checkDefinition(def), myGroupData, mySuiteData);
+    myGroupData.put(group.getId(), group);
+    return group;
   }
 
   @NotNull
-  private <T extends Item> T getItem(JsonObject obj, Map<Integer, T> items) throws ParseException {
-    if (obj == null) throw new ParseException("Unexpected null json object", 0);
-    T item;
-    JsonElement id = obj.get(JSON_ID);
-    if (id != null) {
-      if (items == myTestData) {
-        @SuppressWarnings("unchecked") T type = (T)Test.from(obj, myGroupData, mySuiteData);
-        item = type;
-      }
-      else if (items == myGroupData) {
-        @SuppressWarnings("unchecked") T group = (T)Group.from(obj, myGroupData, mySuiteData);
-        item = group;
-      }
-      else {
-        @SuppressWarnings("unchecked") T suite = (T)Suite.from(obj);
-        item = suite;
-      }
-      items.put(id.getAsInt(), item);
-    }
-    else {
-      JsonElement testId = obj.get(JSON_TEST_ID);
-      if (testId != null) {
-        int baseId = testId.getAsInt();
-        item = items.get(baseId);
-      }
-      else {
-        JsonElement testObj = obj.get(DEF_TEST);
-        if (testObj != null) {
-          return getItem(testObj.getAsJsonObject(), items);
-        }
-        else {
-          throw new ParseException("No testId in json object", 0);
-        }
-      }
-    }
-    return item;
+  private Suite getSuite(DartTestEvent.Definition def) throws ParseException {
+    final Suite suite = Suite.from(checkDefinition(def));
+    mySuiteData.put(suite.getId(), suite);
+    return suite;
   }
 
   @NotNull
-  private static String getErrorMessage(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_ERROR_MESSAGE, "<no error message>");
+  private static DartTestEvent.Definition checkDefinition(@Nullable DartTestEvent.Definition def) throws ParseException {
+    if (def == null) throw new ParseException("Unexpected null json object", 0);
+    if (def.id == DartTestEvent.NONE) throw new ParseException("No testId in json object", 0);
+    return def;
   }
 
   @NotNull
-  private static String getMessage(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_MESSAGE, "<no message>");
+  private static String getErrorMessage(DartTestEvent obj) {
+    return obj.error != null ? obj.error : "<no error message>";
   }
 
   @NotNull
-  private static String getStackTrace(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_STACK_TRACE, "<no stack trace>");
+  private static String getMessage(DartTestEvent obj) {
+    return obj.message != null ? obj.message : "<no message>";
   }
 
   @NotNull
-  private static String getResult(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_RESULT, "<no result>");
+  private static String getStackTrace(DartTestEvent obj) {
+    return obj.stackTrace != null ? obj.stackTrace : "<no stack trace>";
   }
 
   @NotNull
-  private static String nonNullJsonValue(JsonObject obj, @NotNull String id, @NotNull String def) {
-    JsonElement val = obj == null ? null : obj.get(id);
-    if (val == null || !val.isJsonPrimitive()) return def;
-    return val.getAsString();
+  private static String getResult(DartTestEvent obj) {
+    return obj.result != null ? obj.result : "<no result>";
   }
 
   protected static class Item {
@@ -588,30 +578,12 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     private final int myLine;
     private final int myColumn;
 
-    static int extractInt(JsonObject obj, String memberName) {
-      JsonElement elem = obj.get(memberName);
-      if (elem == null || !elem.isJsonPrimitive()) return -1;
-      return elem.getAsInt();
+    static int toZeroBased(int line) {
+      return line < 0 ? -1 : line - 1;
     }
 
-    static String extractString(JsonObject obj, String memberName, String defaultResult) {
-      JsonElement elem = obj.get(memberName);
-      if (elem == null || elem.isJsonNull()) return defaultResult;
-      return elem.getAsString();
-    }
-
-    static Metadata extractMetadata(JsonObject obj) {
-      return Metadata.from(obj.get(DEF_METADATA));
-    }
-
-    static Suite lookupSuite(JsonObject obj, Map<Integer, Suite> suites) {
-      JsonElement suiteObj = obj.get(JSON_SUITE_ID);
-      Suite suite = null;
-      if (suiteObj != null && suiteObj.isJsonPrimitive()) {
-        int parentId = suiteObj.getAsInt();
-        suite = suites.get(parentId);
-      }
-      return suite;
+    static Suite lookupSuite(DartTestEvent.Definition def, Int2ObjectMap<Suite> suites) {
+      return def.suiteID == DartTestEvent.NONE ? null : suites.get(def.suiteID);
     }
 
     Item(int id, String name, Group parent, Suite suite, Metadata metadata, int line, int column, String url) {
@@ -737,21 +709,14 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     private boolean myTestStartReported = false;
     private boolean myTestErrorReported = false;
 
-    static Test from(JsonObject obj, Map<Integer, Group> groups, Map<Integer, Suite> suites) {
-      int[] groupIds = GSON.fromJson(obj.get(JSON_GROUP_IDS), (Type)int[].class);
-      Group parent = null;
-      if (groupIds != null && groupIds.length > 0) {
-        parent = groups.get(groupIds[groupIds.length - 1]);
-      }
-      Suite suite = lookupSuite(obj, suites);
-      int line = extractInt(obj, JSON_ROOT_LINE);
-      if (line < 0) line = extractInt(obj, JSON_LINE);
-      int column = extractInt(obj, JSON_ROOT_COLUMN);
-      if (column < 0) column = extractInt(obj, JSON_COLUMN);
-      String url = extractString(obj, JSON_ROOT_URL, null);
-      if (url == null) url = extractString(obj, JSON_URL, null);
-      return new Test(extractInt(obj, JSON_ID), extractString(obj, JSON_NAME, NO_NAME), parent, suite, extractMetadata(obj),
-                      line < 0 ? -1 : line - 1, column < 0 ? -1 : column - 1, url);
+    static Test from(DartTestEvent.Definition def, Int2ObjectMap<Group> groups, Int2ObjectMap<Suite> suites) {
+      Group parent = def.lastGroupID == DartTestEvent.NONE ? null : groups.get(def.lastGroupID);
+      Suite suite = lookupSuite(def, suites);
+      int line = def.rootLine < 0 ? def.line : def.rootLine;
+      int column = def.rootColumn < 0 ? def.column : def.rootColumn;
+      String url = def.rootUrl == null ? def.url : def.rootUrl;
+      return new Test(def.id, def.name == null ? NO_NAME : def.name, parent, suite, Metadata.from(def),
+                      toZeroBased(line), toZeroBased(column), url);
     }
 
     Test(int id, String name, Group parent, Suite suite, Metadata metadata, int line, int column, String url) {
@@ -769,23 +734,12 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     private int myTestCount;
     private int myDoneTestsCount = 0;
 
-    static Group from(JsonObject obj, Map<Integer, Group> groups, Map<Integer, Suite> suites) {
-      JsonElement parentObj = obj.get(JSON_PARENT_ID);
-      Group parent = null;
-      if (parentObj != null && parentObj.isJsonPrimitive()) {
-        int parentId = parentObj.getAsInt();
-        parent = groups.get(parentId);
-      }
-      Suite suite = lookupSuite(obj, suites);
-      final int line = extractInt(obj, JSON_LINE);
-      final int column = extractInt(obj, JSON_COLUMN);
-      String groupName = extractString(obj, JSON_NAME, "");
-      if (groupName.isEmpty()) {
-        groupName = NO_NAME;
-      }
-      return new Group(extractInt(obj, JSON_ID), groupName, parent, suite, extractMetadata(obj),
-                       extractInt(obj, JSON_TEST_COUNT), line < 0 ? -1 : line - 1, column < 0 ? -1 : column - 1,
-                       extractString(obj, JSON_URL, null));
+    static Group from(DartTestEvent.Definition def, Int2ObjectMap<Group> groups, Int2ObjectMap<Suite> suites) {
+      Group parent = def.parentID == DartTestEvent.NONE ? null : groups.get(def.parentID);
+      Suite suite = lookupSuite(def, suites);
+      String groupName = def.name == null || def.name.isEmpty() ? NO_NAME : def.name;
+      return new Group(def.id, groupName, parent, suite, Metadata.from(def), def.testCount, toZeroBased(def.line),
+                       toZeroBased(def.column), def.url);
     }
 
     Group(int id, String name, Group parent, Suite suite, Metadata metadata, int count, int line, int column, String url) {
@@ -814,8 +768,8 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     static Metadata NoMetadata = new Metadata();
     static String NONE = "<none>";
 
-    static Suite from(JsonObject obj) {
-      return new Suite(extractInt(obj, JSON_ID), extractString(obj, JSON_PATH, NONE), extractString(obj, JSON_PLATFORM, NONE));
+    static Suite from(DartTestEvent.Definition def) {
+      return new Suite(def.id, def.path == null ? NONE : def.path, def.platform == null ? NONE : def.platform);
     }
 
     private final String myPlatform;
@@ -840,12 +794,14 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
   }
 
   private static class Metadata {
-    @SuppressWarnings("unused") private boolean skip; // assigned by GSON via reflection
-    @SuppressWarnings("unused") private String skipReason; // assigned by GSON via reflection
-
-    static Metadata from(JsonElement elem) {
-      if (elem == null) return new Metadata();
-      return GSON.fromJson(elem, (Type)Metadata.class);
+    private boolean skip;
+    private String skipReason;
+
+    static Metadata from(DartTestEvent.Definition def) {
+      final Metadata metadata = new Metadata();
+      metadata.skip = def.skip;
+      metadata.skipReason = def.skipReason;
+      return metadata;
     }
   }
 }
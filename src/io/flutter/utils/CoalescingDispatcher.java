@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Delivers the newest value posted for each key, dropping values that were superseded before they
+ * could be delivered.
+ * <p>
+ * Each key has a single-slot mailbox. Values are posted with a sequence number that reflects the
+ * order in which they were produced; a value is only kept if it is newer than both the pending and
+ * the last delivered value for its key. Delivery for a given key never runs concurrently, so
+ * listeners see values in increasing sequence order even when values are posted from several
+ * threads.
+ */
+public class CoalescingDispatcher<K, V> {
+  @NotNull private final Executor executor;
+  @NotNull private final BiConsumer<K, V> delivery;
+
+  private final Map<K, Slot<V>> slots = new HashMap<>();
+
+  public CoalescingDispatcher(@NotNull Executor executor, @NotNull BiConsumer<K, V> delivery) {
+    this.executor = executor;
+    this.delivery = delivery;
+  }
+
+  /**
+   * Posts a value for the given key.
+   * <p>
+   * Returns false if the value was dropped because a newer one was already posted or delivered.
+   */
+  public boolean post(@NotNull K key, long sequence, @NotNull V value) {
+    final boolean schedule;
+    synchronized (slots) {
+      final Slot<V> slot = slots.computeIfAbsent(key, k -> new Slot<>());
+      if (sequence <= slot.pendingSequence || sequence <= slot.deliveredSequence) {
+        return false;
+      }
+      slot.pending = value;
+      slot.pendingSequence = sequence;
+      schedule = !slot.draining;
+      slot.draining = true;
+    }
+    if (schedule) {
+      executor.execute(() -> drain(key));
+    }
+    return true;
+  }
+
+  /**
+   * Forgets any pending value and delivery history for the given key.
+   */
+  public void remove(@NotNull K key) {
+    synchronized (slots) {
+      final Slot<V> slot = slots.get(key);
+      if (slot != null && !slot.draining) {
+        slots.remove(key);
+      }
+      else if (slot != null) {
+        slot.pending = null;
+      }
+    }
+  }
+
+  public void clear() {
+    synchronized (slots) {
+      slots.values().removeIf(slot -> !slot.draining);
+      for (Slot<V> slot : slots.values()) {
+        slot.pending = null;
+      }
+    }
+  }
+
+  private void drain(@NotNull K key) {
+    while (true) {
+      final V value;
+      synchronized (slots) {
+        final Slot<V> slot = slots.get(key);
+        if (slot == null) {
+          return;
+        }
+        if (slot.pending == null) {
+          slot.draining = false;
+          return;
+        }
+        value = slot.pending;
+        slot.pending = null;
+        slot.deliveredSequence = slot.pendingSequence;
+      }
+      try {
+        delivery.accept(key, value);
+      }
+      catch (RuntimeException e) {
+        // Don't strand any value that was posted while we were delivering.
+        final boolean reschedule;
+        synchronized (slots) {
+          final Slot<V> slot = slots.get(key);
+          reschedule = slot != null && slot.pending != null;
+          if (slot != null && !reschedule) {
+            slot.draining = false;
+          }
+        }
+        if (reschedule) {
+          executor.execute(() -> drain(key));
+        }
+        throw e;
+      }
+    }
+  }
+
+  private static class Slot<V> {
+    V pending;
+    long pendingSequence = Long.MIN_VALUE;
+    long deliveredSequence = Long.MIN_VALUE;
+    boolean draining;
+  }
+}
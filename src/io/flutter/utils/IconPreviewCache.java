@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.utils;
+
+import com.intellij.openapi.diagnostic.Logger;
+import io.flutter.FlutterUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches the fonts and rendered glyphs used by {@link IconPreviewGenerator}.
+ * <p>
+ * Fonts are keyed by path and are parsed again only when the file's modification time or size changes.
+ * Rendered icons are keyed by font, codepoint, size and color, and the least recently used ones are evicted.
+ * A file with a few hundred icon references then parses each font once instead of once per gutter icon.
+ */
+public class IconPreviewCache {
+  private static final @NotNull Logger LOG = Logger.getInstance(IconPreviewCache.class);
+
+  private static final int MAX_FONTS = 32;
+  private static final int MAX_ICONS = 4096;
+
+  private static final IconPreviewCache INSTANCE = new IconPreviewCache(MAX_FONTS, MAX_ICONS);
+
+  @NotNull
+  public static IconPreviewCache getInstance() {
+    return INSTANCE;
+  }
+
+  private final Map<String, FontEntry> fonts;
+  private final Map<IconKey, Icon> icons;
+
+  private final AtomicLong fontHits = new AtomicLong();
+  private final AtomicLong fontMisses = new AtomicLong();
+  private final AtomicLong iconHits = new AtomicLong();
+  private final AtomicLong iconMisses = new AtomicLong();
+
+  IconPreviewCache(int maxFonts, int maxIcons) {
+    fonts = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, FontEntry> eldest) {
+        return size() > maxFonts;
+      }
+    };
+    icons = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<IconKey, Icon> eldest) {
+        return size() > maxIcons;
+      }
+    };
+  }
+
+  /**
+   * Returns the font in {@param fontFilePath}, at size 1, or null if it can't be read.
+   * <p>
+   * Fonts that fail to load are remembered too, until the file changes.
+   */
+  @Nullable
+  public Font getFont(@NotNull String fontFilePath) {
+    return getFontEntry(fontFilePath).font;
+  }
+
+  /**
+   * Returns the icon for {@param codepoint}, calling {@param render} with the font to create it if it isn't cached.
+   * <p>
+   * Returns null if the font can't be read or {@param render} returns null; neither result is cached.
+   */
+  @Nullable
+  public Icon getIcon(@NotNull String fontFilePath,
+                      int codepoint,
+                      int iconSize,
+                      int fontSize,
+                      @NotNull Color color,
+                      @NotNull Function<Font, Icon> render) {
+    final FontEntry fontEntry = getFontEntry(fontFilePath);
+    if (fontEntry.font == null) {
+      return null;
+    }
+
+    final IconKey key = new IconKey(fontFilePath, fontEntry.stamp, codepoint, iconSize, fontSize, color.getRGB());
+    synchronized (icons) {
+      final Icon icon = icons.get(key);
+      if (icon != null) {
+        iconHits.incrementAndGet();
+        return icon;
+      }
+    }
+
+    iconMisses.incrementAndGet();
+    final Icon icon = render.apply(fontEntry.font);
+    if (icon != null) {
+      synchronized (icons) {
+        icons.put(key, icon);
+      }
+    }
+    return icon;
+  }
+
+  public long getFontHitCount() {
+    return fontHits.get();
+  }
+
+  public long getFontMissCount() {
+    return fontMisses.get();
+  }
+
+  public long getIconHitCount() {
+    return iconHits.get();
+  }
+
+  public long getIconMissCount() {
+    return iconMisses.get();
+  }
+
+  public void clear() {
+    synchronized (fonts) {
+      fonts.clear();
+    }
+    synchronized (icons) {
+      icons.clear();
+    }
+  }
+
+  @NotNull
+  private FontEntry getFontEntry(@NotNull String fontFilePath) {
+    final File file = new File(fontFilePath);
+    // The modification time alone can miss a rewrite within the file system's timestamp resolution.
+    final long stamp = file.lastModified() * 31 + file.length();
+    synchronized (fonts) {
+      final FontEntry entry = fonts.get(fontFilePath);
+      if (entry != null && entry.stamp == stamp) {
+        fontHits.incrementAndGet();
+        return entry;
+      }
+    }
+
+    fontMisses.incrementAndGet();
+    final FontEntry entry = new FontEntry(stamp, loadFont(file));
+    synchronized (fonts) {
+      fonts.put(fontFilePath, entry);
+    }
+    return entry;
+  }
+
+  @Nullable
+  private static Font loadFont(@NotNull File file) {
+    try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+      return Font.createFont(Font.TRUETYPE_FONT, inputStream);
+    }
+    catch (IOException | FontFormatException ex) {
+      FlutterUtils.warn(LOG, "Failed to load icon font " + file.getName(), ex);
+      return null;
+    }
+  }
+
+  private record FontEntry(long stamp, @Nullable Font font) {
+  }
+
+  private record IconKey(@NotNull String fontFilePath, long fontStamp, int codepoint, int iconSize, int fontSize, int rgb) {
+  }
+}
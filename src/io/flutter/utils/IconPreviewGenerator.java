@@ -56,14 +56,19 @@ public class IconPreviewGenerator {
     return convert(codepoint);
   }
 
+  /**
+   * Returns the icon for the glyph at {@param code}, rendering it only if it isn't in the {@link IconPreviewCache}.
+   */
   public Icon convert(int code) {
-    return runInGraphicsContext((BufferedImage image, Graphics2D graphics, FontRenderContext frc) -> {
-      char ch = Character.toChars(code)[0];
-      String codepoint = Character.toString(ch);
-
-      drawGlyph(codepoint, graphics, frc);
-      return new ImageIcon(image);
-    });
+    return IconPreviewCache.getInstance().getIcon(
+      fontFilePath, code, iconSize, fontSize, fontColor,
+      (Font font) -> runInGraphicsContext(font, (BufferedImage image, Graphics2D graphics, FontRenderContext frc) -> {
+        char ch = Character.toChars(code)[0];
+        String codepoint = Character.toString(ch);
+
+        drawGlyph(codepoint, graphics, frc);
+        return new ImageIcon(image);
+      }));
   }
 
   // Given a file at path-to-font-properties in the format generated by tools_metadata (on github),
@@ -75,7 +80,11 @@ public class IconPreviewGenerator {
     //noinspection ResultOfMethodCallIgnored
     new File(outputPath).mkdirs();
 
-    runInGraphicsContext((BufferedImage image, Graphics2D graphics, FontRenderContext frc) -> {
+    final Font font = IconPreviewCache.getInstance().getFont(fontFilePath);
+    if (font == null) {
+      return;
+    }
+    runInGraphicsContext(font, (BufferedImage image, Graphics2D graphics, FontRenderContext frc) -> {
       Properties fontMap = new Properties();
       File file = new File(path);
       try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
@@ -100,26 +109,19 @@ public class IconPreviewGenerator {
     });
   }
 
-  private Icon runInGraphicsContext(TripleFunction<BufferedImage, Graphics2D, FontRenderContext, Icon> callback) {
-    Icon result = null;
-    Graphics2D graphics = null;
+  private Icon runInGraphicsContext(@NotNull Font font, TripleFunction<BufferedImage, Graphics2D, FontRenderContext, Icon> callback) {
     //noinspection UndesirableClassUsage
     BufferedImage image = new BufferedImage(iconSize, iconSize, BufferedImage.TYPE_4BYTE_ABGR);
-    try (InputStream inputStream = new FileInputStream(fontFilePath)) {
-      Font font = Font.createFont(Font.TRUETYPE_FONT, inputStream).deriveFont(Font.PLAIN, fontSize);
-      graphics = image.createGraphics();
-      graphics.setFont(font);
+    Graphics2D graphics = image.createGraphics();
+    try {
+      graphics.setFont(font.deriveFont(Font.PLAIN, fontSize));
       graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
       FontRenderContext frc = new FontRenderContext(new AffineTransform(), true, true);
-      result = callback.fun(image, graphics, frc);
-    }
-    catch (IOException | FontFormatException ex) {
-      FlutterUtils.warn(LOG, ex);
+      return callback.fun(image, graphics, frc);
     }
     finally {
-      if (graphics != null) graphics.dispose();
+      graphics.dispose();
     }
-    return result;
   }
 
   private void drawGlyph(String codepoint, Graphics2D graphics, FontRenderContext frc) {
@@ -75,12 +75,20 @@ public class StdoutJsonParser {
     if (!bufferIsJson) {
       flushLine();
     }
-    else if (buffer.toString().endsWith("}]")) {
+    else if (endsWithJsonTerminator(buffer)) {
       eatNextEol = true;
       flushLine();
     }
   }
 
+  /**
+   * Checks for a trailing "}]" without copying the buffer, which can hold a long JSON line.
+   */
+  private static boolean endsWithJsonTerminator(StringBuilder output) {
+    final int length = output.length();
+    return length >= 2 && output.charAt(length - 2) == '}' && output.charAt(length - 1) == ']';
+  }
+
   private boolean possiblyTerminatesJson(StringBuilder output, String input, int inputIndex) {
     // This is an approximate approach to look for json message terminations inside of strings -
     // where the normally terminating eol gets separated from the json.
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.vmService;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.dartlang.vm.service.VmService;
+import org.dartlang.vm.service.VmServiceException;
+import org.dartlang.vm.service.consumer.AddBreakpointWithScriptUriConsumer;
+import org.dartlang.vm.service.consumer.UriListConsumer;
+import org.dartlang.vm.service.element.Breakpoint;
+import org.dartlang.vm.service.element.UriList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Adds a set of breakpoints to an isolate with pipelined requests.
+ * <p>
+ * The script URIs of all the breakpoints are looked up with a single <code>lookupPackageUris</code> request, and then
+ * every breakpoint is added without waiting for the responses for the others. However many breakpoints there are,
+ * the batch takes two round-trips.
+ */
+class BreakpointBatch {
+  private static final @NotNull Logger LOG = Logger.getInstance(BreakpointBatch.class);
+
+  /**
+   * Where to add a breakpoint: a percent-escaped resolved URI, and a 1-based line.
+   */
+  record Location(@NotNull String resolvedUri, int line) {
+  }
+
+  interface Listener {
+    /**
+     * The VM added the breakpoint for the location at {@param index}.
+     */
+    void added(int index, @NotNull Breakpoint breakpoint);
+
+    /**
+     * The VM couldn't add the breakpoint for the location at {@param index}.
+     */
+    void failed(int index);
+  }
+
+  private BreakpointBatch() {
+  }
+
+  /**
+   * Adds a breakpoint for each location, and returns a future that completes once the VM has responded for every one.
+   */
+  @NotNull
+  static CompletableFuture<Void> add(@NotNull VmService vmService,
+                                     @NotNull String isolateId,
+                                     @NotNull List<Location> locations,
+                                     @NotNull Listener listener) {
+    if (locations.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final List<String> resolvedUris = new ArrayList<>(locations.size());
+    for (Location location : locations) {
+      resolvedUris.add(location.resolvedUri());
+    }
+    return vmService.requestAsync(UriListConsumer.class, UriList.class,
+                                  (consumer) -> vmService.lookupPackageUris(isolateId, resolvedUris, consumer))
+      .handle((uriList, error) -> {
+        if (error != null) {
+          LOG.warn("lookupPackageUris failed: " + unwrap(error).getMessage());
+        }
+        final List<String> scriptUris = uriList == null ? null : uriList.getUris();
+
+        final List<CompletableFuture<Void>> added = new ArrayList<>(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+          final String scriptUri = scriptUris != null && i < scriptUris.size() ? scriptUris.get(i) : null;
+          if (scriptUri == null) {
+            LOG.info("Breakpoint could not be mapped to package URI: " + locations.get(i).resolvedUri());
+            listener.failed(i);
+            continue;
+          }
+          added.add(addBreakpoint(vmService, isolateId, scriptUri, locations.get(i).line(), i, listener));
+        }
+        return CompletableFuture.allOf(added.toArray(new CompletableFuture[0]));
+      })
+      .thenCompose((all) -> all);
+  }
+
+  @NotNull
+  private static CompletableFuture<Void> addBreakpoint(@NotNull VmService vmService,
+                                                       @NotNull String isolateId,
+                                                       @NotNull String scriptUri,
+                                                       int line,
+                                                       int index,
+                                                       @NotNull Listener listener) {
+    return vmService.requestAsync(AddBreakpointWithScriptUriConsumer.class, Breakpoint.class,
+                                  (consumer) -> vmService.addBreakpointWithScriptUri(isolateId, scriptUri, line, consumer))
+      .handle((breakpoint, error) -> {
+        if (breakpoint != null) {
+          listener.added(index, breakpoint);
+        }
+        else if (!isSentinel(error)) {
+          // A sentinel means the isolate went away, so the breakpoint didn't fail as such.
+          listener.failed(index);
+        }
+        return null;
+      });
+  }
+
+  private static boolean isSentinel(@Nullable Throwable error) {
+    return unwrap(error) instanceof VmServiceException exception && exception.getSentinel() != null;
+  }
+
+  @Nullable
+  private static Throwable unwrap(@Nullable Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.vmService;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.dartlang.vm.service.logging.ErrorCode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * The logger for a VM service connection that is shown in a console.
+ * <p>
+ * Errors are printed to the console and logged as warnings; information is only logged at debug level.
+ */
+public class ConsoleVmServiceLogger implements org.dartlang.vm.service.logging.Logger {
+  /**
+   * Informational messages longer than this are shortened before they are logged.
+   */
+  private static final int MAX_INFORMATION_LENGTH = 500;
+
+  private final @NotNull Logger log;
+  private final @NotNull Consumer<String> errorPrinter;
+
+  /**
+   * @param log          the IDE log to send errors and information to
+   * @param errorPrinter prints a line of error output to the console, if it is still there
+   */
+  public ConsoleVmServiceLogger(@NotNull Logger log, @NotNull Consumer<String> errorPrinter) {
+    this.log = log;
+    this.errorPrinter = errorPrinter;
+  }
+
+  @Override
+  public void logError(ErrorCode code, String message) {
+    if (code == ErrorCode.UNEXPECTED_SENTINEL) { // Ignore unwanted message
+      return;
+    }
+    logError(message);
+  }
+
+  @Override
+  public void logError(String message) {
+    logError(message, null);
+  }
+
+  @Override
+  public void logError(String message, Throwable exception) {
+    if (message != null) {
+      errorPrinter.accept(message.trim() + "\n");
+    }
+    log.warn(message, exception);
+  }
+
+  @Override
+  public boolean isInformationEnabled() {
+    return log.isDebugEnabled();
+  }
+
+  @Override
+  public void logInformation(String message) {
+    if (!log.isDebugEnabled()) {
+      return;
+    }
+    if (message.length() > MAX_INFORMATION_LENGTH) {
+      message = message.substring(0, 300) + "..." + message.substring(message.length() - 200);
+    }
+    log.debug(message);
+  }
+
+  @Override
+  public void logInformation(String message, Throwable exception) {
+    log.debug(message, exception);
+  }
+}
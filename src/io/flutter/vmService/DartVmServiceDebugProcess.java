@@ -18,11 +18,11 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.wm.WindowManager;
 import com.intellij.testFramework.LightVirtualFile;
 import com.intellij.util.BitUtil;
-import com.intellij.util.TimeoutUtil;
 import com.intellij.xdebugger.*;
 import com.intellij.xdebugger.breakpoints.XBreakpointHandler;
 import com.intellij.xdebugger.evaluation.XDebuggerEditorsProvider;
@@ -45,7 +45,6 @@ import org.dartlang.vm.service.consumer.GetObjectConsumer;
 import org.dartlang.vm.service.consumer.VMConsumer;
 import org.dartlang.vm.service.element.*;
 import org.dartlang.vm.service.element.Event;
-import org.dartlang.vm.service.logging.Logging;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -56,11 +55,20 @@ import java.awt.event.WindowListener;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public abstract class DartVmServiceDebugProcess extends XDebugProcess {
   private static final @NotNull Logger LOG = Logger.getInstance(DartVmServiceDebugProcess.class.getName());
 
+  /**
+   * The registry key for how long to wait for the app's VM service before giving up; 0 waits until the session is stopped.
+   */
+  private static final String CONNECT_TIMEOUT_SECONDS = "flutter.vm.service.connect.timeout.seconds";
+
   @NotNull private final ExecutionResult myExecutionResult;
   @NotNull private final DartUrlResolver myDartUrlResolver;
   @NotNull private final XBreakpointHandler[] myBreakpointHandlers;
@@ -75,6 +83,8 @@ public abstract class DartVmServiceDebugProcess extends XDebugProcess {
   private boolean myVmConnected = false;
   private VmServiceWrapper myVmServiceWrapper;
   private String myLatestCurrentIsolateId;
+  @Nullable private volatile CompletableFuture<String> myWebSocketUrlFuture;
+  private volatile long myAttachLatencyMillis = -1;
 
   public DartVmServiceDebugProcess(@NotNull final ExecutionEnvironment executionEnvironment,
                                    @NotNull final XDebugSession session,
@@ -118,8 +128,6 @@ public abstract class DartVmServiceDebugProcess extends XDebugProcess {
     this.mapper = mapper;
     myConnector = connector;
 
-    setLogger();
-
     final Runnable resumeCallback = () -> {
       if (session.isPaused()) {
         session.resume();
@@ -163,87 +171,69 @@ public abstract class DartVmServiceDebugProcess extends XDebugProcess {
     return myIsolatesInfo.getIsolateInfos();
   }
 
-  private void setLogger() {
-    Logging.setLogger(new org.dartlang.vm.service.logging.Logger() {
-      @Override
-      public void logError(final String message) {
-        if (message.contains("\"code\":102,")) { // Cannot add breakpoint, already logged in logInformation()
-          return;
-        }
+  /**
+   * Prints an error from the VM service connection to the debug console, while the connection is up.
+   */
+  private void printVmServiceError(@NotNull String text) {
+    if (getVmConnected() && getSession() != null) {
+      getSession().getConsoleView().print(text, ConsoleViewContentType.ERROR_OUTPUT);
+    }
+  }
 
-        if (message.contains("\"method\":\"removeBreakpoint\"")) { // That's expected because we set one breakpoint twice
-          return;
-        }
+  public void scheduleConnect() {
+    final long startNanos = System.nanoTime();
 
-        if (message.contains("\"type\":\"Sentinel\"")) { // Ignore unwanted message
-          return;
-        }
+    // Wait for "flutter run" to give us a websocket. By default there's no timeout; the user can cancel the operation.
+    CompletableFuture<String> urlFuture = myConnector.getWebSocketUrlFuture();
+    final int timeoutSeconds = Registry.intValue(CONNECT_TIMEOUT_SECONDS, 0);
+    if (timeoutSeconds > 0) {
+      urlFuture = urlFuture.orTimeout(timeoutSeconds, TimeUnit.SECONDS);
+    }
+    myWebSocketUrlFuture = urlFuture;
 
-        getSession().getConsoleView().print(message.trim() + "\n", ConsoleViewContentType.ERROR_OUTPUT);
-        LOG.warn(message);
+    urlFuture.whenComplete((url, error) -> {
+      if (getSession().isStopped()) {
+        return;
       }
-
-      @Override
-      public void logError(final String message, final Throwable exception) {
-        if (!getVmConnected() || getSession() == null) {
-          return;
+      if (error != null) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+          onConnectFailed("Timed out after " + timeoutSeconds + " seconds waiting for the VM service to be available.");
         }
-        if (message != null) {
-          getSession().getConsoleView().print(message.trim() + "\n", ConsoleViewContentType.ERROR_OUTPUT);
+        else if (!(cause instanceof CancellationException)) {
+          LOG.info("Not connecting to the VM service: " + cause.getMessage());
         }
-        LOG.warn(message, exception);
+        return;
       }
 
-      @Override
-      public void logInformation(String message) {
-        if (message.length() > 500) {
-          message = message.substring(0, 300) + "..." + message.substring(message.length() - 200);
+      ApplicationManager.getApplication().executeOnPooledThread(() -> {
+        // "flutter run" has given us a websocket; we can assume it's ready immediately, because
+        // "flutter run" has already connected to it.
+        final VmService vmService;
+        try {
+          vmService = VmService.connect(url, new ConsoleVmServiceLogger(LOG, this::printVmServiceError));
         }
-        LOG.debug(message);
-      }
-
-      @Override
-      public void logInformation(final String message, final Throwable exception) {
-        LOG.debug(message, exception);
-      }
+        catch (IOException | RuntimeException e) {
+          onConnectFailed("Failed to connect to the VM observatory service at: " + url + "\n"
+                          + e + "\n" + formatStackTraces(e));
+          return;
+        }
+        myAttachLatencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        LOG.info("Connected to the VM service " + myAttachLatencyMillis + " ms after the debug session started");
+        onConnectSucceeded(vmService);
+      });
     });
   }
 
-  public void scheduleConnect() {
-    ApplicationManager.getApplication().executeOnPooledThread(() -> {
-      // Poll, waiting for "flutter run" to give us a websocket.
-      // Don't use a timeout - the user can cancel manually the operation.
-      String url = myConnector.getWebSocketUrl();
-
-      while (url == null) {
-        if (getSession().isStopped()) return;
-
-        TimeoutUtil.sleep(100);
-
-        url = myConnector.getWebSocketUrl();
-      }
-
-      if (getSession().isStopped()) {
-        return;
-      }
-
-      // "flutter run" has given us a websocket; we can assume it's ready immediately, because
-      // "flutter run" has already connected to it.
-      final VmService vmService;
-      try {
-        vmService = VmService.connect(url);
-      }
-      catch (IOException | RuntimeException e) {
-        onConnectFailed("Failed to connect to the VM observatory service at: " + url + "\n"
-                        + e + "\n" + formatStackTraces(e));
-        return;
-      }
-      onConnectSucceeded(vmService);
-    });
+  /**
+   * Returns the time from starting the debug session to connecting to the VM service, or -1 if it hasn't connected.
+   */
+  public long getAttachLatencyMillis() {
+    return myAttachLatencyMillis;
   }
 
   private void connect(@NotNull final String url) throws IOException {
-    final VmService vmService = VmService.connect(url);
+    final VmService vmService = VmService.connect(url, new ConsoleVmServiceLogger(LOG, this::printVmServiceError));
     final DartVmServiceListener vmServiceListener =
       new DartVmServiceListener(this, (DartVmServiceBreakpointHandler)myBreakpointHandlers[0]);
 
@@ -319,7 +309,18 @@ public abstract class DartVmServiceDebugProcess extends XDebugProcess {
 
     mapper.shutdown();
 
+    final CompletableFuture<String> urlFuture = myWebSocketUrlFuture;
+    if (urlFuture != null) {
+      urlFuture.cancel(false);
+    }
+
     if (myVmServiceWrapper != null) {
+      if (LOG.isDebugEnabled()) {
+        final VmService vmService = myVmServiceWrapper.getVmService();
+        LOG.debug("VM service connection stopped: " + vmService.getReceivedMessageCount() + " messages received, " +
+                  vmService.getSentRequestCount() + " requests sent, " + vmService.getErrorCount() + " errors, " +
+                  "attached after " + myAttachLatencyMillis + " ms");
+      }
       Disposer.dispose(myVmServiceWrapper);
     }
   }
@@ -386,6 +387,7 @@ public abstract class DartVmServiceDebugProcess extends XDebugProcess {
   public void isolateExit(@NotNull final IsolateRef isolateRef) {
     myIsolatesInfo.deleteIsolate(isolateRef);
     mySuspendedIsolateIds.remove(isolateRef.getId());
+    mapper.onIsolateExit(isolateRef.getId());
 
     if (Objects.equals(isolateRef.getId(), myLatestCurrentIsolateId)) {
       resume(getSession().getSuspendContext()); // otherwise no way no resume them from UI
@@ -679,6 +681,16 @@ public abstract class DartVmServiceDebugProcess extends XDebugProcess {
      */
     XSourcePosition getSourcePosition(String isolateId, Script script, int tokenPos);
 
+    /**
+     * Called when an isolate exits; anything cached for it can be dropped.
+     */
+    void onIsolateExit(String isolateId);
+
+    /**
+     * Called when the app is hot restarted; scripts downloaded before the restart won't be needed again.
+     */
+    void onHotRestart();
+
     void shutdown();
   }
 
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.vmService;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.dartlang.vm.service.element.Event;
+import org.dartlang.vm.service.element.ExtensionData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the build and raster durations of an app's recent frames, from its <code>Flutter.Frame</code> events.
+ * <p>
+ * Frames are written by the single thread that delivers VM service events, into a fixed ring buffer without locks
+ * or allocation. Readers take a {@link Snapshot} of the frames recorded so far.
+ */
+public class FrameTimings {
+  /**
+   * The number of recent frames kept; a power of two.
+   */
+  public static final int CAPACITY = 256;
+
+  /**
+   * The ring has room for twice as many frames as are kept, so that a snapshot rarely copies the slot being written.
+   */
+  private static final int SLOTS = 2 * CAPACITY;
+  private static final int MASK = SLOTS - 1;
+
+  /**
+   * A frame is janky if building or rasterizing it takes longer than a frame at 60Hz.
+   */
+  public static final long FRAME_BUDGET_MICROS = 16_667;
+
+  /**
+   * Each frame is packed into one long, build time in the high half and raster time in the low half, so that
+   * readers never see half of a frame.
+   */
+  private final AtomicLongArray frames = new AtomicLongArray(SLOTS);
+  private final AtomicLong frameCount = new AtomicLong();
+  private final AtomicLong jankCount = new AtomicLong();
+
+  /**
+   * Records the frame described by a <code>Flutter.Frame</code> event.
+   */
+  public void recordFrameEvent(@NotNull Event event) {
+    final ExtensionData data = event.getExtensionData();
+    if (data == null) {
+      return;
+    }
+    final JsonObject json = data.getJson();
+    record(getMicros(json, "build"), getMicros(json, "raster"));
+  }
+
+  private static long getMicros(@NotNull JsonObject json, @NotNull String name) {
+    final JsonElement value = json.get(name);
+    return value != null && value.isJsonPrimitive() ? value.getAsLong() : 0;
+  }
+
+  /**
+   * Records a frame. Only one thread may call this at a time.
+   */
+  public void record(long buildMicros, long rasterMicros) {
+    final long build = clamp(buildMicros);
+    final long raster = clamp(rasterMicros);
+    final long count = frameCount.get();
+    frames.lazySet((int)(count & MASK), build << 32 | raster);
+    frameCount.lazySet(count + 1);
+    if (build > FRAME_BUDGET_MICROS || raster > FRAME_BUDGET_MICROS) {
+      jankCount.lazySet(jankCount.get() + 1);
+    }
+  }
+
+  private static long clamp(long micros) {
+    return Math.max(0, Math.min(micros, 0xFFFFFFFFL));
+  }
+
+  public long getFrameCount() {
+    return frameCount.get();
+  }
+
+  public long getJankCount() {
+    return jankCount.get();
+  }
+
+  /**
+   * Returns the recent frames, oldest first. Frames that are overwritten while the snapshot is taken are left out.
+   */
+  @NotNull
+  public Snapshot snapshot() {
+    final long end = frameCount.get();
+    final long jank = jankCount.get();
+    final long start = Math.max(0, end - CAPACITY);
+    final int size = (int)(end - start);
+    final long[] packed = new long[size];
+    for (int i = 0; i < size; i++) {
+      packed[i] = frames.get((int)((start + i) & MASK));
+    }
+
+    // Frame start + i shares its slot with frame start + i + SLOTS; skip the slots that were reused meanwhile.
+    // The writer fills a slot before counting its frame, so the slot for frame number after may be reused too.
+    final long after = frameCount.get();
+    final int skip = (int)Math.max(0, Math.min(size, after + 1 - SLOTS - start));
+
+    final int[] build = new int[size - skip];
+    final int[] raster = new int[size - skip];
+    for (int i = skip; i < size; i++) {
+      build[i - skip] = (int)Math.min(packed[i] >>> 32, Integer.MAX_VALUE);
+      raster[i - skip] = (int)Math.min(packed[i] & 0xFFFFFFFFL, Integer.MAX_VALUE);
+    }
+    return new Snapshot(end, jank, build, raster);
+  }
+
+  /**
+   * The frames recorded when the snapshot was taken.
+   */
+  public static class Snapshot {
+    private final long frameCount;
+    private final long jankCount;
+    private final int @NotNull [] buildMicros;
+    private final int @NotNull [] rasterMicros;
+    private final int @NotNull [] sortedBuild;
+    private final int @NotNull [] sortedRaster;
+
+    Snapshot(long frameCount, long jankCount, int @NotNull [] buildMicros, int @NotNull [] rasterMicros) {
+      this.frameCount = frameCount;
+      this.jankCount = jankCount;
+      this.buildMicros = buildMicros;
+      this.rasterMicros = rasterMicros;
+      sortedBuild = buildMicros.clone();
+      Arrays.sort(sortedBuild);
+      sortedRaster = rasterMicros.clone();
+      Arrays.sort(sortedRaster);
+    }
+
+    /**
+     * The number of frames recorded since the app started.
+     */
+    public long getFrameCount() {
+      return frameCount;
+    }
+
+    /**
+     * The number of janky frames recorded since the app started.
+     */
+    public long getJankCount() {
+      return jankCount;
+    }
+
+    /**
+     * The number of recent frames in this snapshot.
+     */
+    public int size() {
+      return buildMicros.length;
+    }
+
+    public int getBuildMicros(int index) {
+      return buildMicros[index];
+    }
+
+    public int getRasterMicros(int index) {
+      return rasterMicros[index];
+    }
+
+    public boolean isJanky(int index) {
+      return buildMicros[index] > FRAME_BUDGET_MICROS || rasterMicros[index] > FRAME_BUDGET_MICROS;
+    }
+
+    /**
+     * The number of janky frames in this snapshot.
+     */
+    public int getRecentJankCount() {
+      int count = 0;
+      for (int i = 0; i < size(); i++) {
+        if (isJanky(i)) count++;
+      }
+      return count;
+    }
+
+    /**
+     * Returns the given percentile of the recent build times, or 0 if there are no frames.
+     */
+    public int getBuildPercentile(double percentile) {
+      return percentile(sortedBuild, percentile);
+    }
+
+    /**
+     * Returns the given percentile of the recent raster times, or 0 if there are no frames.
+     */
+    public int getRasterPercentile(double percentile) {
+      return percentile(sortedRaster, percentile);
+    }
+
+    private static int percentile(int @NotNull [] sorted, double percentile) {
+      if (sorted.length == 0) return 0;
+      // Nearest rank.
+      final int rank = (int)Math.ceil(percentile / 100 * sorted.length);
+      return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+  }
+}
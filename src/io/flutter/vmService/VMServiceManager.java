@@ -170,10 +170,12 @@ public class VMServiceManager implements FlutterApp.FlutterAppListener, Disposab
   }
 
   private void onVmServiceReceived(String streamId, Event event) {
+    final EventKind eventKind = event.getKind();
+
     // Check for the current Flutter isolate exiting.
     final IsolateRef flutterIsolateRef = flutterIsolateRefStream.getValue();
     if (flutterIsolateRef != null) {
-      if (event.getKind() == EventKind.IsolateExit && StringUtil.equals(event.getIsolate().getId(), flutterIsolateRef.getId())) {
+      if (eventKind == EventKind.IsolateExit && StringUtil.equals(event.getIsolate().getId(), flutterIsolateRef.getId())) {
         setFlutterIsolate(null);
         onFlutterIsolateStopped();
       }
@@ -181,7 +183,7 @@ public class VMServiceManager implements FlutterApp.FlutterAppListener, Disposab
 
     final String kind = event.getExtensionKind();
 
-    if (event.getKind() == EventKind.Extension) {
+    if (eventKind == EventKind.Extension) {
       switch (kind) {
         case "Flutter.FirstFrame":
         case "Flutter.Frame":
@@ -209,23 +211,23 @@ public class VMServiceManager implements FlutterApp.FlutterAppListener, Disposab
           break;
       }
     }
-    else if (event.getKind() == EventKind.ServiceExtensionAdded) {
+    else if (eventKind == EventKind.ServiceExtensionAdded) {
       maybeAddServiceExtension(event.getExtensionRPC());
     }
     else if (StringUtil.equals(streamId, VmService.LOGGING_STREAM_ID)) {
       app.getFlutterConsoleLogManager().handleLoggingEvent(event);
     }
-    else if (event.getKind() == EventKind.ServiceRegistered) {
+    else if (eventKind == EventKind.ServiceRegistered) {
       registerService(event.getService());
     }
-    else if (event.getKind() == EventKind.ServiceUnregistered) {
+    else if (eventKind == EventKind.ServiceUnregistered) {
       unregisterService(event.getService());
     }
 
     // Check to see if there's a new Flutter isolate.
     if (flutterIsolateRefStream.getValue() == null) {
       // Check for service extension registrations.
-      if (event.getKind() == EventKind.ServiceExtensionAdded) {
+      if (eventKind == EventKind.ServiceExtensionAdded) {
         final String extensionName = event.getExtensionRPC();
 
         if (extensionName.startsWith(ServiceExtensions.flutterPrefix)) {
@@ -1,19 +1,16 @@
 package io.flutter.vmService;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.google.common.net.PercentEscaper;
 import com.google.gson.JsonObject;
 import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.util.SystemInfo;
 import com.intellij.openapi.util.Version;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.util.Alarm;
-import com.intellij.util.concurrency.Semaphore;
 import com.intellij.xdebugger.XDebugSession;
 import com.intellij.xdebugger.XSourcePosition;
 import com.intellij.xdebugger.breakpoints.XBreakpointProperties;
@@ -41,6 +38,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -56,8 +55,6 @@ public class VmServiceWrapper implements Disposable {
   @NotNull private final IsolatesInfo myIsolatesInfo;
   @NotNull private final DartVmServiceBreakpointHandler myBreakpointHandler;
   @NotNull private final Alarm myRequestsScheduler;
-  @NotNull private final Map<Integer, CanonicalBreakpoint> breakpointNumbersToCanonicalMap;
-  @NotNull private final Set<CanonicalBreakpoint> canonicalBreakpoints;
 
   private long myVmServiceReceiverThreadId;
 
@@ -74,8 +71,6 @@ public class VmServiceWrapper implements Disposable {
     myIsolatesInfo = isolatesInfo;
     myBreakpointHandler = breakpointHandler;
     myRequestsScheduler = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
-    breakpointNumbersToCanonicalMap = new HashMap<>();
-    canonicalBreakpoints = new HashSet<>();
   }
 
   @NotNull
@@ -360,10 +355,64 @@ public class VmServiceWrapper implements Disposable {
       return;
     }
 
+    final List<XLineBreakpoint<XBreakpointProperties>> breakpoints = new ArrayList<>(xBreakpoints);
+    getVmServiceVersion((version) -> {
+      if (version != null && isVmServiceMappingSupported(version)) {
+        addBreakpointsWithVmService(breakpoints, isolateId, onFinished);
+      }
+      else {
+        addBreakpointsWithMapper(breakpoints, isolateId, onFinished);
+      }
+    });
+  }
+
+  /**
+   * Sends the requests for all the breakpoints at once, and runs {@param onFinished} once the VM has responded to every one.
+   */
+  private void addBreakpointsWithVmService(@NotNull List<XLineBreakpoint<XBreakpointProperties>> xBreakpoints,
+                                           @NotNull String isolateId,
+                                           @Nullable Runnable onFinished) {
+    addRequest(() -> {
+      final List<XLineBreakpoint<XBreakpointProperties>> batch = new ArrayList<>();
+      final List<BreakpointBatch.Location> locations = new ArrayList<>();
+      for (XLineBreakpoint<XBreakpointProperties> xBreakpoint : xBreakpoints) {
+        final XSourcePosition position = xBreakpoint.getSourcePosition();
+        if (position == null || position.getFile().getFileType() != DartFileType.INSTANCE) {
+          myBreakpointHandler.breakpointFailed(xBreakpoint);
+          continue;
+        }
+        batch.add(xBreakpoint);
+        locations.add(new BreakpointBatch.Location(percentEscapeUri(getResolvedUri(position)), position.getLine() + 1));
+      }
+
+      BreakpointBatch.add(myVmService, isolateId, locations, new BreakpointBatch.Listener() {
+        @Override
+        public void added(int index, @NotNull Breakpoint breakpoint) {
+          myBreakpointHandler.vmBreakpointAdded(batch.get(index), isolateId, breakpoint);
+        }
+
+        @Override
+        public void failed(int index) {
+          myBreakpointHandler.breakpointFailed(batch.get(index));
+        }
+      }).whenComplete((result, error) -> {
+        if (error != null) {
+          LOG.warn("Failed to set breakpoints", error);
+        }
+        if (onFinished != null) {
+          onFinished.run();
+        }
+      });
+    });
+  }
+
+  private void addBreakpointsWithMapper(@NotNull List<XLineBreakpoint<XBreakpointProperties>> xBreakpoints,
+                                        @NotNull String isolateId,
+                                        @Nullable Runnable onFinished) {
     final AtomicInteger counter = new AtomicInteger(xBreakpoints.size());
 
     for (final XLineBreakpoint<XBreakpointProperties> xBreakpoint : xBreakpoints) {
-      addBreakpoint(isolateId, xBreakpoint.getSourcePosition(), new VmServiceConsumers.BreakpointsConsumer() {
+      addBreakpointWithMapper(isolateId, xBreakpoint.getSourcePosition(), new VmServiceConsumers.BreakpointsConsumer() {
         @Override
         void sourcePositionNotApplicable() {
           myBreakpointHandler.breakpointFailed(xBreakpoint);
@@ -388,58 +437,6 @@ public class VmServiceWrapper implements Disposable {
         private void checkDone() {
           if (counter.decrementAndGet() == 0 && onFinished != null) {
             onFinished.run();
-
-            myVmService.getIsolate(isolateId, new GetIsolateConsumer() {
-              @Override
-              public void received(Isolate response) {
-                Set<String> libraryUris = new HashSet<>();
-                Set<String> fileNames = new HashSet<>();
-                for (LibraryRef library : response.getLibraries()) {
-                  String uri = library.getUri();
-                  libraryUris.add(uri);
-                  String[] split = uri.split("/");
-                  fileNames.add(split[split.length - 1]);
-                }
-
-                ElementList<Breakpoint> breakpoints = response.getBreakpoints();
-                if (breakpoints.isEmpty() && canonicalBreakpoints.isEmpty()) {
-                  return;
-                }
-
-                Set<CanonicalBreakpoint> mappedCanonicalBreakpoints = new HashSet<>();
-                assert breakpoints != null;
-                for (Breakpoint breakpoint : breakpoints) {
-                  Object location = breakpoint.getLocation();
-                  // In JIT mode, locations will be unresolved at this time since files aren't compiled until they are used.
-                  if (location instanceof UnresolvedSourceLocation) {
-                    ScriptRef script = ((UnresolvedSourceLocation)location).getScript();
-                    if (script != null && libraryUris.contains(script.getUri())) {
-                      mappedCanonicalBreakpoints.add(breakpointNumbersToCanonicalMap.get(breakpoint.getBreakpointNumber()));
-                    }
-                  }
-                }
-
-                Sets.SetView<CanonicalBreakpoint> initialDifference =
-                  Sets.difference(canonicalBreakpoints, mappedCanonicalBreakpoints);
-                Set<CanonicalBreakpoint> finalDifference = new HashSet<>();
-
-                for (CanonicalBreakpoint missingBreakpoint : initialDifference) {
-                  // If the file name doesn't exist in loaded library files, then most likely it's not part of the dependencies of what was
-                  // built. So it's okay to ignore these breakpoints in our count.
-                  if (fileNames.contains(missingBreakpoint.fileName)) {
-                    finalDifference.add(missingBreakpoint);
-                  }
-                }
-              }
-
-              @Override
-              public void received(Sentinel response) {
-              }
-
-              @Override
-              public void onError(RPCError error) {
-              }
-            });
           }
         }
       });
@@ -449,20 +446,37 @@ public class VmServiceWrapper implements Disposable {
   public void addBreakpoint(@NotNull String isolateId,
                             @Nullable XSourcePosition position,
                             @NotNull VmServiceConsumers.BreakpointsConsumer consumer) {
+    getVmServiceVersion((version) -> {
+      if (version != null && isVmServiceMappingSupported(version)) {
+        addBreakpointWithVmService(isolateId, position, consumer);
+      }
+      else {
+        addBreakpointWithMapper(isolateId, position, consumer);
+      }
+    });
+  }
+
+  /**
+   * Passes the VM service protocol version to {@param callback}, or null if it can't be determined.
+   * <p>
+   * The version read when the connection was opened is used if there is one, to save a round-trip.
+   */
+  private void getVmServiceVersion(@NotNull java.util.function.Consumer<org.dartlang.vm.service.element.Version> callback) {
+    final org.dartlang.vm.service.element.Version runtimeVersion = myVmService.getRuntimeVersion();
+    if (runtimeVersion != null) {
+      callback.accept(runtimeVersion);
+      return;
+    }
+
     myVmService.getVersion(new VersionConsumer() {
       @Override
       public void received(org.dartlang.vm.service.element.Version response) {
-        if (isVmServiceMappingSupported(response)) {
-          addBreakpointWithVmService(isolateId, position, consumer);
-        }
-        else {
-          addBreakpointWithMapper(isolateId, position, consumer);
-        }
+        callback.accept(response);
       }
 
       @Override
       public void onError(RPCError error) {
-        addBreakpointWithMapper(isolateId, position, consumer);
+        callback.accept(null);
       }
     });
   }
@@ -491,9 +505,6 @@ public class VmServiceWrapper implements Disposable {
       int line = position.getLine() + 1;
 
       Collection<String> scriptUris = myDebugProcess.getUrisForFile(position.getFile());
-      CanonicalBreakpoint canonicalBreakpoint =
-        new CanonicalBreakpoint(position.getFile().getName(), position.getFile().getCanonicalPath(), line);
-      canonicalBreakpoints.add(canonicalBreakpoint);
       List<Breakpoint> breakpointResponses = new ArrayList<>();
       List<RPCError> errorResponses = new ArrayList<>();
 
@@ -502,7 +513,6 @@ public class VmServiceWrapper implements Disposable {
           @Override
           public void received(Breakpoint response) {
             breakpointResponses.add(response);
-            breakpointNumbersToCanonicalMap.put(response.getBreakpointNumber(), canonicalBreakpoint);
 
             checkDone();
           }
@@ -544,9 +554,6 @@ public class VmServiceWrapper implements Disposable {
       LOG.info("Computed resolvedUri: " + resolvedUri);
       List<String> resolvedUriList = List.of(percentEscapeUri(resolvedUri));
 
-      CanonicalBreakpoint canonicalBreakpoint =
-        new CanonicalBreakpoint(position.getFile().getName(), position.getFile().getCanonicalPath(), line);
-      canonicalBreakpoints.add(canonicalBreakpoint);
       List<Breakpoint> breakpointResponses = new ArrayList<>();
       List<RPCError> errorResponses = new ArrayList<>();
 
@@ -575,7 +582,6 @@ public class VmServiceWrapper implements Disposable {
             @Override
             public void received(Breakpoint response) {
               breakpointResponses.add(response);
-              breakpointNumbersToCanonicalMap.put(response.getBreakpointNumber(), canonicalBreakpoint);
 
               checkDone();
             }
@@ -852,31 +858,24 @@ public class VmServiceWrapper implements Disposable {
   public Script getScriptSync(@NotNull String isolateId, @NotNull String scriptId) {
     assertSyncRequestAllowed();
 
-    final Semaphore semaphore = new Semaphore();
-    semaphore.down();
-
-    final Ref<Script> resultRef = Ref.create();
-
-    addRequest(() -> myVmService.getObject(isolateId, scriptId, new GetObjectConsumer() {
-      @Override
-      public void received(Obj script) {
-        resultRef.set((Script)script);
-        semaphore.up();
-      }
-
-      @Override
-      public void received(Sentinel response) {
-        semaphore.up();
-      }
-
-      @Override
-      public void onError(RPCError error) {
-        semaphore.up();
-      }
-    }));
+    try {
+      return getScript(isolateId, scriptId).get();
+    }
+    catch (InterruptedException | ExecutionException e) {
+      return null;
+    }
+  }
 
-    semaphore.waitFor(RESPONSE_WAIT_TIMEOUT);
-    return resultRef.get();
+  /**
+   * Requests a script, without waiting for it.
+   * <p>
+   * The returned future fails if the script can't be loaded, or if the VM doesn't respond within {@link #RESPONSE_WAIT_TIMEOUT}.
+   */
+  @NotNull
+  public CompletableFuture<Script> getScript(@NotNull String isolateId, @NotNull String scriptId) {
+    return myVmService.requestAsync(GetObjectConsumer.class, Script.class,
+                                    (consumer) -> addRequest(() -> myVmService.getObject(isolateId, scriptId, consumer)))
+      .orTimeout(RESPONSE_WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
   }
 
   public void getObject(@NotNull String isolateId, @NotNull String objectId, @NotNull GetObjectConsumer consumer) {
@@ -1007,18 +1006,6 @@ public class VmServiceWrapper implements Disposable {
   }
 }
 
-class CanonicalBreakpoint {
-  @NotNull final String fileName;
-  @Nullable final String path;
-  final int line;
-
-  CanonicalBreakpoint(@NotNull String name, @Nullable String path, int line) {
-    this.fileName = name;
-    this.path = path;
-    this.line = line;
-  }
-}
-
 class VmServiceVersion {
   // VM service protocol versions: https://github.com/dart-lang/sdk/blob/master/runtime/vm/service/service.md#revision-history.
   @NotNull private static Version URI_MAPPING_VERSION = new Version(VmService.versionMajor, VmService.versionMinor, 0);
@@ -1,7 +1,6 @@
 package io.flutter.vmService.frame;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.common.annotations.VisibleForTesting;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.util.text.StringUtil;
@@ -22,8 +21,8 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.nio.ByteBuffer;
-import java.text.MessageFormat;
 import java.util.Base64;
+import java.util.function.IntFunction;
 
 // TODO: implement some combination of XValue.getEvaluationExpression() /
 // XValue.calculateEvaluationExpression() in order to support evaluate expression in variable values.
@@ -36,9 +35,10 @@ public class DartVmServiceValue extends XNamedValue {
     LayeredIcon.layeredIcon(() -> new Icon[]{AllIcons.Nodes.Field, AllIcons.Nodes.StaticMark});
   private static final LayeredIcon STATIC_FINAL_FIELD_ICON =
     LayeredIcon.layeredIcon(() -> new Icon[]{AllIcons.Nodes.Field, AllIcons.Nodes.StaticMark, AllIcons.Nodes.FinalMark});
-  private static final String JSON_STRING_TEMPLATE =
-    "'{'\"type\":\"@Instance\",\"class\":'{'\"type\":\"@Class\",\"fixedId\":\"true\",\"id\":\"classes/91\"," +
-    "\"name\":\"_OneByteString\"'}',\"kind\":\"String\",\"length\":\"{0}\",\"valueAsString\":\"{1}\"'}'";
+  /**
+   * The number of typed data elements fetched per request; these are then shown a page at a time.
+   */
+  private static final int TYPED_DATA_CHUNK_SIZE = 50 * XCompositeNode.MAX_CHILDREN_TO_SHOW;
 
   @NotNull private final DartVmServiceDebugProcess myDebugProcess;
   @NotNull private final String myIsolateId;
@@ -378,6 +378,11 @@ public class DartVmServiceValue extends XNamedValue {
   }
 
   private void computeCollectionChildren(@NotNull InstanceRef instanceRef, int offset, @NotNull final XCompositeNode node) {
+    if (isTypedDataKind(instanceRef.getKind())) {
+      computeTypedDataChildren(instanceRef, offset, node);
+      return;
+    }
+
     final int count = Math.min(instanceRef.getLength() - offset, XCompositeNode.MAX_CHILDREN_TO_SHOW);
 
     myDebugProcess.getVmServiceWrapper().getCollectionObject(myIsolateId, myInstanceRef.getId(), offset, count, new GetObjectConsumer() {
@@ -424,20 +429,6 @@ public class DartVmServiceValue extends XNamedValue {
       return;
     }
 
-    if (instance.getBytes() != null) { // true for typed data
-      //noinspection ConstantConditions
-      byte @NotNull [] bytes = Base64.getDecoder().decode(instance.getBytes());
-      TypedDataList data = getTypedDataList(bytes);
-      XValueChildrenList childrenList = new XValueChildrenList(data.size());
-      for (int i = 0; i < data.size(); i++) {
-        childrenList.add(
-          new DartVmServiceValue(myDebugProcess, myIsolateId, String.valueOf(i), instanceRefForString(data.getValue(i)), null, null,
-                                 false));
-      }
-      node.addChildren(childrenList, true);
-      return;
-    }
-
     if (instance.getKind() == InstanceKind.List) {
       node.addChildren(XValueChildrenList.EMPTY, true);
       return;
@@ -462,11 +453,90 @@ public class DartVmServiceValue extends XNamedValue {
     });
   }
 
-  private InstanceRef instanceRefForString(@NotNull String value) {
-    String json = MessageFormat.format(JSON_STRING_TEMPLATE, value.length(), value);
-    JsonObject ref = new Gson().fromJson(json, JsonObject.class);
-    //noinspection ConstantConditions
-    return new InstanceRef(ref);
+  /**
+   * Fetches a chunk of up to {@link #TYPED_DATA_CHUNK_SIZE} elements of a typed data list and shows its first page.
+   * <p>
+   * Typed data comes back from the VM as raw bytes, so the elements are read from the {@link TypedDataList} as
+   * they are displayed instead of being turned into an {@link InstanceRef} each.
+   */
+  private void computeTypedDataChildren(@NotNull InstanceRef instanceRef, int offset, @NotNull final XCompositeNode node) {
+    final int count = Math.min(instanceRef.getLength() - offset, TYPED_DATA_CHUNK_SIZE);
+
+    myDebugProcess.getVmServiceWrapper().getCollectionObject(myIsolateId, myInstanceRef.getId(), offset, count, new GetObjectConsumer() {
+      @Override
+      public void received(Obj obj) {
+        final Instance instance = (Instance)obj;
+        if (instance.getBytes() == null) {
+          final ElementList<InstanceRef> elements = instance.getElements();
+          if (elements == null) {
+            addListChildren(offset, node, instance);
+          }
+          else {
+            addChunkPage(node, instanceRef.getLength(), offset, count, 1, elements.size(), 0,
+                         (i) -> new DartVmServiceValue(myDebugProcess, myIsolateId, String.valueOf(offset + i), elements.get(i), null,
+                                                       null, false),
+                         () -> computeTypedDataChildren(instanceRef, offset + count, node));
+          }
+          return;
+        }
+
+        final byte @NotNull [] bytes = Base64.getDecoder().decode(instance.getBytes());
+        final TypedDataList data = getTypedDataList(bytes);
+        // SIMD lists such as Int32x4List are shown one lane at a time.
+        final int lanes = count > 0 ? Math.max(1, data.size() / count) : 1;
+        addChunkPage(node, instanceRef.getLength(), offset, count, lanes, data.size(), 0,
+                     (i) -> new TypedDataElementValue(String.valueOf(offset * lanes + i), data, i),
+                     () -> computeTypedDataChildren(instanceRef, offset + count, node));
+      }
+
+      @Override
+      public void received(Sentinel sentinel) {
+        node.setErrorMessage(sentinel.getValueAsString());
+      }
+
+      @Override
+      public void onError(RPCError error) {
+        node.setErrorMessage(error.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Shows a page of the children of a fetched chunk of a list, starting at child {@param start}, and offers the rest of
+   * the chunk or the next chunk.
+   *
+   * @param length      the number of elements in the list
+   * @param offset      the index of the first element in the chunk
+   * @param count       the number of elements in the chunk
+   * @param lanes       the number of children shown for each element, which is more than one for SIMD lists
+   * @param children    the number of children in the chunk
+   * @param createChild creates the child at an index in the chunk
+   * @param fetchNext   fetches and shows the next chunk
+   */
+  @VisibleForTesting
+  static void addChunkPage(@NotNull XCompositeNode node,
+                           int length,
+                           int offset,
+                           int count,
+                           int lanes,
+                           int children,
+                           int start,
+                           @NotNull IntFunction<XNamedValue> createChild,
+                           @NotNull Runnable fetchNext) {
+    final int end = Math.min(children, start + XCompositeNode.MAX_CHILDREN_TO_SHOW);
+    final XValueChildrenList childrenList = new XValueChildrenList(end - start);
+    for (int i = start; i < end; i++) {
+      childrenList.add(createChild.apply(i));
+    }
+    node.addChildren(childrenList, true);
+
+    final int remaining = (length - offset) * lanes - end;
+    if (end < children) {
+      node.tooManyChildren(remaining, () -> addChunkPage(node, length, offset, count, lanes, children, end, createChild, fetchNext));
+    }
+    else if (offset + count < length) {
+      node.tooManyChildren(remaining, fetchNext);
+    }
   }
 
   private TypedDataList getTypedDataList(byte @NotNull [] bytes) {
@@ -577,6 +647,10 @@ public class DartVmServiceValue extends XNamedValue {
     }
   }
 
+  private static boolean isTypedDataKind(@NotNull final InstanceKind kind) {
+    return kind != InstanceKind.List && isListKind(kind);
+  }
+
   private static boolean isListKind(@NotNull final InstanceKind kind) {
     // List, Uint8ClampedList, Uint8List, Uint16List, Uint32List, Uint64List, Int8List, Int16List, Int32List, Int64List, Float32List, Float64List, Int32x4List, Float32x4List, Float64x2List
     return kind == InstanceKind.List ||
@@ -610,4 +684,24 @@ public class DartVmServiceValue extends XNamedValue {
       myTokenPos = tokenPos;
     }
   }
+
+  /**
+   * A single element of a typed data list; the value is only formatted when it is displayed.
+   */
+  @VisibleForTesting
+  static class TypedDataElementValue extends XNamedValue {
+    @NotNull private final TypedDataList myData;
+    private final int myIndex;
+
+    TypedDataElementValue(@NotNull String name, @NotNull TypedDataList data, int index) {
+      super(name);
+      myData = data;
+      myIndex = index;
+    }
+
+    @Override
+    public void computePresentation(@NotNull XValueNode node, @NotNull XValuePlace place) {
+      node.setPresentation(AllIcons.Debugger.Db_primitive, new XNumericValuePresentation(myData.getValue(myIndex)), false);
+    }
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.console;
+
+import com.intellij.execution.filters.FileHyperlinkInfo;
+import com.intellij.execution.filters.Filter;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.roots.ModuleRootModificationUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import io.flutter.testing.ProjectFixture;
+import io.flutter.testing.TestDir;
+import io.flutter.testing.Testing;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies link detection in {@link FlutterConsoleFilter}, and that the files it remembers follow changes to the project.
+ */
+public class FlutterConsoleFilterTest {
+  /**
+   * Lines are filtered as the tail of a longer console, so offsets have to be relative to the whole text.
+   */
+  private static final int PRECEDING_LENGTH = 100;
+
+  @Rule
+  public final ProjectFixture<IdeaProjectTestFixture> fixture = Testing.makeEmptyModule();
+
+  @Rule
+  public final TestDir tmp = new TestDir();
+
+  private FlutterConsoleFilter filter;
+  private VirtualFile main;
+
+  @Before
+  public void setUp() throws Exception {
+    final VirtualFile root = tmp.ensureDir("root");
+    ModuleRootModificationUtil.addContentRoot(fixture.getModule(), root.getPath());
+    main = tmp.writeFile("root/lib/main.dart", "");
+    filter = new FlutterConsoleFilter(fixture.getModule());
+  }
+
+  @Test
+  public void linksTheLaunchedFile() {
+    final Filter.Result result = apply("Launching lib/main.dart on iPhone 15 in debug mode...");
+    assertLink(result, "Launching ".length(), "lib/main.dart", 0);
+  }
+
+  @Test
+  public void linksPathsInStackFrames() {
+    final Filter.Result result = apply("  • _MyHomePageState._incrementCounter (lib/main.dart:49)");
+    assertLink(result, "  • _MyHomePageState._incrementCounter (".length(), "lib/main.dart:49", 48);
+  }
+
+  @Test
+  public void linksCompilerErrors() {
+    final Filter.Result result = apply("lib/main.dart:12:5: Error: Expected ';' after this.");
+    assertNotNull(result);
+    assertEquals(PRECEDING_LENGTH, result.getHighlightStartOffset());
+    assertEquals(PRECEDING_LENGTH + "lib/main.dart".length(), result.getHighlightEndOffset());
+    assertEquals(main, getDescriptor(result).getFile());
+  }
+
+  @Test
+  public void ignoresLinesWithoutFiles() {
+    assertNull(apply("Syncing files to device iPhone 15..."));
+    assertNull(apply("Build: Running build completed, took 191ms"));
+    assertNull(apply("  • _MyHomePageState.build (lib/missing.dart:20)"));
+    assertNull(apply("lib/missing.dart:12:5: Error: Expected ';' after this."));
+  }
+
+  @Test
+  public void findsFilesCreatedAfterAMiss() throws Exception {
+    assertNull(filter.fileAtPath("lib/hello.dart"));
+
+    final VirtualFile hello = tmp.writeFile("root/lib/hello.dart", "");
+    assertEquals(hello, filter.fileAtPath("lib/hello.dart"));
+  }
+
+  @Test
+  public void findsFilesInContentRootsAddedAfterAMiss() throws Exception {
+    final VirtualFile other = tmp.ensureDir("other");
+    final VirtualFile widget = tmp.writeFile("other/lib/widget.dart", "");
+    assertNull(filter.fileAtPath("lib/widget.dart"));
+
+    ModuleRootModificationUtil.addContentRoot(fixture.getModule(), other.getPath());
+    assertEquals(widget, filter.fileAtPath("lib/widget.dart"));
+  }
+
+  private Filter.Result apply(String line) {
+    return filter.applyFilter(line, PRECEDING_LENGTH + line.length());
+  }
+
+  private void assertLink(Filter.Result result, int start, String text, int line) {
+    assertNotNull(result);
+    assertEquals(PRECEDING_LENGTH + start, result.getHighlightStartOffset());
+    assertEquals(PRECEDING_LENGTH + start + text.length(), result.getHighlightEndOffset());
+    final OpenFileDescriptor descriptor = getDescriptor(result);
+    assertEquals(main, descriptor.getFile());
+    assertEquals(line, descriptor.getLine());
+  }
+
+  private static OpenFileDescriptor getDescriptor(Filter.Result result) {
+    assertTrue(result.getFirstHyperlinkInfo() instanceof FileHyperlinkInfo);
+    final OpenFileDescriptor descriptor = ((FileHyperlinkInfo)result.getFirstHyperlinkInfo()).getDescriptor();
+    assertNotNull(descriptor);
+    return descriptor;
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.dart;
+
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnalysisServerMessageFilterTest {
+  private final AnalysisServerMessageFilter filter =
+    new AnalysisServerMessageFilter(Set.of("flutter.outline"), "42"::equals);
+
+  @Test
+  public void acceptsSubscribedNotifications() {
+    assertTrue(filter.accept("{\"event\":\"flutter.outline\",\"params\":{\"file\":\"/a.dart\"}}"));
+    assertEquals(1, filter.getAcceptedMessageCount());
+    assertEquals(0, filter.getSkippedMessageCount());
+  }
+
+  @Test
+  public void skipsOtherNotifications() {
+    final String message = "{\"event\":\"analysis.errors\",\"params\":{\"file\":\"/a.dart\",\"errors\":[]}}";
+    assertFalse(filter.accept(message));
+    assertEquals(1, filter.getSkippedMessageCount());
+    assertEquals(message.length(), filter.getSkippedCharCount());
+  }
+
+  @Test
+  public void acceptsResponsesToPendingRequests() {
+    assertTrue(filter.accept("{\"id\":\"42\",\"result\":{}}"));
+    assertFalse(filter.accept("{\"id\":\"43\",\"result\":{}}"));
+  }
+
+  @Test
+  public void findsEventAfterOtherMembers() {
+    assertTrue(filter.accept("{\"params\":{\"outline\":{\"children\":[1,2,3]}},\"event\":\"flutter.outline\"}"));
+  }
+
+  @Test
+  public void skipsMalformedMessages() {
+    assertFalse(filter.accept("[1,2,3]"));
+    assertFalse(filter.accept("{\"event\":"));
+    assertFalse(filter.accept("not json"));
+    assertFalse(filter.accept("{\"params\":{}}"));
+    assertEquals(4, filter.getSkippedMessageCount());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.font;
+
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import io.flutter.testing.ProjectFixture;
+import io.flutter.testing.TestDir;
+import io.flutter.testing.Testing;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IconFontIndexTest {
+  @Rule
+  public final ProjectFixture<IdeaProjectTestFixture> fixture = Testing.makeEmptyProject();
+
+  @Rule
+  public final TestDir tmp = new TestDir();
+
+  private IconFontIndex index;
+  private VirtualFile packageRoot;
+
+  @Before
+  public void setUp() throws Exception {
+    index = new IconFontIndex(fixture.getProject());
+    packageRoot = tmp.ensureDir("icons_package");
+    tmp.writeFile("icons_package/fonts/material_design_icons.ttf", "");
+    tmp.writeFile("icons_package/assets/FeatherIcons.ttf", "");
+  }
+
+  @After
+  public void tearDown() {
+    Disposer.dispose(index);
+  }
+
+  @Test
+  public void putsTheFontNamedAfterTheFamilyFirst() {
+    assertEquals("material_design_icons.ttf", index.getFontFiles(packageRoot, "MaterialDesignIcons").get(0).getName());
+    assertEquals("FeatherIcons.ttf", index.getFontFiles(packageRoot, "feather_icons").get(0).getName());
+  }
+
+  @Test
+  public void putsTheMostSimilarFontFirstWithoutAnExactMatch() {
+    assertEquals("FeatherIcons.ttf", index.getFontFiles(packageRoot, "Feather").get(0).getName());
+  }
+
+  @Test
+  public void findsAllFontsWithoutAFamily() {
+    assertEquals(2, index.getFontFiles(packageRoot, null).size());
+  }
+
+  @Test
+  public void tracksFontsAddedAndDeletedAfterTheCrawl() throws Exception {
+    assertEquals(2, index.getFontFiles(packageRoot, null).size());
+
+    tmp.writeFile("icons_package/fonts/more/brand_icons.ttf", "");
+    index.waitForUpdates();
+    final List<VirtualFile> fonts = index.getFontFiles(packageRoot, "BrandIcons");
+    assertEquals(3, fonts.size());
+    assertEquals("brand_icons.ttf", fonts.get(0).getName());
+
+    tmp.deleteFile("icons_package/fonts/more/brand_icons.ttf");
+    index.waitForUpdates();
+    assertEquals(2, index.getFontFiles(packageRoot, null).size());
+  }
+}
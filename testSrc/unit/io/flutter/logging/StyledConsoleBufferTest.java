@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.logging;
+
+import com.intellij.execution.ui.ConsoleViewContentType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StyledConsoleBufferTest {
+  @Test
+  public void mergesAdjacentRangesWithTheSameType() {
+    final StyledConsoleBuffer buffer = new StyledConsoleBuffer();
+    buffer.append("a", ConsoleViewContentType.NORMAL_OUTPUT);
+    buffer.append("b", ConsoleViewContentType.NORMAL_OUTPUT);
+    buffer.append("", ConsoleViewContentType.ERROR_OUTPUT);
+    buffer.append("c", ConsoleViewContentType.ERROR_OUTPUT);
+    buffer.append("d", ConsoleViewContentType.NORMAL_OUTPUT);
+
+    assertEquals("abcd", buffer.getText());
+    assertEquals(3, buffer.getRangeCount());
+    assertTrue(buffer.contentEquals("abcd"));
+    assertFalse(buffer.contentEquals("abc"));
+  }
+
+  @Test
+  public void clearResetsTheBuffer() {
+    final StyledConsoleBuffer buffer = new StyledConsoleBuffer();
+    for (int i = 0; i < 100; i++) {
+      buffer.append("x", i % 2 == 0 ? ConsoleViewContentType.NORMAL_OUTPUT : ConsoleViewContentType.ERROR_OUTPUT);
+    }
+    assertEquals(100, buffer.getRangeCount());
+
+    buffer.clear();
+    assertTrue(buffer.isEmpty());
+    assertEquals(0, buffer.getRangeCount());
+  }
+}
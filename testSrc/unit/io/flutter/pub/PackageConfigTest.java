@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.pub;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PackageConfigTest {
+  private static final String CONFIG = """
+    {
+      "configVersion": 2,
+      "packages": [
+        {
+          "name": "cupertino_icons",
+          "rootUri": "file:///home/me/.pub-cache/hosted/pub.dev/cupertino_icons-1.0.8",
+          "packageUri": "lib/",
+          "languageVersion": "3.1"
+        },
+        {
+          "name": "flutter",
+          "rootUri": "file:///sdk/flutter/packages/flutter",
+          "packageUri": "lib/"
+        },
+        {
+          "name": "my_app",
+          "rootUri": "../",
+          "packageUri": "lib/"
+        }
+      ]
+    }
+    """;
+
+  @Test
+  public void resolvesRootAndLibPaths() {
+    final PackageConfig config = PackageConfig.parse(CONFIG, "/home/me/my_app/.dart_tool");
+    assertNotNull(config);
+    assertEquals("/home/me/.pub-cache/hosted/pub.dev/cupertino_icons-1.0.8", config.getRootPath("cupertino_icons"));
+    assertEquals("/home/me/my_app", config.getRootPath("my_app"));
+    assertNull(config.getRootPath("missing"));
+
+    final Map<String, String> libPaths = config.getLibPaths();
+    assertEquals(3, libPaths.size());
+    assertEquals("/sdk/flutter/packages/flutter/lib", libPaths.get("flutter"));
+    assertEquals("/home/me/my_app/lib", libPaths.get("my_app"));
+  }
+
+  @Test
+  public void keepsTheRootUriAsWritten() {
+    final PackageConfig config = PackageConfig.parse(CONFIG, "/home/me/my_app/.dart_tool");
+    assertNotNull(config);
+    final PackageConfig.Package flutter = config.getPackage("flutter");
+    assertNotNull(flutter);
+    assertEquals("file:///sdk/flutter/packages/flutter", flutter.rootUri());
+  }
+
+  @Test
+  public void resolvesWindowsPaths() {
+    final String config = """
+      {
+        "configVersion": 2,
+        "packages": [
+          {
+            "name": "flutter",
+            "rootUri": "file:///C:/src/flutter/packages/flutter",
+            "packageUri": "lib/"
+          },
+          {
+            "name": "my_app",
+            "rootUri": "../",
+            "packageUri": "lib/"
+          }
+        ]
+      }
+      """;
+    final PackageConfig parsed = PackageConfig.parse(config, "C:/Users/me/my_app/.dart_tool");
+    assertNotNull(parsed);
+    assertEquals("C:/src/flutter/packages/flutter", parsed.getRootPath("flutter"));
+    assertEquals("C:/src/flutter/packages/flutter/lib", parsed.getLibPaths().get("flutter"));
+    assertEquals("C:/Users/me/my_app", parsed.getRootPath("my_app"));
+    assertEquals("C:/Users/me/my_app/lib", parsed.getLibPaths().get("my_app"));
+  }
+
+  @Test
+  public void rejectsInvalidConfigs() {
+    assertNull(PackageConfig.parse("{\"configVersion\": 1, \"packages\": []}", "/app/.dart_tool"));
+    assertNull(PackageConfig.parse("not json {", "/app/.dart_tool"));
+    assertNull(PackageConfig.parse("[]", "/app/.dart_tool"));
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.pub;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PubspecSummaryTest {
+  @Test
+  public void scansAppPubspec() {
+    final String pubspec = """
+      # An app.
+      name: my_app
+      description: "A new Flutter project."
+      publish_to: 'none' # Remove this line to publish to pub.dev
+
+      environment:
+        sdk: ^3.5.0
+
+      dependencies:
+        flutter:
+          sdk: flutter
+        cupertino_icons: ^1.0.8
+
+      dev_dependencies:
+        flutter_test:
+          sdk: flutter
+
+      flutter:
+        uses-material-design: true
+      """;
+    assertScannedAs(new PubspecSummary(true, false, false), pubspec);
+  }
+
+  @Test
+  public void scansPluginPubspec() {
+    final String pubspec = """
+      name: my_plugin
+      resolution: workspace
+      dependencies:
+        "flutter":
+          sdk: flutter
+        plugin_platform_interface: ^2.0.2
+      flutter:
+        plugin:
+          platforms:
+            android:
+              package: com.example.my_plugin
+              pluginClass: MyPlugin
+      """;
+    assertScannedAs(new PubspecSummary(true, true, true), pubspec);
+  }
+
+  @Test
+  public void scansFlutterPackageItself() {
+    assertScannedAs(new PubspecSummary(true, false, false), "name: 'flutter'\r\ndependencies:\r\n  meta: 1.0.0\r\n");
+  }
+
+  @Test
+  public void ignoresNestedKeys() {
+    final String pubspec = """
+      name: pure_dart
+      dependencies:
+        path:
+          flutter: nested
+      dev_dependencies:
+        flutter: any
+      executables:
+        plugin:
+      """;
+    assertScannedAs(PubspecSummary.EMPTY, pubspec);
+  }
+
+  @Test
+  public void skipsValuesOfOtherKeysInAnyStyle() {
+    final String pubspec = """
+      name: my_plugin
+      description: >-
+        A plugin whose description mentions
+        flutter: and dependencies: on its own lines.
+      homepage: "https://example.com/\\u0041"
+      topics: [widgets, flutter]
+      dependencies:
+        flutter:
+          sdk: flutter
+      false_secrets: |
+        name: flutter
+      flutter:
+        plugin:
+          platforms: {}
+      """;
+    assertScannedAs(new PubspecSummary(true, true, false), pubspec);
+  }
+
+  @Test
+  public void fallsBackForBlockScalarsOfSummarizedKeys() {
+    final String pubspec = "name: >-\n  flutter\n";
+    assertNull(PubspecSummary.scan(pubspec));
+    assertEquals(new PubspecSummary(true, false, false), PubspecSummary.parse(pubspec));
+  }
+
+  @Test
+  public void fallsBackForMergeKeys() {
+    final String nested = "base: &base\n  flutter:\n    sdk: flutter\ndependencies:\n  <<: *base\n";
+    assertNull(PubspecSummary.scan(nested));
+    assertEquals(new PubspecSummary(true, false, false), PubspecSummary.parse(nested));
+    assertNull(PubspecSummary.scan("<<: {flutter: {plugin: {}}}\n"));
+  }
+
+  @Test
+  public void fallsBackForFlowStyle() {
+    final String pubspec = "name: app\ndependencies: {flutter: {sdk: flutter}}\nflutter: {plugin: {}}\n";
+    assertNull(PubspecSummary.scan(pubspec));
+    assertEquals(new PubspecSummary(true, true, false), PubspecSummary.parse(pubspec));
+  }
+
+  @Test
+  public void fallsBackForMultiLineScalars() {
+    final String pubspec = "name:\n  flutter\n";
+    assertNull(PubspecSummary.scan(pubspec));
+    assertEquals(new PubspecSummary(true, false, false), PubspecSummary.parse(pubspec));
+  }
+
+  @Test
+  public void handlesInvalidYaml() {
+    assertEquals(PubspecSummary.EMPTY, PubspecSummary.parse("dependencies: {flutter"));
+    assertEquals(PubspecSummary.EMPTY, PubspecSummary.parse(""));
+  }
+
+  @Test
+  public void roundTripsFlags() {
+    for (int flags = 0; flags < 8; flags++) {
+      assertEquals(flags, PubspecSummary.fromFlags(flags).toFlags());
+    }
+  }
+
+  private static void assertScannedAs(PubspecSummary expected, String pubspec) {
+    assertEquals(expected, PubspecSummary.scan(pubspec));
+    // The scanner must agree with the YAML parser.
+    assertEquals(expected, PubspecSummary.parseYaml(pubspec));
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.lang.dart.DartLanguage;
+import com.jetbrains.lang.dart.psi.DartFunctionDeclarationWithBodyOrNative;
+import io.flutter.AbstractDartElementTest;
+import io.flutter.testing.Testing;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that {@link DartSyntaxErrorTracker} keeps each file's errors up to date as its PSI changes.
+ */
+public class DartSyntaxErrorTrackerTest extends AbstractDartElementTest {
+  private DartSyntaxErrorTracker tracker;
+
+  @Before
+  public void setUp() {
+    tracker = new DartSyntaxErrorTracker(fixture.getProject());
+  }
+
+  @After
+  public void tearDown() {
+    Disposer.dispose(tracker);
+  }
+
+  @Test
+  public void answersForUnseenFilesAndScansThemInTheBackground() throws Exception {
+    final PsiFile file = addFile("main() { var x = ; }\n");
+    assertFalse(isTracked(file));
+
+    assertTrue(hasSyntaxErrors(file));
+    waitUntilTracked(file);
+    assertTrue(hasSyntaxErrors(file));
+  }
+
+  @Test
+  public void tracksAddedErrors() throws Exception {
+    final PsiFile file = addTrackedFile("main() {}\n");
+    assertFalse(hasSyntaxErrors(file));
+
+    write(() -> file.add(createFunction("bad() { var x = ; }")));
+    assertTrue(isTracked(file));
+    assertTrue(hasSyntaxErrors(file));
+  }
+
+  @Test
+  public void tracksReplacedErrors() throws Exception {
+    final PsiFile file = addTrackedFile("main() {}\nok() {}\n");
+    assertFalse(hasSyntaxErrors(file));
+
+    write(() -> getFunctions(file).get(1).replace(createFunction("bad() { var x = ; }")));
+    assertTrue(isTracked(file));
+    assertTrue(hasSyntaxErrors(file));
+
+    write(() -> getFunctions(file).get(1).replace(createFunction("ok() {}")));
+    assertTrue(isTracked(file));
+    assertFalse(hasSyntaxErrors(file));
+  }
+
+  @Test
+  public void tracksRemovedErrors() throws Exception {
+    final PsiFile file = addTrackedFile("main() {}\nbad() { var x = ; }\n");
+    assertTrue(hasSyntaxErrors(file));
+
+    write(() -> getFunctions(file).get(1).delete());
+    assertTrue(isTracked(file));
+    assertFalse(hasSyntaxErrors(file));
+  }
+
+  @Test
+  public void tracksEditsToTheDocument() throws Exception {
+    final PsiFile file = addTrackedFile("main() {\n  var x = 1;\n}\n");
+    assertFalse(hasSyntaxErrors(file));
+
+    editDocument(file, "1", "");
+    assertTrue(isTracked(file));
+    assertTrue(hasSyntaxErrors(file));
+
+    editDocument(file, "= ;", "= 2;");
+    assertTrue(isTracked(file));
+    assertFalse(hasSyntaxErrors(file));
+  }
+
+  private PsiFile addFile(String text) throws Exception {
+    return Testing.computeOnDispatchThread(() -> fixture.getInner().addFileToProject("lib/main.dart", text));
+  }
+
+  private PsiFile addTrackedFile(String text) throws Exception {
+    final PsiFile file = addFile(text);
+    hasSyntaxErrors(file);
+    waitUntilTracked(file);
+    return file;
+  }
+
+  private DartFunctionDeclarationWithBodyOrNative createFunction(String text) {
+    final PsiFile file = PsiFileFactory.getInstance(fixture.getProject()).createFileFromText("function.dart", DartLanguage.INSTANCE, text);
+    return Objects.requireNonNull(PsiTreeUtil.findChildOfType(file, DartFunctionDeclarationWithBodyOrNative.class));
+  }
+
+  private static List<DartFunctionDeclarationWithBodyOrNative> getFunctions(PsiFile file) {
+    return PsiTreeUtil.getChildrenOfTypeAsList(file, DartFunctionDeclarationWithBodyOrNative.class);
+  }
+
+  private void editDocument(PsiFile file, String oldText, String newText) throws Exception {
+    write(() -> {
+      final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(fixture.getProject());
+      final Document document = Objects.requireNonNull(documentManager.getDocument(file));
+      final int offset = document.getText().indexOf(oldText);
+      document.replaceString(offset, offset + oldText.length(), newText);
+      documentManager.commitDocument(document);
+    });
+  }
+
+  private void write(Runnable change) throws Exception {
+    Testing.runOnDispatchThread(() -> WriteCommandAction.runWriteCommandAction(fixture.getProject(), change));
+  }
+
+  private boolean hasSyntaxErrors(PsiFile file) {
+    return ReadAction.compute(() -> {
+      final Document document = Objects.requireNonNull(PsiDocumentManager.getInstance(fixture.getProject()).getDocument(file));
+      return tracker.hasSyntaxErrors(document);
+    });
+  }
+
+  private boolean isTracked(PsiFile file) {
+    return ReadAction.compute(() -> tracker.isTracked(file));
+  }
+
+  private void waitUntilTracked(PsiFile file) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!isTracked(file) && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertTrue(isTracked(file));
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TokenPositionTableTest {
+  @Test
+  public void convertsToZeroBasedPositions() {
+    final TokenPositionTable table = TokenPositionTable.fromJson(parse("[[1, 10, 1, 11, 5], [3, 20, 7]]"));
+    assertEquals(3, table.size());
+    assertPosition(table, 10, 0, 0);
+    assertPosition(table, 11, 0, 4);
+    assertPosition(table, 20, 2, 6);
+  }
+
+  @Test
+  public void returnsNegativeForUnknownTokens() {
+    final TokenPositionTable table = TokenPositionTable.fromJson(parse("[[1, 10, 1]]"));
+    assertEquals(-1, table.get(9));
+    assertEquals(-1, table.get(11));
+    assertEquals(-1, TokenPositionTable.fromJson(null).get(10));
+  }
+
+  @Test
+  public void handlesUnsortedTokens() {
+    final TokenPositionTable table = TokenPositionTable.fromJson(parse("[[2, 30, 3, 5, 1], [1, 20, 2, 30, 9]]"));
+    assertEquals(3, table.size());
+    assertPosition(table, 5, 1, 0);
+    assertPosition(table, 20, 0, 1);
+    // The last entry for a token wins.
+    assertPosition(table, 30, 0, 8);
+  }
+
+  private static void assertPosition(TokenPositionTable table, int tokenId, int line, int column) {
+    final long position = table.get(tokenId);
+    assertEquals(line, TokenPositionTable.line(position));
+    assertEquals(column, TokenPositionTable.column(position));
+  }
+
+  private static JsonArray parse(String json) {
+    return JsonParser.parseString(json).getAsJsonArray();
+  }
+}
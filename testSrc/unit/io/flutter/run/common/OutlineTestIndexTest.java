@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.common;
+
+import org.dartlang.analysis.server.protocol.FlutterOutline;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class OutlineTestIndexTest {
+  private final OutlineTestIndex index = new OutlineTestIndex();
+  private final FlutterOutline outline = newOutline();
+  private int builds;
+
+  private Map<Integer, TestType> getTests(String path, FlutterOutline outline, long stamp) {
+    return index.getTests(path, outline, stamp, () -> {
+      builds++;
+      return Map.of(builds, TestType.SINGLE);
+    });
+  }
+
+  private static FlutterOutline newOutline() {
+    return new FlutterOutline("UNIT_TEST", 0, 0, 0, 0, null, null, null, null, null, null, null);
+  }
+
+  @Test
+  public void reusesTheIndexForTheSameOutlineAndFile() {
+    final Map<Integer, TestType> tests = getTests("a", outline, 1);
+    assertEquals(Map.of(1, TestType.SINGLE), tests);
+    assertSame(tests, getTests("a", outline, 1));
+    assertEquals(1, builds);
+  }
+
+  @Test
+  public void rebuildsWhenTheOutlineChanges() {
+    getTests("a", outline, 1);
+    final FlutterOutline newer = newOutline();
+    assertFalse(index.isOutdated("a", outline));
+    assertTrue(index.isOutdated("a", newer));
+
+    assertEquals(Map.of(2, TestType.SINGLE), getTests("a", newer, 1));
+    assertFalse(index.isOutdated("a", newer));
+    assertEquals(2, builds);
+  }
+
+  @Test
+  public void rebuildsWhenTheFileChanges() {
+    getTests("a", outline, 1);
+    getTests("a", outline, 2);
+    assertEquals(2, builds);
+  }
+
+  @Test
+  public void invalidateForgetsTheFile() {
+    getTests("a", outline, 1);
+    getTests("b", outline, 1);
+    index.invalidate("a");
+    assertFalse(index.isOutdated("a", newOutline()));
+
+    getTests("a", outline, 1);
+    getTests("b", outline, 1);
+    assertEquals(3, builds);
+  }
+
+  @Test
+  public void evictsTheLeastRecentlyUsedFile() {
+    for (int i = 0; i < OutlineTestIndex.MAX_ENTRIES; i++) {
+      getTests("file" + i, outline, 1);
+    }
+    // Use the first file again, so that the second one is now the oldest.
+    getTests("file0", outline, 1);
+    getTests("one more", outline, 1);
+    assertEquals(OutlineTestIndex.MAX_ENTRIES + 1, builds);
+
+    getTests("file0", outline, 1);
+    assertEquals(OutlineTestIndex.MAX_ENTRIES + 1, builds);
+    getTests("file1", outline, 1);
+    assertEquals(OutlineTestIndex.MAX_ENTRIES + 2, builds);
+  }
+}
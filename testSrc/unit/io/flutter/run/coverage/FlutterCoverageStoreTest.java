@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.coverage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FlutterCoverageStoreTest {
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void keepsFilesNotTouchedByTheLatestRun() throws IOException {
+    final String a = write("a.dart", "void a() {}\n");
+    final String b = write("b.dart", "void b() {}\n");
+    final Map<String, FlutterCoverageStore.Entry> stored = new HashMap<>();
+
+    final int[] firstA = {-1, 1};
+    final int[] firstB = {-1, 2};
+    Map<String, int[]> result = FlutterCoverageStore.merge(stored, Map.of(a, firstA, b, firstB));
+    assertEquals(2, result.size());
+
+    // Re-running a test that only touches a.dart replaces its results and keeps those for b.dart.
+    final int[] secondA = {-1, 5};
+    result = FlutterCoverageStore.merge(stored, Map.of(a, secondA));
+    assertSame(secondA, result.get(a));
+    assertSame(firstB, result.get(b));
+  }
+
+  @Test
+  public void dropsFilesEditedSinceTheyWereRecorded() throws IOException {
+    final String a = write("a.dart", "void a() {}\n");
+    final String b = write("b.dart", "void b() {}\n");
+    final Map<String, FlutterCoverageStore.Entry> stored = new HashMap<>();
+    FlutterCoverageStore.merge(stored, Map.of(a, new int[]{-1, 1}, b, new int[]{-1, 1}));
+
+    write("b.dart", "void b() {\n  print('edited');\n}\n");
+    final Map<String, int[]> result = FlutterCoverageStore.merge(stored, Map.of(a, new int[]{-1, 3}));
+    assertEquals(1, result.size());
+    assertTrue(result.containsKey(a));
+  }
+
+  @Test
+  public void keepsFilesTouchedButNotChanged() throws IOException {
+    final String b = write("b.dart", "void b() {}\n");
+    final Map<String, FlutterCoverageStore.Entry> stored = new HashMap<>();
+    final int[] hits = {-1, 1};
+    FlutterCoverageStore.merge(stored, Map.of(b, hits));
+
+    // Same contents, newer modification time.
+    final File file = new File(b);
+    assertTrue(file.setLastModified(file.lastModified() + 10_000));
+    final Map<String, int[]> result = FlutterCoverageStore.merge(stored, Map.of());
+    assertSame(hits, result.get(b));
+  }
+
+  @Test
+  public void showsUnreadableFilesWithoutKeepingThem() {
+    final String missing = new File(tmp.getRoot(), "missing.dart").getPath();
+    final Map<String, FlutterCoverageStore.Entry> stored = new HashMap<>();
+    final Map<String, int[]> result = FlutterCoverageStore.merge(stored, Map.of(missing, new int[]{-1, 1}));
+    assertTrue(result.containsKey(missing));
+    assertTrue(stored.isEmpty());
+  }
+
+  private String write(String name, String contents) throws IOException {
+    final File file = new File(tmp.getRoot(), name);
+    Files.writeString(file.toPath(), contents, StandardCharsets.UTF_8);
+    return file.getPath();
+  }
+}
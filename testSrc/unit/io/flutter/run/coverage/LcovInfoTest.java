@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.coverage;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LcovInfoTest {
+  private static final String BASE = "/work/app/";
+
+  @Test
+  public void parsesRecords() {
+    final String lcov = """
+      SF:lib/main.dart
+      DA:3,1
+      DA:5,0
+      DA:7,12,checksum
+      LF:3
+      LH:2
+      end_of_record
+      SF:lib/src/../util.dart\r
+      DA:1,4\r
+      end_of_record\r
+      """;
+    final Map<String, int[]> hits = parse(lcov);
+    assertEquals(2, hits.size());
+
+    final int[] main = hits.get("/work/app/lib/main.dart");
+    assertNotNull(main);
+    assertEquals(LcovInfo.NO_DATA, main[0]);
+    assertEquals(1, main[3]);
+    assertEquals(LcovInfo.NO_DATA, main[4]);
+    assertEquals(0, main[5]);
+    assertEquals(12, main[7]);
+
+    final int[] util = hits.get("/work/app/lib/util.dart");
+    assertNotNull(util);
+    assertEquals(4, util[1]);
+  }
+
+  @Test
+  public void ignoresIncompleteRecords() {
+    final Map<String, int[]> hits = parse("DA:1,1\nSF:lib/a.dart\nDA:x,1\nDA:2\nDA:3,y\nend_of_record\nSF:lib/b.dart\nDA:1,1\n");
+    assertEquals(1, hits.size());
+    final int[] a = hits.get("/work/app/lib/a.dart");
+    // Numbers that don't parse are read as 0, as they always have been.
+    assertEquals(1, a[0]);
+    assertEquals(0, a[3]);
+    assertEquals(LcovInfo.NO_DATA, a[2]);
+  }
+
+  @Test
+  public void mergesRepeatedFiles() {
+    final Map<String, int[]> first = parse("SF:lib/a.dart\nDA:1,1\nDA:2,0\nend_of_record\nSF:lib/a.dart\nDA:2,3\nend_of_record\n");
+    assertEquals(3, first.get("/work/app/lib/a.dart")[2]);
+
+    final Map<String, int[]> second = parse("SF:lib/a.dart\nDA:1,2\nDA:200,1\nend_of_record\nSF:lib/b.dart\nDA:1,1\nend_of_record\n");
+    final Map<String, int[]> merged = LcovInfo.merge(first, second);
+    assertEquals(2, merged.size());
+    final int[] a = merged.get("/work/app/lib/a.dart");
+    assertEquals(3, a[1]);
+    assertEquals(3, a[2]);
+    assertEquals(1, a[200]);
+  }
+
+  @Test
+  public void parsesLargeFilesInParts() {
+    final StringBuilder builder = new StringBuilder();
+    for (int file = 0; file < 3000; file++) {
+      builder.append("SF:lib/file").append(file % 1000).append(".dart\n");
+      for (int line = 1; line <= 100; line++) {
+        builder.append("DA:").append(line).append(',').append(line % 3).append('\n');
+      }
+      builder.append("end_of_record\n");
+    }
+    final Map<String, int[]> hits = parse(builder.toString());
+    assertEquals(1000, hits.size());
+    for (int[] counts : hits.values()) {
+      for (int line = 1; line <= 100; line++) {
+        assertEquals(3 * (line % 3), counts[line]);
+      }
+    }
+  }
+
+  private static Map<String, int[]> parse(String lcov) {
+    return LcovInfo.parse(lcov.getBytes(StandardCharsets.UTF_8), BASE);
+  }
+}
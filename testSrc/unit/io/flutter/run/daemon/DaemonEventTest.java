@@ -17,6 +17,7 @@ import java.util.List;
 
 import static io.flutter.testing.JsonTesting.curly;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Verifies that we can read events sent using the Flutter daemon protocol.
@@ -157,6 +158,18 @@ public class DaemonEventTest {
     checkLog("AppProgress: finished, 42, opaque, very.hot, All done!");
   }
 
+  @Test
+  public void canReceiveProgressWithoutOptionalFields() {
+    send("app.progress", curly("appId:42", "id:opaque", "message:\"Please wait\""));
+    checkLog("AppProgress: starting, 42, opaque, , Please wait");
+  }
+
+  @Test
+  public void shouldDropAppLogWithUnexpectedParameters() {
+    send("app.log", curly("appId:42", "log:" + curly("text:\"Oh no!\"")));
+    checkLog();
+  }
+
   @Test
   public void canReceiveAppStopped() {
     send("app.stop", curly("appId:42"));
@@ -177,6 +190,32 @@ public class DaemonEventTest {
     checkLog("DeviceAdded: 9000, Banana Jr, feet, mobile");
   }
 
+  @Test
+  public void canReceiveDeviceAddedWithEmulatorFields() {
+    final List<DaemonEvent.DeviceAdded> added = new ArrayList<>();
+    DaemonEvent.dispatch(
+      GSON.fromJson(curly("event:\"device.added\"",
+                          "params:" + curly("id:emulator-5554", "name:Pixel", "platform:\"android-x64\"", "emulator:true",
+                                            "emulatorId:\"Pixel_API_34\"", "platformType:android", "ephemeral:true")),
+                    JsonObject.class),
+      new DaemonEvent.Listener() {
+        @Override
+        public void onDeviceAdded(DaemonEvent.DeviceAdded event) {
+          added.add(event);
+        }
+      });
+
+    assertEquals(1, added.size());
+    final DaemonEvent.DeviceAdded event = added.get(0);
+    assertEquals("emulator-5554", event.id);
+    assertEquals("android-x64", event.platform);
+    assertEquals(Boolean.TRUE, event.emulator);
+    assertEquals("Pixel_API_34", event.emulatorId);
+    assertEquals("android", event.platformType);
+    assertEquals(Boolean.TRUE, event.ephemeral);
+    assertNull(event.category);
+  }
+
   @Test
   public void canReceiveDeviceRemoved() {
     send("device.removed", curly("id:9000", "name:\"Banana Jr\"", "platform:\"feet\""));
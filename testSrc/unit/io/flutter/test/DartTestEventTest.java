@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.test;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DartTestEventTest {
+  @Test
+  public void skipsPlainText() {
+    assertFalse(DartTestEvent.mayBeJson("00:01 +1: All tests passed!\n"));
+    assertFalse(DartTestEvent.mayBeJson("   \n"));
+    assertTrue(DartTestEvent.mayBeJson("  {\"type\":\"done\"}\n"));
+    assertTrue(DartTestEvent.mayBeJson("[{\"event\":\"test.startedProcess\"}]"));
+  }
+
+  @Test
+  public void decodesTestStart() {
+    final DartTestEvent event = DartTestEvent.decode(
+      "{\"test\":{\"id\":7,\"name\":\"group a test\",\"suiteID\":0,\"groupIDs\":[2,5],\"metadata\":{\"skip\":true,\"skipReason\":\"flaky\"}," +
+      "\"line\":12,\"column\":3,\"url\":\"package:a/a_test.dart\",\"root_line\":40,\"root_column\":5,\"root_url\":\"file:///a_test.dart\"}," +
+      "\"type\":\"testStart\",\"time\":1234}\n");
+    assertNotNull(event);
+    assertEquals("testStart", event.type);
+    assertTrue(event.hasTime);
+    assertEquals(1234, event.time);
+
+    final DartTestEvent.Definition test = event.test;
+    assertNotNull(test);
+    assertEquals(7, test.id);
+    assertEquals("group a test", test.name);
+    assertEquals(0, test.suiteID);
+    assertEquals(5, test.lastGroupID);
+    assertTrue(test.skip);
+    assertEquals("flaky", test.skipReason);
+    assertEquals(12, test.line);
+    assertEquals(40, test.rootLine);
+    assertEquals(5, test.rootColumn);
+    assertEquals("file:///a_test.dart", test.rootUrl);
+  }
+
+  @Test
+  public void decodesEventsThatReferToTests() {
+    final DartTestEvent done = DartTestEvent.decode("{\"testID\":7,\"result\":\"success\",\"skipped\":false,\"hidden\":false," +
+                                                    "\"type\":\"testDone\",\"time\":1300}");
+    assertNotNull(done);
+    assertEquals(7, done.testID);
+    assertEquals("success", done.result);
+    assertNull(done.test);
+
+    final DartTestEvent error = DartTestEvent.decode("{\"testID\":7,\"error\":\"boom\",\"stackTrace\":\"at main\",\"isFailure\":true," +
+                                                     "\"type\":\"error\",\"time\":1301}");
+    assertNotNull(error);
+    assertEquals("boom", error.error);
+    assertEquals("at main", error.stackTrace);
+  }
+
+  @Test
+  public void decodesGroupAndSuite() {
+    final DartTestEvent group = DartTestEvent.decode(
+      "{\"group\":{\"id\":2,\"suiteID\":0,\"parentID\":null,\"name\":\"\",\"metadata\":{\"skip\":false,\"skipReason\":null}," +
+      "\"testCount\":3,\"line\":null,\"column\":null,\"url\":null},\"type\":\"group\",\"time\":5}");
+    assertNotNull(group);
+    assertNotNull(group.group);
+    assertEquals(DartTestEvent.NONE, group.group.parentID);
+    assertEquals(3, group.group.testCount);
+    assertEquals(DartTestEvent.NONE, group.group.line);
+    assertNull(group.group.url);
+    assertNull(group.group.skipReason);
+
+    final DartTestEvent suite = DartTestEvent.decode("{\"suite\":{\"id\":0,\"platform\":\"vm\",\"path\":\"test/a_test.dart\"}," +
+                                                     "\"type\":\"suite\",\"time\":1}");
+    assertNotNull(suite);
+    assertNotNull(suite.suite);
+    assertEquals("test/a_test.dart", suite.suite.path);
+    assertEquals("vm", suite.suite.platform);
+  }
+
+  @Test
+  public void rejectsOtherJson() {
+    assertNull(DartTestEvent.decode("[1, 2]"));
+    assertNull(DartTestEvent.decode("{\"type\": \"print\""));
+    assertNull(DartTestEvent.decode("{\"type\": \"print\"} and more"));
+    assertNull(DartTestEvent.decode("{\"testID\": \"seven\", \"type\": \"print\"} {}"));
+
+    final DartTestEvent untyped = DartTestEvent.decode("{\"a\": [1, {\"b\": 2}]}");
+    assertNotNull(untyped);
+    assertNull(untyped.type);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.test;
+
+import com.intellij.execution.configurations.RunProfile;
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.process.ProcessOutputTypes;
+import com.intellij.execution.testframework.TestConsoleProperties;
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.util.config.Storage;
+import com.jetbrains.lang.dart.util.DartUrlResolver;
+import io.flutter.testing.ProjectFixture;
+import io.flutter.testing.TestDir;
+import io.flutter.testing.Testing;
+import jetbrains.buildServer.messages.serviceMessages.DefaultServiceMessageVisitor;
+import jetbrains.buildServer.messages.serviceMessages.TestStdOut;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies how {@link DartTestEventsConverterZ} handles events that arrive after their test has finished.
+ */
+public class DartTestEventsConverterZTest {
+  @Rule
+  public final ProjectFixture<IdeaProjectTestFixture> fixture = Testing.makeEmptyProject();
+
+  @Rule
+  public final TestDir tmp = new TestDir();
+
+  private TestConsoleProperties properties;
+  private DartTestEventsConverterZ converter;
+  private final List<String> printed = new ArrayList<>();
+
+  private final DefaultServiceMessageVisitor visitor = new DefaultServiceMessageVisitor() {
+    @Override
+    public void visitTestStdOut(TestStdOut message) {
+      printed.add(message.getTestName() + ": " + message.getStdOut());
+    }
+  };
+
+  @Before
+  public void setUp() throws Exception {
+    properties = new TestConsoleProperties(new Storage.PropertiesComponentStorage("DartTestEventsConverterZTest.",
+                                                                                  PropertiesComponent.getInstance()),
+                                           fixture.getProject(), DefaultRunExecutor.getRunExecutorInstance()) {
+      @Override
+      public RunProfile getConfiguration() {
+        return null;
+      }
+    };
+    final DartUrlResolver urlResolver = DartUrlResolver.getInstance(fixture.getProject(), tmp.ensureDir("root"));
+    converter = new DartTestEventsConverterZ("DartTestEventsConverterZTest", properties, urlResolver);
+    send("{\"protocolVersion\":\"0.1.1\",\"runnerVersion\":\"1.25.0\",\"pid\":1,\"type\":\"start\",\"time\":0}");
+  }
+
+  @After
+  public void tearDown() {
+    Disposer.dispose(converter);
+    Disposer.dispose(properties);
+  }
+
+  @Test
+  public void reportsLatePrintsForRecentlyFinishedTests() throws Exception {
+    runTest(1);
+
+    assertTrue(send(print(1, "late")));
+    assertEquals(List.of("test 1: late\n"), printed);
+  }
+
+  @Test
+  public void passesLatePrintsForForgottenTestsThrough() throws Exception {
+    for (int id = 1; id <= 101; id++) {
+      runTest(id);
+    }
+
+    // Test 1 has been forgotten, so its event is not a test event anymore.
+    assertFalse(send(print(1, "late")));
+    assertFalse(send("{\"testID\":1,\"error\":\"boom\",\"stackTrace\":\"\",\"isFailure\":true,\"type\":\"error\",\"time\":3}"));
+    assertTrue(printed.isEmpty());
+
+    assertTrue(send(print(101, "late")));
+    assertEquals(List.of("test 101: late\n"), printed);
+  }
+
+  private void runTest(int id) throws Exception {
+    send("{\"test\":{\"id\":" + id + ",\"name\":\"test " + id + "\",\"suiteID\":0,\"groupIDs\":[]," +
+         "\"metadata\":{\"skip\":false,\"skipReason\":null}},\"type\":\"testStart\",\"time\":1}");
+    send("{\"testID\":" + id + ",\"result\":\"success\",\"skipped\":false,\"hidden\":false,\"type\":\"testDone\",\"time\":2}");
+  }
+
+  private static String print(int id, String message) {
+    return "{\"testID\":" + id + ",\"messageType\":\"print\",\"message\":\"" + message + "\",\"type\":\"print\",\"time\":3}";
+  }
+
+  private boolean send(String line) throws Exception {
+    return converter.processServiceMessages(line, ProcessOutputTypes.STDOUT, visitor);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CoalescingDispatcherTest {
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  private final List<String> delivered = new ArrayList<>();
+  private final CoalescingDispatcher<String, String> dispatcher =
+    new CoalescingDispatcher<>(tasks::add, (key, value) -> delivered.add(key + "=" + value));
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  @Test
+  public void deliversOnlyTheNewestValue() {
+    assertTrue(dispatcher.post("a", 1, "one"));
+    assertTrue(dispatcher.post("a", 2, "two"));
+    assertTrue(dispatcher.post("a", 3, "three"));
+    assertEquals(1, tasks.size());
+    runTasks();
+    assertEquals(List.of("a=three"), delivered);
+  }
+
+  @Test
+  public void dropsStaleValues() {
+    dispatcher.post("a", 5, "five");
+    assertFalse(dispatcher.post("a", 4, "four"));
+    runTasks();
+    assertFalse(dispatcher.post("a", 3, "three"));
+    assertTrue(dispatcher.post("a", 6, "six"));
+    runTasks();
+    assertEquals(List.of("a=five", "a=six"), delivered);
+  }
+
+  @Test
+  public void keysAreIndependent() {
+    dispatcher.post("a", 2, "two");
+    dispatcher.post("b", 1, "one");
+    assertEquals(2, tasks.size());
+    runTasks();
+    assertEquals(List.of("a=two", "b=one"), delivered);
+  }
+
+  @Test
+  public void valuesPostedDuringDeliveryAreDeliveredAfterwards() {
+    final Queue<Runnable> queue = new ArrayDeque<>();
+    final List<String> seen = new ArrayList<>();
+    final AtomicReference<CoalescingDispatcher<String, String>> holder = new AtomicReference<>();
+    holder.set(new CoalescingDispatcher<>(queue::add, (key, value) -> {
+      seen.add(value);
+      if (value.equals("one")) {
+        holder.get().post(key, 2, "two");
+      }
+    }));
+    holder.get().post("a", 1, "one");
+    queue.poll().run();
+    assertTrue(queue.isEmpty());
+    assertEquals(List.of("one", "two"), seen);
+  }
+
+  @Test
+  public void clearDropsPendingValues() {
+    dispatcher.post("a", 1, "one");
+    dispatcher.clear();
+    runTasks();
+    assertTrue(delivered.isEmpty());
+  }
+}
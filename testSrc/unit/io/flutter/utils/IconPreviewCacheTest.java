@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.utils;
+
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class IconPreviewCacheTest {
+  private static final String FONT_PATH = "testData/utils/CupertinoIcons.ttf";
+
+  @Test
+  public void parsesEachFontOnce() {
+    final IconPreviewCache cache = new IconPreviewCache(4, 16);
+    final Font font = cache.getFont(FONT_PATH);
+    assertNotNull(font);
+    assertSame(font, cache.getFont(FONT_PATH));
+    assertEquals(1, cache.getFontMissCount());
+    assertEquals(1, cache.getFontHitCount());
+  }
+
+  @Test
+  public void rendersEachIconOnce() {
+    final IconPreviewCache cache = new IconPreviewCache(4, 16);
+    final AtomicInteger renders = new AtomicInteger();
+    final Icon first = cache.getIcon(FONT_PATH, 0xf4c9, 16, 16, Color.black, font -> newIcon(renders));
+    final Icon second = cache.getIcon(FONT_PATH, 0xf4c9, 16, 16, Color.black, font -> newIcon(renders));
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+    assertEquals(1, cache.getIconHitCount());
+
+    // A different color is a different icon.
+    cache.getIcon(FONT_PATH, 0xf4c9, 16, 16, Color.red, font -> newIcon(renders));
+    assertEquals(2, renders.get());
+    assertEquals(2, cache.getIconMissCount());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedIcons() {
+    final IconPreviewCache cache = new IconPreviewCache(4, 2);
+    final AtomicInteger renders = new AtomicInteger();
+    cache.getIcon(FONT_PATH, 1, 16, 16, Color.black, font -> newIcon(renders));
+    cache.getIcon(FONT_PATH, 2, 16, 16, Color.black, font -> newIcon(renders));
+    cache.getIcon(FONT_PATH, 1, 16, 16, Color.black, font -> newIcon(renders));
+    cache.getIcon(FONT_PATH, 3, 16, 16, Color.black, font -> newIcon(renders));
+    assertEquals(3, renders.get());
+
+    // Codepoint 2 was the least recently used, so it was evicted.
+    cache.getIcon(FONT_PATH, 1, 16, 16, Color.black, font -> newIcon(renders));
+    assertEquals(3, renders.get());
+    cache.getIcon(FONT_PATH, 2, 16, 16, Color.black, font -> newIcon(renders));
+    assertEquals(4, renders.get());
+  }
+
+  @Test
+  public void returnsNullForUnreadableFonts() throws IOException {
+    final File file = Files.createTempFile("not-a-font", ".ttf").toFile();
+    try {
+      final IconPreviewCache cache = new IconPreviewCache(4, 16);
+      final AtomicInteger renders = new AtomicInteger();
+      assertNull(cache.getIcon(file.getPath(), 1, 16, 16, Color.black, font -> newIcon(renders)));
+      assertNull(cache.getFont(file.getPath()));
+      assertEquals(0, renders.get());
+      assertEquals(1, cache.getFontMissCount());
+    }
+    finally {
+      //noinspection ResultOfMethodCallIgnored
+      file.delete();
+    }
+  }
+
+  private static Icon newIcon(AtomicInteger renders) {
+    renders.incrementAndGet();
+    return new ImageIcon();
+  }
+}
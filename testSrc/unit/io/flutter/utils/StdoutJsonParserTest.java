@@ -129,4 +129,18 @@ public class StdoutJsonParserTest {
       parser.getAvailableLines().toArray()
     );
   }
+
+  @Test
+  public void jsonTerminatedAtEndOfChunk() {
+    final StdoutJsonParser parser = new StdoutJsonParser();
+    parser.appendOutput("[{\"a\":[1]");
+    parser.appendOutput("}]");
+    parser.appendOutput("\nhello\n");
+
+    assertArrayEquals(
+      "validating parser results",
+      new String[]{"[{\"a\":[1]}]", "hello\n"},
+      parser.getAvailableLines().toArray()
+    );
+  }
 }
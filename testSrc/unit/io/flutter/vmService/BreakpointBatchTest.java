@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.vmService;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.dartlang.vm.service.VmService;
+import org.dartlang.vm.service.consumer.AddBreakpointWithScriptUriConsumer;
+import org.dartlang.vm.service.consumer.UriListConsumer;
+import org.dartlang.vm.service.element.Breakpoint;
+import org.dartlang.vm.service.element.RPCError;
+import org.dartlang.vm.service.element.Sentinel;
+import org.dartlang.vm.service.element.UriList;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class BreakpointBatchTest {
+  @Test
+  public void sendsAllRequestsBeforeAnyResponse() {
+    final FakeVmService vmService = new FakeVmService();
+    final RecordingListener listener = new RecordingListener();
+    final List<BreakpointBatch.Location> locations = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      locations.add(new BreakpointBatch.Location("file:///app/lib/file" + i + ".dart", i + 1));
+    }
+
+    final CompletableFuture<Void> done = BreakpointBatch.add(vmService, "isolates/1", locations, listener);
+    assertEquals(1, vmService.lookups.size());
+    assertEquals(150, vmService.lookupUris.size());
+    assertTrue(vmService.adds.isEmpty());
+
+    // One round-trip to look up the URIs, then all the breakpoints are sent at once.
+    vmService.respondToLookup(false);
+    assertEquals(150, vmService.adds.size());
+    assertEquals(2, vmService.roundTrips);
+    assertFalse(done.isDone());
+
+    // Respond out of order; each response reaches the breakpoint it was for.
+    for (int i = vmService.adds.size() - 1; i >= 0; i--) {
+      vmService.respondToAdd(i);
+    }
+    assertTrue(done.isDone());
+    assertEquals(150, listener.added.size());
+    for (Map.Entry<Integer, Integer> entry : listener.added.entrySet()) {
+      assertEquals(entry.getKey() + 1, (int)entry.getValue());
+    }
+    assertTrue(listener.failed.isEmpty());
+  }
+
+  @Test
+  public void reportsFailures() {
+    final FakeVmService vmService = new FakeVmService();
+    final RecordingListener listener = new RecordingListener();
+    final CompletableFuture<Void> done = BreakpointBatch.add(vmService, "isolates/1", List.of(
+      new BreakpointBatch.Location("file:///app/lib/a.dart", 1),
+      new BreakpointBatch.Location("file:///app/lib/unmapped.dart", 2),
+      new BreakpointBatch.Location("file:///app/lib/b.dart", 3),
+      new BreakpointBatch.Location("file:///app/lib/c.dart", 4)), listener);
+
+    vmService.respondToLookup(false);
+    assertEquals(List.of(1), listener.failed);
+    assertEquals(3, vmService.adds.size());
+
+    vmService.adds.get(0).onError(error("Cannot add breakpoint"));
+    vmService.adds.get(1).received(sentinel());
+    assertFalse(done.isDone());
+    vmService.respondToAdd(2);
+
+    assertTrue(done.isDone());
+    assertEquals(List.of(1, 0), listener.failed);
+    assertEquals(1, listener.added.size());
+    assertTrue(listener.added.containsKey(3));
+  }
+
+  @Test
+  public void failsEverythingWhenLookupFails() {
+    final FakeVmService vmService = new FakeVmService();
+    final RecordingListener listener = new RecordingListener();
+    final CompletableFuture<Void> done = BreakpointBatch.add(vmService, "isolates/1", List.of(
+      new BreakpointBatch.Location("file:///app/lib/a.dart", 1),
+      new BreakpointBatch.Location("file:///app/lib/b.dart", 2)), listener);
+
+    vmService.respondToLookup(true);
+    assertTrue(done.isDone());
+    assertTrue(vmService.adds.isEmpty());
+    assertEquals(List.of(0, 1), listener.failed);
+  }
+
+  @Test
+  public void emptyBatchIsDone() {
+    final FakeVmService vmService = new FakeVmService();
+    assertTrue(BreakpointBatch.add(vmService, "isolates/1", List.of(), new RecordingListener()).isDone());
+    assertEquals(0, vmService.roundTrips);
+  }
+
+  private static RPCError error(String message) {
+    final JsonObject json = new JsonObject();
+    json.addProperty("code", 102);
+    json.addProperty("message", message);
+    return new RPCError(json);
+  }
+
+  private static Sentinel sentinel() {
+    final JsonObject json = new JsonObject();
+    json.addProperty("type", "Sentinel");
+    json.addProperty("kind", "Collected");
+    json.addProperty("valueAsString", "<collected>");
+    return new Sentinel(json);
+  }
+
+  private static class RecordingListener implements BreakpointBatch.Listener {
+    final Map<Integer, Integer> added = new TreeMap<>();
+    final List<Integer> failed = new ArrayList<>();
+
+    @Override
+    public void added(int index, @NotNull Breakpoint breakpoint) {
+      added.put(index, breakpoint.getBreakpointNumber());
+    }
+
+    @Override
+    public void failed(int index) {
+      failed.add(index);
+    }
+  }
+
+  /**
+   * Records requests instead of sending them, and counts round-trips: a request sent after the previous
+   * response arrived starts a new one.
+   */
+  private static class FakeVmService extends VmService {
+    final List<UriListConsumer> lookups = new ArrayList<>();
+    final List<String> lookupUris = new ArrayList<>();
+    final List<AddBreakpointWithScriptUriConsumer> adds = new ArrayList<>();
+    final List<Integer> addLines = new ArrayList<>();
+    int roundTrips;
+    private boolean respondedSinceLastRequest = true;
+
+    private void sent() {
+      if (respondedSinceLastRequest) {
+        roundTrips++;
+        respondedSinceLastRequest = false;
+      }
+    }
+
+    @Override
+    public void lookupPackageUris(String isolateId, List<String> uris, UriListConsumer consumer) {
+      sent();
+      lookups.add(consumer);
+      lookupUris.addAll(uris);
+    }
+
+    @Override
+    public void addBreakpointWithScriptUri(String isolateId, String scriptUri, int line, AddBreakpointWithScriptUriConsumer consumer) {
+      sent();
+      assertTrue(scriptUri.startsWith("package:app/"));
+      adds.add(consumer);
+      addLines.add(line);
+    }
+
+    void respondToLookup(boolean fail) {
+      respondedSinceLastRequest = true;
+      if (fail) {
+        lookups.get(0).onError(error("Isolate is not runnable"));
+        return;
+      }
+      final JsonArray uris = new JsonArray();
+      for (String uri : lookupUris) {
+        if (uri.contains("unmapped")) {
+          uris.add((String)null);
+        }
+        else {
+          uris.add(uri.replace("file:///app/lib/", "package:app/"));
+        }
+      }
+      final JsonObject json = new JsonObject();
+      json.addProperty("type", "UriList");
+      json.add("uris", uris);
+      lookups.get(0).received(new UriList(json));
+    }
+
+    void respondToAdd(int index) {
+      respondedSinceLastRequest = true;
+      final JsonObject json = new JsonObject();
+      json.addProperty("type", "Breakpoint");
+      json.addProperty("breakpointNumber", addLines.get(index));
+      adds.get(index).received(new Breakpoint(json));
+    }
+  }
+}
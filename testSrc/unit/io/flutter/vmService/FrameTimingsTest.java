@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.vmService;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dartlang.vm.service.element.Event;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class FrameTimingsTest {
+  @Test
+  public void emptySnapshot() {
+    final FrameTimings.Snapshot snapshot = new FrameTimings().snapshot();
+    assertEquals(0, snapshot.size());
+    assertEquals(0, snapshot.getBuildPercentile(99));
+    assertEquals(0, snapshot.getRecentJankCount());
+  }
+
+  @Test
+  public void computesPercentiles() {
+    final FrameTimings timings = new FrameTimings();
+    for (int i = 1; i <= 100; i++) {
+      timings.record(i * 1000, 100_000 - i * 1000);
+    }
+    final FrameTimings.Snapshot snapshot = timings.snapshot();
+    assertEquals(100, snapshot.size());
+    assertEquals(50_000, snapshot.getBuildPercentile(50));
+    assertEquals(90_000, snapshot.getBuildPercentile(90));
+    assertEquals(99_000, snapshot.getBuildPercentile(99));
+    assertEquals(49_000, snapshot.getRasterPercentile(50));
+    assertEquals(1000, snapshot.getBuildMicros(0));
+    assertEquals(99_000, snapshot.getRasterMicros(0));
+  }
+
+  @Test
+  public void keepsOnlyRecentFrames() {
+    final FrameTimings timings = new FrameTimings();
+    final int total = FrameTimings.CAPACITY * 3 + 5;
+    for (int i = 0; i < total; i++) {
+      timings.record(i, 0);
+    }
+    final FrameTimings.Snapshot snapshot = timings.snapshot();
+    assertEquals(FrameTimings.CAPACITY, snapshot.size());
+    assertEquals(total, snapshot.getFrameCount());
+    assertEquals(total - FrameTimings.CAPACITY, snapshot.getBuildMicros(0));
+    assertEquals(total - 1, snapshot.getBuildMicros(FrameTimings.CAPACITY - 1));
+  }
+
+  @Test
+  public void countsJankyFrames() {
+    final FrameTimings timings = new FrameTimings();
+    timings.record(5000, 5000);
+    timings.record(20_000, 5000);
+    timings.record(5000, 20_000);
+    timings.record(FrameTimings.FRAME_BUDGET_MICROS, FrameTimings.FRAME_BUDGET_MICROS);
+    assertEquals(4, timings.getFrameCount());
+    assertEquals(2, timings.getJankCount());
+
+    final FrameTimings.Snapshot snapshot = timings.snapshot();
+    assertFalse(snapshot.isJanky(0));
+    assertTrue(snapshot.isJanky(1));
+    assertTrue(snapshot.isJanky(2));
+    assertEquals(2, snapshot.getRecentJankCount());
+  }
+
+  @Test
+  public void readsFrameEvents() {
+    final JsonObject json = JsonParser.parseString(
+      "{\"type\":\"Event\",\"kind\":\"Extension\",\"extensionKind\":\"Flutter.Frame\"," +
+      "\"extensionData\":{\"number\":12,\"startTime\":100,\"elapsed\":9000,\"build\":4200,\"raster\":3100,\"vsyncOverhead\":10}}")
+      .getAsJsonObject();
+    final FrameTimings timings = new FrameTimings();
+    timings.recordFrameEvent(new Event(json));
+    final FrameTimings.Snapshot snapshot = timings.snapshot();
+    assertEquals(1, snapshot.size());
+    assertEquals(4200, snapshot.getBuildMicros(0));
+    assertEquals(3100, snapshot.getRasterMicros(0));
+  }
+
+  @Test
+  public void snapshotsTakenDuringWritesAreInOrder() throws Exception {
+    final FrameTimings timings = new FrameTimings();
+    final AtomicBoolean done = new AtomicBoolean();
+    final Thread writer = new Thread(() -> {
+      // Each frame's build time is its frame number, so a snapshot must show consecutive numbers.
+      for (long i = 1; !done.get(); i++) {
+        timings.record(i, 0);
+      }
+    });
+    writer.start();
+    try {
+      final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+      while (System.nanoTime() < end) {
+        final FrameTimings.Snapshot snapshot = timings.snapshot();
+        for (int i = 1; i < snapshot.size(); i++) {
+          assertEquals("snapshot of " + snapshot.size() + " frames, at index " + i,
+                       snapshot.getBuildMicros(i - 1) + 1, snapshot.getBuildMicros(i));
+        }
+      }
+    }
+    finally {
+      done.set(true);
+      writer.join();
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.vmService.frame;
+
+import com.intellij.xdebugger.frame.XCompositeNode;
+import com.intellij.xdebugger.frame.XNamedValue;
+import com.intellij.xdebugger.frame.XValueChildrenList;
+import com.intellij.xdebugger.frame.XValueNode;
+import com.intellij.xdebugger.frame.XValuePlace;
+import io.flutter.utils.TypedDataList;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies how {@link DartVmServiceValue} pages through the children of a chunk of a list.
+ */
+public class DartVmServiceValueTest {
+  private static final int PAGE = XCompositeNode.MAX_CHILDREN_TO_SHOW;
+
+  private final List<List<String>> pages = new ArrayList<>();
+  private final List<Integer> remaining = new ArrayList<>();
+  private Runnable showMore;
+  private int fetches;
+
+  private final XCompositeNode node = (XCompositeNode)Proxy.newProxyInstance(
+    getClass().getClassLoader(), new Class<?>[]{XCompositeNode.class}, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "addChildren" -> {
+          final XValueChildrenList children = (XValueChildrenList)args[0];
+          final List<String> names = new ArrayList<>();
+          for (int i = 0; i < children.size(); i++) {
+            names.add(children.getName(i));
+          }
+          pages.add(names);
+        }
+        case "tooManyChildren" -> {
+          remaining.add((Integer)args[0]);
+          showMore = args.length > 1 ? (Runnable)args[1] : null;
+        }
+      }
+      return method.getReturnType() == boolean.class ? false : null;
+    });
+
+  @Test
+  public void pagesThroughAByteBackedChunk() {
+    final int length = 2 * PAGE + PAGE / 2;
+    final TypedDataList data = new TypedDataList.Uint8List(new byte[length]);
+    addFirstPage(length, 0, length, 1, data.size(), (i) -> new DartVmServiceValue.TypedDataElementValue(String.valueOf(i), data, i));
+
+    assertPage(0, 0, PAGE);
+    assertEquals(List.of(length - PAGE), remaining);
+
+    showMore.run();
+    assertPage(1, PAGE, PAGE);
+    showMore.run();
+    assertPage(2, 2 * PAGE, PAGE / 2);
+    assertEquals(List.of(length - PAGE, length - 2 * PAGE), remaining);
+    assertEquals(0, fetches);
+  }
+
+  @Test
+  public void fetchesTheNextChunkAfterTheLastPage() {
+    final int length = 3 * PAGE;
+    final TypedDataList data = new TypedDataList.Uint8List(new byte[PAGE]);
+    addFirstPage(length, PAGE, PAGE, 1, data.size(),
+                 (i) -> new DartVmServiceValue.TypedDataElementValue(String.valueOf(PAGE + i), data, i));
+
+    assertPage(0, PAGE, PAGE);
+    assertEquals(List.of(PAGE), remaining);
+    showMore.run();
+    assertEquals(1, fetches);
+  }
+
+  @Test
+  public void countsTheLanesOfSimdLists() {
+    // The second chunk of an Int32x4List, whose elements are shown as four lanes each.
+    final int lanes = 4;
+    final int offset = 50 * PAGE;
+    final int count = PAGE / 2;
+    final int length = offset + count + PAGE;
+    final TypedDataList data = new TypedDataList.Int32List(new byte[count * lanes * 4]);
+    assertEquals(count * lanes, data.size());
+    addFirstPage(length, offset, count, lanes, data.size(),
+                 (i) -> new DartVmServiceValue.TypedDataElementValue(String.valueOf(offset * lanes + i), data, i));
+
+    assertPage(0, offset * lanes, PAGE);
+    // The rest of the chunk, and all the lanes of the elements after it.
+    assertEquals(List.of((length - offset) * lanes - PAGE), remaining);
+
+    showMore.run();
+    assertPage(1, offset * lanes + PAGE, PAGE);
+    assertEquals((length - offset - count) * lanes, (int)remaining.get(1));
+    showMore.run();
+    assertEquals(1, fetches);
+  }
+
+  @Test
+  public void pagesThroughAChunkOfElements() {
+    // The VM can return typed data as elements instead of bytes.
+    final int length = PAGE + 10;
+    addFirstPage(length, 0, length, 1, length, (i) -> named(String.valueOf(i)));
+
+    assertPage(0, 0, PAGE);
+    assertEquals(List.of(10), remaining);
+    showMore.run();
+    assertPage(1, PAGE, 10);
+    assertEquals(1, remaining.size());
+    assertEquals(0, fetches);
+  }
+
+  private void addFirstPage(int length,
+                            int offset,
+                            int count,
+                            int lanes,
+                            int children,
+                            @NotNull IntFunction<XNamedValue> createChild) {
+    DartVmServiceValue.addChunkPage(node, length, offset, count, lanes, children, 0, createChild, () -> fetches++);
+  }
+
+  private void assertPage(int page, int firstName, int size) {
+    final List<String> names = pages.get(page);
+    assertEquals(size, names.size());
+    assertEquals(String.valueOf(firstName), names.get(0));
+    assertEquals(String.valueOf(firstName + size - 1), names.get(size - 1));
+  }
+
+  private static XNamedValue named(String name) {
+    return new XNamedValue(name) {
+      @Override
+      public void computePresentation(@NotNull XValueNode node, @NotNull XValuePlace place) {
+      }
+    };
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package org.dartlang.vm.service;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dartlang.vm.service.element.EventKind;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DecodedEventTest {
+  @Test
+  public void decodesCommonFields() {
+    final DecodedEvent event = decode(
+      "{\"type\":\"Event\",\"kind\":\"Extension\",\"extensionKind\":\"Flutter.Frame\"," +
+      "\"isolate\":{\"type\":\"@Isolate\",\"id\":\"isolates/1\",\"name\":\"main\"},\"timestamp\":1234}");
+    assertEquals(EventKind.Extension, event.getKind());
+    assertEquals("Flutter.Frame", event.getExtensionKind());
+    assertEquals("isolates/1", event.getIsolate().getId());
+    assertEquals(1234, event.getTimestamp());
+  }
+
+  @Test
+  public void toleratesMissingAndNullFields() {
+    final DecodedEvent event = decode("{\"type\":\"Event\",\"kind\":null,\"isolate\":null,\"timestamp\":null}");
+    assertEquals(EventKind.Unknown, event.getKind());
+    assertNull(event.getExtensionKind());
+    assertNull(event.getIsolate());
+    assertEquals(-1, event.getTimestamp());
+  }
+
+  @Test
+  public void unknownKindsAreUnknown() {
+    assertEquals(EventKind.Unknown, decode("{\"type\":\"Event\",\"kind\":\"SomethingNew\"}").getKind());
+  }
+
+  private static DecodedEvent decode(String json) {
+    return new DecodedEvent((JsonObject)JsonParser.parseString(json));
+  }
+}
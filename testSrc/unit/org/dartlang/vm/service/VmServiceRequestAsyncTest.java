@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package org.dartlang.vm.service;
+
+import com.google.gson.JsonObject;
+import org.dartlang.vm.service.consumer.GetObjectConsumer;
+import org.dartlang.vm.service.consumer.VersionConsumer;
+import org.dartlang.vm.service.element.Instance;
+import org.dartlang.vm.service.element.Version;
+import org.dartlang.vm.service.internal.RequestSink;
+import org.dartlang.vm.service.logging.ErrorCode;
+import org.dartlang.vm.service.logging.Logger;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies {@link VmServiceBase#requestAsync} by sending requests and feeding responses through the normal
+ * response dispatch.
+ */
+public class VmServiceRequestAsyncTest {
+  private VmService vmService;
+  private List<JsonObject> sent;
+  private List<ErrorCode> errors;
+
+  @Before
+  public void setUp() {
+    sent = new ArrayList<>();
+    errors = new ArrayList<>();
+    vmService = new VmService();
+    vmService.requestSink = new RequestSink() {
+      @Override
+      public void add(JsonObject request) {
+        sent.add(request);
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    vmService.setLogger(new Logger() {
+      @Override
+      public void logError(ErrorCode code, String message) {
+        errors.add(code);
+      }
+
+      @Override
+      public void logError(ErrorCode code, String message, Throwable exception) {
+        errors.add(code);
+      }
+
+      @Override
+      public void logError(String message) {
+      }
+
+      @Override
+      public void logError(String message, Throwable exception) {
+      }
+
+      @Override
+      public void logInformation(String message) {
+      }
+
+      @Override
+      public void logInformation(String message, Throwable exception) {
+      }
+    });
+  }
+
+  @Test
+  public void completesWithTheResult() throws Exception {
+    final CompletableFuture<Version> future = requestVersion();
+    respond("\"result\":{\"type\":\"Version\",\"major\":4,\"minor\":2}");
+
+    assertEquals(4, future.get().getMajor());
+    assertEquals(0, vmService.getPendingRequestCount());
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void failsWithTheRpcError() {
+    final CompletableFuture<Version> future = requestVersion();
+    respond("\"error\":{\"code\":-32601,\"message\":\"Method not found\"}");
+
+    final VmServiceException exception = getFailure(future);
+    assertNotNull(exception.getError());
+    assertEquals(-32601, exception.getError().getCode());
+    assertNull(exception.getSentinel());
+  }
+
+  @Test
+  public void failsWithTheSentinel() {
+    final CompletableFuture<Instance> future = requestInstance();
+    respond("\"result\":{\"type\":\"Sentinel\",\"kind\":\"Collected\",\"valueAsString\":\"<collected>\"}");
+
+    final VmServiceException exception = getFailure(future);
+    assertNotNull(exception.getSentinel());
+    assertEquals("<collected>", exception.getSentinel().getValueAsString());
+    assertNull(exception.getError());
+  }
+
+  @Test
+  public void failsWhenTheResultHasAnotherType() {
+    final CompletableFuture<Instance> future = requestInstance();
+    respond("\"result\":{\"type\":\"Library\",\"id\":\"libraries/1\",\"name\":\"main\",\"uri\":\"file:///main.dart\"}");
+
+    final VmServiceException exception = getFailure(future);
+    assertNotNull(exception.getError());
+    assertNull(exception.getSentinel());
+  }
+
+  @Test
+  public void failsWhenTheConsumerDoesNotAcceptTheResponse() {
+    final CompletableFuture<Version> future = requestVersion();
+    respond("\"result\":{\"type\":\"Library\",\"id\":\"libraries/1\",\"name\":\"main\",\"uri\":\"file:///main.dart\"}");
+
+    assertNotNull(getFailure(future).getError());
+    assertEquals(List.of(ErrorCode.UNEXPECTED_RESPONSE), errors);
+  }
+
+  @Test
+  public void cancellingForgetsTheRequest() {
+    final CompletableFuture<Version> future = requestVersion();
+    assertEquals(1, vmService.getPendingRequestCount());
+
+    future.cancel(false);
+    assertEquals(0, vmService.getPendingRequestCount());
+
+    // The late response no longer has a consumer.
+    respond("\"result\":{\"type\":\"Version\",\"major\":4,\"minor\":2}");
+    assertEquals(List.of(ErrorCode.UNMATCHED_RESPONSE), errors);
+  }
+
+  @Test
+  public void timingOutForgetsTheRequest() throws Exception {
+    final CompletableFuture<Version> future = requestVersion().orTimeout(10, TimeUnit.MILLISECONDS);
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail("expected a timeout");
+    }
+    catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof java.util.concurrent.TimeoutException);
+    }
+
+    // The request is forgotten on the thread that timed out the future, which may still be running.
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (vmService.getPendingRequestCount() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(0, vmService.getPendingRequestCount());
+  }
+
+  private CompletableFuture<Version> requestVersion() {
+    return vmService.requestAsync(VersionConsumer.class, Version.class, vmService::getVersion);
+  }
+
+  private CompletableFuture<Instance> requestInstance() {
+    return vmService.requestAsync(GetObjectConsumer.class, Instance.class,
+                                  (consumer) -> vmService.getObject("isolates/1", "objects/1", consumer));
+  }
+
+  /**
+   * Dispatches a response to the last request that was sent.
+   */
+  private void respond(String body) {
+    final String id = sent.get(sent.size() - 1).get("id").getAsString();
+    vmService.processMessage("{\"jsonrpc\":\"2.0\",\"id\":\"" + id + "\"," + body + "}");
+  }
+
+  private static VmServiceException getFailure(CompletableFuture<?> future) {
+    assertTrue(future.isCompletedExceptionally());
+    try {
+      future.get();
+      throw new AssertionError("expected a failure");
+    }
+    catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof VmServiceException);
+      return (VmServiceException)e.getCause();
+    }
+    catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
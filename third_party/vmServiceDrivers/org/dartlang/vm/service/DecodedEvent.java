@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, the Dart project authors.
+ *
+ * Licensed under the Eclipse Public License v1.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.dartlang.vm.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.dartlang.vm.service.element.Event;
+import org.dartlang.vm.service.element.EventKind;
+import org.dartlang.vm.service.element.IsolateRef;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An {@link Event} received on a stream, with the fields that listeners check for every event
+ * decoded once, up front: kind, extension kind, isolate and timestamp. Other fields are still read
+ * from the JSON when asked for.
+ * <p>
+ * This is kept apart from the generated {@link Event} so that regenerating it keeps the change.
+ */
+class DecodedEvent extends Event {
+  private static final Map<String, EventKind> kindsByName = new HashMap<>();
+
+  static {
+    for (EventKind kind : EventKind.values()) {
+      kindsByName.put(kind.name(), kind);
+    }
+  }
+
+  private final EventKind kind;
+  private final String extensionKind;
+  private final IsolateRef isolate;
+  private final long timestamp;
+
+  DecodedEvent(JsonObject json) {
+    super(json);
+    final String kindName = getString(json, "kind");
+    kind = kindName == null ? EventKind.Unknown : kindsByName.getOrDefault(kindName, EventKind.Unknown);
+    extensionKind = getString(json, "extensionKind");
+    final JsonElement isolateValue = json.get("isolate");
+    isolate = isolateValue != null && isolateValue.isJsonObject() ? new IsolateRef(isolateValue.getAsJsonObject()) : null;
+    final JsonElement timestampValue = json.get("timestamp");
+    timestamp = timestampValue != null && timestampValue.isJsonPrimitive() && timestampValue.getAsJsonPrimitive().isNumber()
+                ? timestampValue.getAsLong()
+                : -1;
+  }
+
+  private static String getString(JsonObject json, String name) {
+    final JsonElement value = json.get(name);
+    return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+  }
+
+  @Override
+  public EventKind getKind() {
+    return kind;
+  }
+
+  @Override
+  public String getExtensionKind() {
+    return extensionKind;
+  }
+
+  @Override
+  public IsolateRef getIsolate() {
+    return isolate;
+  }
+
+  @Override
+  public long getTimestamp() {
+    return timestamp;
+  }
+}
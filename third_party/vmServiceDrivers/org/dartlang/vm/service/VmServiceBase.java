@@ -26,17 +26,25 @@ import org.dartlang.vm.service.element.*;
 import org.dartlang.vm.service.internal.RequestSink;
 import org.dartlang.vm.service.internal.VmServiceConst;
 import org.dartlang.vm.service.internal.WebSocketRequestSink;
+import org.dartlang.vm.service.logging.ErrorCode;
+import org.dartlang.vm.service.logging.Logger;
 import org.dartlang.vm.service.logging.Logging;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Internal {@link VmService} base class containing non-generated code.
@@ -49,6 +57,17 @@ abstract class VmServiceBase implements VmServiceConst {
    * @return an API object for interacting with the VM service (not {@code null}).
    */
   public static VmService connect(final String url) throws IOException {
+    return connect(url, null);
+  }
+
+  /**
+   * Connect to the VM observatory service via the specified URI, reporting errors and
+   * information about this connection to the given logger.
+   *
+   * @param logger the logger for this connection, or {@code null} to use {@link Logging#getLogger()}
+   * @return an API object for interacting with the VM service (not {@code null}).
+   */
+  public static VmService connect(final String url, final Logger logger) throws IOException {
     // Validate URL
     URI uri;
     try {
@@ -71,24 +90,26 @@ abstract class VmServiceBase implements VmServiceConst {
       throw new IOException("Failed to create websocket: " + url, e);
     }
     final VmService vmService = new VmService();
+    vmService.setLogger(logger);
 
     // Setup event handler for forwarding responses
     webSocket.setEventHandler(new WebSocketEventHandler() {
       @Override
       public void onClose() {
-        Logging.getLogger().logInformation("VM connection closed: " + url);
+        vmService.getLogger().logInformation(() -> "VM connection closed: " + url);
 
         vmService.connectionClosed();
       }
 
       @Override
       public void onMessage(WebSocketMessage message) {
-        Logging.getLogger().logInformation("VM message: " + message.getText());
+        final String text = message.getText();
+        vmService.getLogger().logInformation(() -> "VM message: " + text);
         try {
-          vmService.processMessage(message.getText());
+          vmService.processMessage(text);
         }
         catch (Exception e) {
-          Logging.getLogger().logError(e.getMessage(), e);
+          vmService.logError(ErrorCode.LISTENER_FAILURE, e.getMessage(), e);
         }
       }
 
@@ -96,7 +117,7 @@ abstract class VmServiceBase implements VmServiceConst {
       public void onOpen() {
         vmService.connectionOpened();
 
-        Logging.getLogger().logInformation("VM connection open: " + url);
+        vmService.getLogger().logInformation(() -> "VM connection open: " + url);
       }
 
       @Override
@@ -120,7 +141,7 @@ abstract class VmServiceBase implements VmServiceConst {
       // (de.roderick.weberknecht.WebSocket.connect, WebSocket.java:126).
       throw new IOException("Failed to connect: " + url, e);
     }
-    vmService.requestSink = new WebSocketRequestSink(webSocket);
+    vmService.requestSink = new WebSocketRequestSink(webSocket, () -> vmService.countingLogger);
 
     // Check protocol version
     final CountDownLatch latch = new CountDownLatch(1);
@@ -130,7 +151,7 @@ abstract class VmServiceBase implements VmServiceConst {
       public void onError(RPCError error) {
         String msg = "Failed to determine protocol version: " + error.getCode() + "\n  message: "
                      + error.getMessage() + "\n  details: " + error.getDetails();
-        Logging.getLogger().logInformation(msg);
+        vmService.getLogger().logInformation(msg);
         errMsg[0] = msg;
       }
 
@@ -201,6 +222,118 @@ abstract class VmServiceBase implements VmServiceConst {
 
   Version runtimeVersion;
 
+  /**
+   * The logger for this connection, or {@code null} to use {@link Logging#getLogger()}.
+   */
+  private volatile Logger logger;
+
+  private final AtomicLong receivedMessageCount = new AtomicLong();
+  private final AtomicLong sentRequestCount = new AtomicLong();
+  private final AtomicLong errorCount = new AtomicLong();
+
+  /**
+   * Reports to {@link #getLogger()} and counts the errors, for the parts of the connection that log
+   * on their own.
+   */
+  final Logger countingLogger = new Logger() {
+    @Override
+    public void logError(String message) {
+      errorCount.incrementAndGet();
+      getLogger().logError(message);
+    }
+
+    @Override
+    public void logError(String message, Throwable exception) {
+      errorCount.incrementAndGet();
+      getLogger().logError(message, exception);
+    }
+
+    @Override
+    public void logError(ErrorCode code, String message) {
+      errorCount.incrementAndGet();
+      getLogger().logError(code, message);
+    }
+
+    @Override
+    public void logError(ErrorCode code, String message, Throwable exception) {
+      errorCount.incrementAndGet();
+      getLogger().logError(code, message, exception);
+    }
+
+    @Override
+    public void logInformation(String message) {
+      getLogger().logInformation(message);
+    }
+
+    @Override
+    public void logInformation(String message, Throwable exception) {
+      getLogger().logInformation(message, exception);
+    }
+
+    @Override
+    public boolean isInformationEnabled() {
+      return getLogger().isInformationEnabled();
+    }
+
+    @Override
+    public void logInformation(Supplier<String> message) {
+      getLogger().logInformation(message);
+    }
+  };
+
+  /**
+   * Return the logger that receives the errors and information for this connection.
+   */
+  public Logger getLogger() {
+    final Logger logger = this.logger;
+    return logger != null ? logger : Logging.getLogger();
+  }
+
+  /**
+   * Set the logger for this connection, or {@code null} to use {@link Logging#getLogger()}.
+   */
+  public void setLogger(Logger logger) {
+    this.logger = logger;
+  }
+
+  /**
+   * Return the number of messages received from the VM on this connection.
+   */
+  public long getReceivedMessageCount() {
+    return receivedMessageCount.get();
+  }
+
+  /**
+   * Return the number of requests sent to the VM on this connection.
+   */
+  public long getSentRequestCount() {
+    return sentRequestCount.get();
+  }
+
+  /**
+   * Return the number of requests on this connection that are waiting for a response.
+   */
+  public int getPendingRequestCount() {
+    synchronized (consumerMapLock) {
+      return consumerMap.size();
+    }
+  }
+
+  /**
+   * Return the number of errors logged for this connection.
+   */
+  public long getErrorCount() {
+    return errorCount.get();
+  }
+
+  void logError(ErrorCode code, String message) {
+    countingLogger.logError(code, message);
+  }
+
+  void logError(ErrorCode code, String message, Throwable exception) {
+    countingLogger.logError(code, message, exception);
+  }
+
   /**
    * Add a listener to receive {@link Event}s from the VM.
    */
@@ -342,16 +475,109 @@ abstract class VmServiceBase implements VmServiceConst {
     }
 
     // Send the request
+    sentRequestCount.incrementAndGet();
     requestSink.add(request);
   }
 
+  /**
+   * Makes a request and returns a future for its response, rather than passing the response to a
+   * {@link Consumer}. This works for any RPC, for example:
+   *
+   * <pre>
+   * vmService.requestAsync(GetStackConsumer.class, Stack.class, (consumer) -> vmService.getStack(isolateId, consumer))
+   * </pre>
+   *
+   * The future completes with the response if it is a {@code resultType}, or exceptionally with a
+   * {@link VmServiceException} if the request fails or the VM returns a {@link Sentinel} or some other
+   * response. If the future is cancelled or times out (see {@link CompletableFuture#orTimeout}) before the
+   * response arrives, the request is forgotten and its response dropped.
+   */
+  public <C extends Consumer, T> CompletableFuture<T> requestAsync(Class<C> consumerType,
+                                                                 Class<T> resultType,
+                                                                 java.util.function.Consumer<C> send) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    final C consumer = consumerType.cast(Proxy.newProxyInstance(consumerType.getClassLoader(),
+                                                                new Class<?>[]{consumerType},
+                                                                new FutureConsumer<>(future, resultType)));
+    future.whenComplete((result, error) -> {
+      if (error != null) {
+        forgetRequest(consumer);
+      }
+    });
+    try {
+      send.accept(consumer);
+    }
+    catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Removes a request that is still waiting for its response.
+   */
+  private void forgetRequest(Consumer consumer) {
+    synchronized (consumerMapLock) {
+      consumerMap.values().remove(consumer);
+    }
+  }
+
+  /**
+   * Implements any consumer interface by completing a future with the response it receives.
+   */
+  private static class FutureConsumer<T> implements InvocationHandler {
+    private final CompletableFuture<T> future;
+    private final Class<T> resultType;
+
+    FutureConsumer(CompletableFuture<T> future, Class<T> resultType) {
+      this.future = future;
+      this.resultType = resultType;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "FutureConsumer for " + resultType.getSimpleName();
+        case "onError":
+          future.completeExceptionally(new VmServiceException((RPCError) args[0]));
+          return null;
+        case "received":
+          received(args[0]);
+          return null;
+        default:
+          return null;
+      }
+    }
+
+    private void received(Object response) {
+      if (resultType.isInstance(response)) {
+        future.complete(resultType.cast(response));
+      }
+      else if (response instanceof Sentinel) {
+        future.completeExceptionally(new VmServiceException((Sentinel) response));
+      }
+      else if (response instanceof Response) {
+        future.completeExceptionally(
+          new VmServiceException(RPCError.unexpected(resultType.getSimpleName(), (Response) response)));
+      }
+      else {
+        future.completeExceptionally(new IllegalStateException("Unexpected response: " + response));
+      }
+    }
+  }
+
   public void connectionOpened() {
     for (VmServiceListener listener : new ArrayList<>(vmListeners)) {
       try {
         listener.connectionOpened();
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Exception notifying listener", e);
+        logError(ErrorCode.LISTENER_FAILURE, "Exception notifying listener", e);
       }
     }
   }
@@ -362,7 +588,7 @@ abstract class VmServiceBase implements VmServiceConst {
         listener.received(streamId, event);
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Exception processing event: " + streamId + ", " + event.getJson(), e);
+        logError(ErrorCode.LISTENER_FAILURE, "Exception processing event: " + streamId + ", " + event.getJson(), e);
       }
     }
   }
@@ -373,7 +599,7 @@ abstract class VmServiceBase implements VmServiceConst {
         listener.connectionClosed();
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Exception notifying listener", e);
+        logError(ErrorCode.LISTENER_FAILURE, "Exception notifying listener", e);
       }
     }
   }
@@ -388,7 +614,14 @@ abstract class VmServiceBase implements VmServiceConst {
       msg.append("  implementing ").append(interf).append("\n");
     }
     msg.append("  but received ").append(json);
-    Logging.getLogger().logError(msg.toString());
+    final JsonElement type = json.get(TYPE);
+    final boolean isSentinel = type != null && type.isJsonPrimitive() && "Sentinel".equals(type.getAsString());
+    logError(isSentinel ? ErrorCode.UNEXPECTED_SENTINEL : ErrorCode.UNEXPECTED_RESPONSE, msg.toString());
+
+    // A future for the response would otherwise wait until it times out.
+    if (Proxy.isProxyClass(consumerClass) && Proxy.getInvocationHandler(consumer) instanceof FutureConsumer) {
+      consumer.onError(RPCError.unexpected("a known response", new Response(json)));
+    }
   }
 
   /**
@@ -399,6 +632,7 @@ abstract class VmServiceBase implements VmServiceConst {
     if (jsonText == null || jsonText.isEmpty()) {
       return;
     }
+    receivedMessageCount.incrementAndGet();
 
     // Decode the JSON
     JsonObject json;
@@ -406,14 +640,14 @@ abstract class VmServiceBase implements VmServiceConst {
       json = (JsonObject)JsonParser.parseString(jsonText);
     }
     catch (Exception e) {
-      Logging.getLogger().logError("Parse message failed: " + jsonText, e);
+      logError(ErrorCode.MALFORMED_MESSAGE, "Parse message failed: " + jsonText, e);
       return;
     }
 
     if (json.has("method")) {
       if (!json.has(PARAMS)) {
         final String message = "Missing " + PARAMS;
-        Logging.getLogger().logError(message);
+        logError(ErrorCode.MALFORMED_MESSAGE, message);
         final JsonObject response = new JsonObject();
         response.addProperty(JSONRPC, JSONRPC_VERSION);
         final JsonObject error = new JsonObject();
@@ -434,7 +668,7 @@ abstract class VmServiceBase implements VmServiceConst {
       processResponse(json);
     }
     else {
-      Logging.getLogger().logError("Malformed message");
+      logError(ErrorCode.MALFORMED_MESSAGE, "Malformed message");
     }
   }
 
@@ -449,7 +683,7 @@ abstract class VmServiceBase implements VmServiceConst {
     }
     catch (Exception e) {
       final String message = "Request malformed " + ID;
-      Logging.getLogger().logError(message, e);
+      logError(ErrorCode.MALFORMED_MESSAGE, message, e);
       final JsonObject error = new JsonObject();
       error.addProperty(CODE, INVALID_REQUEST);
       error.addProperty(MESSAGE, message);
@@ -466,7 +700,7 @@ abstract class VmServiceBase implements VmServiceConst {
     }
     catch (Exception e) {
       final String message = "Request malformed " + METHOD;
-      Logging.getLogger().logError(message, e);
+      logError(ErrorCode.MALFORMED_MESSAGE, message, e);
       final JsonObject error = new JsonObject();
       error.addProperty(CODE, INVALID_REQUEST);
       error.addProperty(MESSAGE, message);
@@ -481,7 +715,7 @@ abstract class VmServiceBase implements VmServiceConst {
     }
     catch (Exception e) {
       final String message = "Request malformed " + METHOD;
-      Logging.getLogger().logError(message, e);
+      logError(ErrorCode.MALFORMED_MESSAGE, message, e);
       final JsonObject error = new JsonObject();
       error.addProperty(CODE, INVALID_REQUEST);
       error.addProperty(MESSAGE, message);
@@ -492,7 +726,7 @@ abstract class VmServiceBase implements VmServiceConst {
 
     if (!remoteServiceRunners.containsKey(method)) {
       final String message = "Unknown service " + method;
-      Logging.getLogger().logError(message);
+      logError(ErrorCode.UNKNOWN_SERVICE, message);
       final JsonObject error = new JsonObject();
       error.addProperty(CODE, METHOD_NOT_FOUND);
       error.addProperty(MESSAGE, message);
@@ -523,7 +757,7 @@ abstract class VmServiceBase implements VmServiceConst {
     }
     catch (Exception e) {
       final String message = "Internal Server Error";
-      Logging.getLogger().logError(message, e);
+      logError(ErrorCode.LISTENER_FAILURE, message, e);
       final JsonObject error = new JsonObject();
       error.addProperty(CODE, SERVER_ERROR);
       error.addProperty(MESSAGE, message);
@@ -549,7 +783,7 @@ abstract class VmServiceBase implements VmServiceConst {
       method = json.get(METHOD).getAsString();
     }
     catch (Exception e) {
-      Logging.getLogger().logError("Request malformed " + METHOD, e);
+      logError(ErrorCode.MALFORMED_MESSAGE, "Request malformed " + METHOD, e);
       return;
     }
     JsonObject params;
@@ -557,7 +791,7 @@ abstract class VmServiceBase implements VmServiceConst {
       params = json.get(PARAMS).getAsJsonObject();
     }
     catch (Exception e) {
-      Logging.getLogger().logError("Event missing " + PARAMS, e);
+      logError(ErrorCode.MALFORMED_MESSAGE, "Event missing " + PARAMS, e);
       return;
     }
     if ("streamNotify".equals(method)) {
@@ -566,22 +800,22 @@ abstract class VmServiceBase implements VmServiceConst {
         streamId = params.get(STREAM_ID).getAsString();
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Event missing " + STREAM_ID, e);
+        logError(ErrorCode.MALFORMED_MESSAGE, "Event missing " + STREAM_ID, e);
         return;
       }
       Event event;
       try {
-        event = new Event(params.get(EVENT).getAsJsonObject());
+        event = new DecodedEvent(params.get(EVENT).getAsJsonObject());
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Event missing " + EVENT, e);
+        logError(ErrorCode.MALFORMED_MESSAGE, "Event missing " + EVENT, e);
         return;
       }
       forwardEvent(streamId, event);
     }
     else {
       if (!remoteServiceRunners.containsKey(method)) {
-        Logging.getLogger().logError("Unknown service " + method);
+        logError(ErrorCode.UNKNOWN_SERVICE, "Unknown service " + method);
         return;
       }
 
@@ -590,7 +824,7 @@ abstract class VmServiceBase implements VmServiceConst {
         runner.run(params, ignoreCallback);
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Internal Server Error", e);
+        logError(ErrorCode.LISTENER_FAILURE, "Internal Server Error", e);
       }
     }
   }
@@ -602,7 +836,7 @@ abstract class VmServiceBase implements VmServiceConst {
   void processResponse(JsonObject json) {
     JsonElement idElem = json.get(ID);
     if (idElem == null) {
-      Logging.getLogger().logError("Response missing " + ID);
+      logError(ErrorCode.MALFORMED_MESSAGE, "Response missing " + ID);
       return;
     }
 
@@ -612,12 +846,15 @@ abstract class VmServiceBase implements VmServiceConst {
       id = idElem.getAsString();
     }
     catch (Exception e) {
-      Logging.getLogger().logError("Response missing " + ID, e);
+      logError(ErrorCode.MALFORMED_MESSAGE, "Response missing " + ID, e);
       return;
     }
-    Consumer consumer = consumerMap.remove(id);
+    Consumer consumer;
+    synchronized (consumerMapLock) {
+      consumer = consumerMap.remove(id);
+    }
     if (consumer == null) {
-      Logging.getLogger().logError("No consumer associated with " + ID + ": " + id);
+      logError(ErrorCode.UNMATCHED_RESPONSE, "No consumer associated with " + ID + ": " + id);
       return;
     }
 
@@ -629,7 +866,7 @@ abstract class VmServiceBase implements VmServiceConst {
         result = resultElem.getAsJsonObject();
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Response has invalid " + RESULT, e);
+        logError(ErrorCode.MALFORMED_MESSAGE, "Response has invalid " + RESULT, e);
         return;
       }
       String responseType = "";
@@ -638,7 +875,7 @@ abstract class VmServiceBase implements VmServiceConst {
       }
       // ServiceExtensionConsumers do not care about the response type.
       else if (!(consumer instanceof ServiceExtensionConsumer)) {
-        Logging.getLogger().logError("Response missing " + TYPE + ": " + result);
+        logError(ErrorCode.MALFORMED_MESSAGE, "Response missing " + TYPE + ": " + result);
         return;
       }
       forwardResponse(consumer, responseType, result);
@@ -653,13 +890,13 @@ abstract class VmServiceBase implements VmServiceConst {
         error = resultElem.getAsJsonObject();
       }
       catch (Exception e) {
-        Logging.getLogger().logError("Response has invalid " + RESULT, e);
+        logError(ErrorCode.MALFORMED_MESSAGE, "Response has invalid " + RESULT, e);
         return;
       }
       consumer.onError(new RPCError(error));
       return;
     }
 
-    Logging.getLogger().logError("Response missing " + RESULT + " and " + ERROR);
+    logError(ErrorCode.MALFORMED_MESSAGE, "Response missing " + RESULT + " and " + ERROR);
   }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, the Dart project authors.
+ *
+ * Licensed under the Eclipse Public License v1.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.dartlang.vm.service;
+
+import org.dartlang.vm.service.element.RPCError;
+import org.dartlang.vm.service.element.Sentinel;
+
+/**
+ * The exception with which a future returned by {@link VmServiceBase#requestAsync} completes when the
+ * request fails, or when the VM returns a {@link Sentinel} or some other unexpected response.
+ */
+public class VmServiceException extends RuntimeException {
+  private final RPCError error;
+  private final Sentinel sentinel;
+
+  public VmServiceException(RPCError error) {
+    super(error.getMessage());
+    this.error = error;
+    this.sentinel = null;
+  }
+
+  public VmServiceException(Sentinel sentinel) {
+    super(sentinel.getValueAsString());
+    this.error = null;
+    this.sentinel = sentinel;
+  }
+
+  /**
+   * Return the error reported by the VM, or {@code null} if the VM returned a {@link Sentinel}.
+   */
+  public RPCError getError() {
+    return error;
+  }
+
+  /**
+   * Return the sentinel returned by the VM, or {@code null} if the request failed.
+   */
+  public Sentinel getSentinel() {
+    return sentinel;
+  }
+}
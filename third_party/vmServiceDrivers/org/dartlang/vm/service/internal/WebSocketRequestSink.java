@@ -16,31 +16,44 @@ package org.dartlang.vm.service.internal;
 import com.google.gson.JsonObject;
 import de.roderick.weberknecht.WebSocket;
 import de.roderick.weberknecht.WebSocketException;
+import org.dartlang.vm.service.logging.ErrorCode;
+import org.dartlang.vm.service.logging.Logger;
 import org.dartlang.vm.service.logging.Logging;
 
+import java.util.function.Supplier;
+
 /**
  * An {@link WebSocket} based implementation of {@link RequestSink}.
  */
 public class WebSocketRequestSink implements RequestSink {
 
   private WebSocket webSocket;
+  private final Supplier<Logger> logger;
 
   public WebSocketRequestSink(WebSocket webSocket) {
+    this(webSocket, Logging::getLogger);
+  }
+
+  /**
+   * @param logger supplies the logger for the connection this sink belongs to
+   */
+  public WebSocketRequestSink(WebSocket webSocket, Supplier<Logger> logger) {
     this.webSocket = webSocket;
+    this.logger = logger;
   }
 
   @Override
   public void add(JsonObject json) {
     String request = json.toString();
     if (webSocket == null) {
-      Logging.getLogger().logInformation("Dropped: " + request);
+      logger.get().logInformation(() -> "Dropped: " + request);
       return;
     }
-    Logging.getLogger().logInformation("Sent: " + request);
+    logger.get().logInformation(() -> "Sent: " + request);
     try {
       webSocket.send(request);
     } catch (WebSocketException e) {
-      Logging.getLogger().logError("Failed to send request: " + request, e);
+      logger.get().logError(ErrorCode.CONNECTION_FAILURE, "Failed to send request: " + request, e);
     }
   }
 
@@ -50,7 +63,7 @@ public class WebSocketRequestSink implements RequestSink {
       try {
         webSocket.close();
       } catch (WebSocketException e) {
-        Logging.getLogger().logError("Failed to close websocket", e);
+        logger.get().logError(ErrorCode.CONNECTION_FAILURE, "Failed to close websocket", e);
       }
       webSocket = null;
     }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, the Dart project authors.
+ *
+ * Licensed under the Eclipse Public License v1.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.dartlang.vm.service.logging;
+
+/**
+ * The kinds of error a VM service connection reports to its {@link Logger}, so that loggers can
+ * filter errors without inspecting the message text.
+ */
+public enum ErrorCode {
+  /**
+   * A message from the VM could not be parsed, or is missing a required field.
+   */
+  MALFORMED_MESSAGE,
+
+  /**
+   * The VM called a service that has not been registered.
+   */
+  UNKNOWN_SERVICE,
+
+  /**
+   * A response has an id that does not match any outstanding request.
+   */
+  UNMATCHED_RESPONSE,
+
+  /**
+   * A response is not of the type the request expected.
+   */
+  UNEXPECTED_RESPONSE,
+
+  /**
+   * A response is a {@code Sentinel}, such as for a collected object or an exited isolate, where
+   * the request expected something else.
+   */
+  UNEXPECTED_SENTINEL,
+
+  /**
+   * A listener or service runner threw an exception.
+   */
+  LISTENER_FAILURE,
+
+  /**
+   * A request could not be sent, or the connection could not be closed.
+   */
+  CONNECTION_FAILURE
+}
@@ -13,6 +13,8 @@
  */
 package org.dartlang.vm.service.logging;
 
+import java.util.function.Supplier;
+
 /**
  * The interface {@code Logger} defines the behavior of objects that can be used to receive
  * information about errors. Implementations usually write this information to a file, but can also
@@ -24,6 +26,11 @@ public interface Logger {
    * Implementation of {@link Logger} that does nothing.
    */
   class NullLogger implements Logger {
+    @Override
+    public boolean isInformationEnabled() {
+      return false;
+    }
+
     @Override
     public void logError(String message) {
     }
@@ -72,4 +79,45 @@ public interface Logger {
    * @param exception the exception being logged
    */
   void logInformation(String message, Throwable exception);
+
+  /**
+   * Log the given message as an error of the given kind.
+   *
+   * @param code    the kind of error
+   * @param message an explanation of why the error occurred or what it means
+   */
+  default void logError(ErrorCode code, String message) {
+    logError(message);
+  }
+
+  /**
+   * Log the given exception as one representing an error of the given kind.
+   *
+   * @param code      the kind of error
+   * @param message   an explanation of why the error occurred or what it means
+   * @param exception the exception being logged
+   */
+  default void logError(ErrorCode code, String message, Throwable exception) {
+    logError(message, exception);
+  }
+
+  /**
+   * Return {@code true} if informational messages are recorded. Callers can check this before
+   * building an expensive message.
+   */
+  default boolean isInformationEnabled() {
+    return true;
+  }
+
+  /**
+   * Log the informational message returned by the given supplier. The supplier is only called if
+   * informational messages are recorded.
+   *
+   * @param message a supplier of the informational message
+   */
+  default void logInformation(Supplier<String> message) {
+    if (isInformationEnabled()) {
+      logInformation(message.get());
+    }
+  }
 }
@@ -15,6 +15,8 @@ package org.dartlang.vm.service.logging;
 
 /**
  * {@code Logging} provides a global instance of {@link Logger}.
+ * <p>
+ * Prefer {@code VmService#setLogger}, which only receives the messages for one connection.
  */
 public class Logging {
 